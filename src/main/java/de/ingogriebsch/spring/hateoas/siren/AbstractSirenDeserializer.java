@@ -15,6 +15,7 @@
  */
 package de.ingogriebsch.spring.hateoas.siren;
 
+import static java.lang.Boolean.TRUE;
 import static java.lang.String.format;
 
 import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
@@ -27,15 +28,21 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.fasterxml.jackson.databind.deser.std.ContainerDeserializerBase;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.RepresentationModel;
 
 /**
@@ -49,13 +56,14 @@ abstract class AbstractSirenDeserializer<T extends RepresentationModel<?>> exten
     implements ContextualDeserializer {
 
     private static final long serialVersionUID = 3796755247545654672L;
+    private static final Object NESTED_ATTRIBUTE = AbstractSirenDeserializer.class.getName() + ".NESTED";
 
     protected final SirenDeserializerFacilities deserializerFacilities;
-    protected final SirenConfiguration configuration;
+    protected final SirenRuntimeConfiguration configuration;
     protected final JavaType contentType;
 
-    protected AbstractSirenDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities,
-        JavaType contentType) {
+    protected AbstractSirenDeserializer(SirenRuntimeConfiguration configuration,
+        SirenDeserializerFacilities deserializerFacilities, JavaType contentType) {
         super(contentType);
         this.deserializerFacilities = deserializerFacilities;
         this.configuration = configuration;
@@ -78,7 +86,32 @@ abstract class AbstractSirenDeserializer<T extends RepresentationModel<?>> exten
         if (!START_OBJECT.equals(token)) {
             throw new JsonParseException(jp, format("Current token does not represent '%s' (but '%s')!", START_OBJECT, token));
         }
-        return deserializeModel(jp, ctxt);
+
+        // Only the root of a deserialization is recorded, the nested entities are part of it.
+        boolean root = jp.getParsingContext().getParent().inRoot();
+        SirenMetrics metrics = root ? configuration.getMetrics() : SirenMetrics.NOOP;
+        long start = metrics.start();
+        SirenDeserializeEvent event = root ? SirenDeserializeEvent.beginIfEnabled() : null;
+        long offset = event != null ? offset(jp.getTokenLocation()) : 0;
+
+        T model = deserializeModel(jp, ctxt);
+
+        // The requested type is recorded, the model may be an internal implementation of it (e.g. a lazily bound one).
+        Class<?> modelClass = contentType.getRawClass();
+        metrics.deserialized(modelClass, start);
+        if (event != null && event.shouldCommit()) {
+            event.modelClass = modelClass;
+            event.entities = model instanceof CollectionModel ? ((CollectionModel<?>) model).getContent().size() : 0;
+            event.links = model.getLinks().toList().size();
+            event.actions = model.getLinks().stream().mapToInt(link -> link.getAffordances().size()).sum();
+            event.size = offset(jp.getCurrentLocation()) - offset;
+            event.commit();
+        }
+        return model;
+    }
+
+    private static long offset(JsonLocation location) {
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
     }
 
     protected abstract T deserializeModel(JsonParser jp, DeserializationContext ctxt) throws IOException;
@@ -97,7 +130,67 @@ abstract class AbstractSirenDeserializer<T extends RepresentationModel<?>> exten
     }
 
     protected List<Object> deserializeEntities(JsonParser jp, DeserializationContext ctxt) throws IOException {
-        return deserializeEntries(obtainContainedType(), jp, ctxt);
+        JavaType javaType = obtainContainedType();
+        if (!isParallelDeserializationApplicable(jp, ctxt)) {
+            return deserializeEntries(javaType, jp, ctxt);
+        }
+
+        // The entities are bound while they are read until the threshold is reached, only the remaining ones are buffered.
+        JsonDeserializer<Object> deserializer = getDeserializer(javaType, jp, ctxt);
+        int threshold = configuration.getParallelDeserializationThreshold();
+        List<Object> entries = newArrayList();
+        List<TokenBuffer> buffers = newArrayList();
+        if (START_ARRAY.equals(jp.nextToken())) {
+            while (!END_ARRAY.equals(jp.nextToken())) {
+                if (entries.size() < threshold) {
+                    entries.add(deserializer.deserialize(jp, ctxt));
+                } else {
+                    buffers.add(ctxt.bufferAsCopyOfValue(jp));
+                }
+            }
+        }
+
+        if (!buffers.isEmpty()) {
+            // The entities are bound through other deserializations which must not bind their nested entities in parallel again.
+            ObjectReader reader = reader(jp.getCodec(), javaType).with(ctxt.getConfig()).withAttribute(NESTED_ATTRIBUTE, TRUE);
+            entries.addAll(new ParallelEntitiesBinder(configuration.getParallelDeserializationPool()).bind(buffers, reader));
+        }
+        return entries;
+    }
+
+    protected List<Object> deserializeEntitiesLazily(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        if (!isReaderAvailable(jp)) {
+            return deserializeEntities(jp, ctxt);
+        }
+
+        ObjectReader reader = reader(jp.getCodec(), obtainContainedType()).with(ctxt.getConfig());
+        return new LazyEntities(bufferEntries(jp, ctxt), reader);
+    }
+
+    private boolean isParallelDeserializationApplicable(JsonParser jp, DeserializationContext ctxt) {
+        // Only the entities of the root are bound in parallel, the nested entities are bound as part of them.
+        return configuration.isParallelDeserializationEnabled() && isReaderAvailable(jp)
+                && jp.getParsingContext().getParent().inRoot() && !TRUE.equals(ctxt.getAttribute(NESTED_ATTRIBUTE));
+    }
+
+    private static boolean isReaderAvailable(JsonParser jp) {
+        ObjectCodec codec = jp.getCodec();
+        return codec instanceof ObjectMapper || codec instanceof ObjectReader;
+    }
+
+    private static ObjectReader reader(ObjectCodec codec, JavaType javaType) {
+        return codec instanceof ObjectMapper ? ((ObjectMapper) codec).readerFor(javaType)
+            : ((ObjectReader) codec).forType(javaType);
+    }
+
+    private static List<TokenBuffer> bufferEntries(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        List<TokenBuffer> buffers = newArrayList();
+        if (START_ARRAY.equals(jp.nextToken())) {
+            while (!END_ARRAY.equals(jp.nextToken())) {
+                buffers.add(ctxt.bufferAsCopyOfValue(jp));
+            }
+        }
+        return buffers;
     }
 
     protected List<SirenLink> deserializeLinks(JsonParser jp, DeserializationContext ctxt) throws IOException {
@@ -15,16 +15,26 @@
  */
 package de.ingogriebsch.spring.hateoas.siren;
 
+import static com.fasterxml.jackson.databind.SerializationFeature.WRAP_ROOT_VALUE;
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.ContainerSerializer;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -38,14 +48,47 @@ import org.springframework.hateoas.RepresentationModel;
 abstract class AbstractSirenSerializer<T> extends ContainerSerializer<T> implements ContextualSerializer {
 
     private static final long serialVersionUID = -8665900081601124431L;
-    protected static final String ATTR_KEY_PARENT = "__SIREN_ENTITY_PARENT__";
-    protected static final String ATTR_KEY_REL = "__SIREN_ENTITY_REL__";
 
-    protected final SirenConfiguration configuration;
+    // Providers which do not override getWithContext(..) only depend on the parent of a model, which is the same for each
+    // occurrence of the entities nested into a repeated model.
+    private static final ClassValue<Boolean> CONTEXT_INDEPENDENT = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getWithContext", RepresentationModel.class, SirenSerializationContext.class).isDefault();
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    // Providers which do not override any of their methods only depend on the type of a model and whether it has a parent.
+    private static final ClassValue<Boolean> TYPE_BASED = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                if (SirenEntityClassProvider.class.isAssignableFrom(type)
+                        && !type.getMethod("get", RepresentationModel.class).isDefault()) {
+                    return false;
+                }
+                if (SirenEntityRelProvider.class.isAssignableFrom(type)
+                        && !type.getMethod("get", RepresentationModel.class, RepresentationModel.class).isDefault()) {
+                    return false;
+                }
+                return CONTEXT_INDEPENDENT.get(type);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    protected final SirenRuntimeConfiguration configuration;
     protected final SirenSerializerFacilities serializerFacilities;
     protected final BeanProperty property;
 
-    protected AbstractSirenSerializer(Class<?> type, SirenConfiguration configuration,
+    protected AbstractSirenSerializer(Class<?> type, SirenRuntimeConfiguration configuration,
         SirenSerializerFacilities serializerFacilities, BeanProperty property) {
         super(type, false);
         this.configuration = configuration;
@@ -81,38 +124,142 @@ abstract class AbstractSirenSerializer<T> extends ContainerSerializer<T> impleme
         return serializerFacilities.getLinkConverter();
     }
 
-    protected List<String> classes(RepresentationModel<?> model) {
-        return serializerFacilities.getEntityClassProvider().get(model);
+    protected SirenSerializationContext context(SerializerProvider provider) {
+        return SirenSerializationContext.of(provider);
     }
 
-    protected List<LinkRelation> rels(RepresentationModel<?> model, SerializerProvider provider) {
-        List<LinkRelation> rels = removeAttribute(ATTR_KEY_REL, provider);
+    protected List<String> classes(RepresentationModel<?> model, SirenSerializationContext context) {
+        return serializerFacilities.getEntityClassProvider().getWithContext(model, context);
+    }
+
+    public List<LinkRelation> rels(RepresentationModel<?> model, SirenSerializationContext context) {
+        List<LinkRelation> rels = context.takePendingRels();
         if (rels != null) {
             return rels;
         }
+        return serializerFacilities.getEntityRelProvider().getWithContext(model, context);
+    }
+
+    /**
+     * Serializes the given model as a Siren entity. While the Siren entity is serialized, the model is the parent of the nested
+     * entities. The nested entities are written iteratively through a {@link SirenEntityTreeWriter}, so deeply nested entities
+     * do not grow the call stack.
+     *
+     * @param model the model that should be serialized.
+     * @param converter the converter that converts the model into a Siren entity.
+     * @param gen the generator the Siren entity is written into.
+     * @param provider the provider that is used to serialize the Siren entity.
+     * @throws IOException if the serialization of the Siren entity fails.
+     */
+    protected <M extends RepresentationModel<?>> void serialize(M model, SirenEntityConverter<M> converter, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
+        SirenSerializationContext context = context(provider);
+        // Only the root of a serialization is recorded, the nested entities are part of it.
+        boolean root = context.getDepth() == 0;
+        SirenMetrics metrics = root ? configuration.getMetrics() : SirenMetrics.NOOP;
+        long start = metrics.start();
+        SirenSerializeEvent event = root ? SirenSerializeEvent.beginIfEnabled() : null;
+
+        SirenEntity sirenEntity = converter.toSirenEntity(model, context, gen, provider);
 
-        RepresentationModel<?> parent = getAttribute(ATTR_KEY_PARENT, provider);
-        return serializerFacilities.getEntityRelProvider().get(model, parent);
+        SirenEntityMemo memo = isMemoizationApplicable(gen) ? context.memo() : null;
+        SirenEntityTreeWriter writer = new SirenEntityTreeWriter(context, gen, provider, property, memo);
+        long writing = metrics.start();
+        writer.write(sirenEntity, model);
+        metrics.phase(SirenMetrics.Phase.WRITING, writing);
+
+        metrics.serialized(model.getClass(), start, writer.getEntities(), writer.getLinks(), writer.getActions());
+        if (event != null && event.shouldCommit()) {
+            event.modelClass = model.getClass();
+            event.entities = writer.getEntities();
+            event.links = writer.getLinks();
+            event.actions = writer.getActions();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the entities that should be contained in the Siren entity of the given parent. If the amount of entities reaches
+     * the configured threshold, the entities are rendered in parallel and the rendered entities are returned instead.
+     *
+     * @param content the content of the parent.
+     * @param context the context of the current serialization, not containing the parent yet.
+     * @param gen the generator the Siren entity of the parent is written into.
+     * @param provider the provider that is used to serialize the Siren entity of the parent.
+     * @return the entities (or the rendered entities) that should be contained in the Siren entity.
+     * @throws IOException if the parallel rendering of the entities fails.
+     */
+    protected List<Object> entities(Collection<?> content, RepresentationModel<?> parent, SirenSerializationContext context,
+        JsonGenerator gen, SerializerProvider provider) throws IOException {
+        List<Object> entities = newArrayList(content);
+        if (!isParallelSerializationApplicable(entities, gen)) {
+            return entities;
+        }
+
+        // The entities are rendered through other serializations which inherit the configuration of the current one (e.g. the
+        // filters, features and attributes of the writer) and a snapshot of the current context.
+        ObjectWriter writer = new EntitiesWriter((ObjectMapper) gen.getCodec(), provider.getConfig()) //
+            .without(WRAP_ROOT_VALUE) //
+            .withAttribute(SirenSerializationContext.attributeKey(), context.snapshot(parent));
+        return new ParallelEntitiesRenderer(configuration.getParallelSerializationPool()).render(entities,
+            configure(writer, gen));
     }
 
     protected String title(Class<?> type) {
-        return serializerFacilities.getMessageResolver().resolve(SirenEntity.TitleResolvable.of(type));
+        SirenMetrics metrics = configuration.getMetrics();
+        long start = metrics.start();
+        SirenTitleResolutionEvent event = SirenTitleResolutionEvent.beginIfEnabled();
+
+        String title = serializerFacilities.getMessageResolver().resolve(SirenEntity.TitleResolvable.of(type));
+
+        metrics.phase(SirenMetrics.Phase.TITLE_RESOLUTION, start);
+        if (event != null && event.shouldCommit()) {
+            event.modelClass = type;
+            event.resolved = title != null;
+            event.commit();
+        }
+        return title;
+    }
+
+    /**
+     * @return {@literal true} if the classes and rels of a model only depend on its type (and whether it has a parent), because
+     *         neither the {@link SirenEntityClassProvider} nor the {@link SirenEntityRelProvider} is customized.
+     */
+    protected boolean areProvidersTypeBased() {
+        return TYPE_BASED.get(serializerFacilities.getEntityClassProvider().getClass())
+                && TYPE_BASED.get(serializerFacilities.getEntityRelProvider().getClass());
+    }
+
+    private static ObjectWriter configure(ObjectWriter writer, JsonGenerator gen) {
+        // The rendered entities must be written in the same way as the generator would have written them itself.
+        for (JsonGenerator.Feature feature : JsonGenerator.Feature.values()) {
+            writer = gen.isEnabled(feature) ? writer.with(feature) : writer.without(feature);
+        }
+        return gen.getCharacterEscapes() != null ? writer.with(gen.getCharacterEscapes()) : writer;
     }
 
-    protected Object setAttribute(String key, Object value, SerializerProvider provider) {
-        Object current = provider.getAttribute(key);
-        provider.setAttribute(key, value);
-        return current;
+    private boolean isMemoizationApplicable(JsonGenerator gen) {
+        // Further occurrences are written as raw output which neither respects a pretty printer nor can be buffered as tokens.
+        // The rendering of a repeated model contains the classes and rels of its nested entities, which is only correct if they
+        // do not depend on the ancestors of the first occurrence.
+        return configuration.isRepeatedEntityMemoizationEnabled() && gen.getPrettyPrinter() == null
+                && gen.getCodec() instanceof ObjectMapper && !(gen instanceof TokenBuffer)
+                && CONTEXT_INDEPENDENT.get(serializerFacilities.getEntityClassProvider().getClass())
+                && CONTEXT_INDEPENDENT.get(serializerFacilities.getEntityRelProvider().getClass());
     }
 
-    @SuppressWarnings("unchecked")
-    protected <A> A getAttribute(String key, SerializerProvider provider) {
-        return (A) provider.getAttribute(key);
+    private boolean isParallelSerializationApplicable(List<Object> entities, JsonGenerator gen) {
+        return configuration.isParallelSerializationEnabled()
+                && entities.size() >= configuration.getParallelSerializationThreshold() && gen.getPrettyPrinter() == null
+                && gen.getCodec() instanceof ObjectMapper;
     }
 
-    protected <A> A removeAttribute(String key, SerializerProvider provider) {
-        A attribute = getAttribute(key, provider);
-        provider.setAttribute(key, null);
-        return attribute;
+    private static class EntitiesWriter extends ObjectWriter {
+
+        private static final long serialVersionUID = 4279843958196357470L;
+
+        EntitiesWriter(ObjectMapper mapper, SerializationConfig config) {
+            super(mapper, config);
+        }
     }
 }
@@ -0,0 +1,108 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import de.ingogriebsch.spring.hateoas.siren.SirenModel.EmbeddedRepresentation;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Utility methods which help to deal with {@link SirenModel}s whose properties or entities are completed asynchronously.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenModelBuilder#properties(CompletionStage)
+ * @see SirenModelBuilder#entities(CompletionStage)
+ */
+@NoArgsConstructor(access = PRIVATE)
+class AsyncSirenModels {
+
+    /**
+     * Returns the stages of the given {@literal value} (and of the {@link SirenModel}s embedded into it) which are not completed
+     * yet. The {@link SirenModel}s are searched through all the {@link RepresentationModel}s the value consists of, means
+     * through the content of {@link EntityModel}s and {@link CollectionModel}s (including {@link PagedModel}s) and through the
+     * entities of {@link SirenModel}s. Because completed entities may again contain {@link SirenModel}s having stages which are
+     * not completed yet, the returned stages have to be awaited until no stages are left.
+     * <p>
+     * Entities which are pulled from a {@link java.util.stream.Stream} (or an {@link java.util.Iterator}) while the model is
+     * serialized are not searched, because they can only be consumed once.
+     *
+     * @param value the value which should be serialized.
+     * @return the stages which are not completed yet, never {@literal null}.
+     */
+    static List<CompletableFuture<?>> incompleteStages(Object value) {
+        List<CompletableFuture<?>> stages = newArrayList();
+        collect(value, stages);
+        return stages;
+    }
+
+    private static void collect(Object value, List<CompletableFuture<?>> stages) {
+        if (value instanceof SirenModel) {
+            collect((SirenModel) value, stages);
+        } else if (value instanceof EntityModel) {
+            collect(((EntityModel<?>) value).getContent(), stages);
+        } else if (value instanceof CollectionModel && !(value instanceof LazyCollectionModel)) {
+            // The content of a lazily bound model is only bound if accessed and cannot contain stages anyway.
+            for (Object element : ((CollectionModel<?>) value).getContent()) {
+                collect(element, stages);
+            }
+        }
+    }
+
+    private static void collect(SirenModel model, List<CompletableFuture<?>> stages) {
+        if (model.getAsyncProperties() != null) {
+            add(model.getAsyncProperties(), stages);
+        }
+
+        if (model.getEntities() != null) {
+            for (EmbeddedRepresentation entity : model.getEntities()) {
+                collect(entity.getModel(), stages);
+            }
+        }
+
+        if (model.getStreamedEntities() != null) {
+            for (StreamedEntities entities : model.getStreamedEntities()) {
+                CompletionStage<? extends Iterable<?>> stage = entities.getStage();
+                Iterable<?> completed = stage != null && add(stage, stages) ? stage.toCompletableFuture().join() : null;
+                if (completed != null) {
+                    completed.forEach(entity -> collect(entity, stages));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@literal true} if the stage is already completed normally, {@literal false} otherwise.
+     */
+    private static boolean add(CompletionStage<?> stage, List<CompletableFuture<?>> stages) {
+        CompletableFuture<?> future = stage.toCompletableFuture();
+        if (!future.isDone()) {
+            stages.add(future);
+            return false;
+        }
+        return !future.isCompletedExceptionally();
+    }
+}
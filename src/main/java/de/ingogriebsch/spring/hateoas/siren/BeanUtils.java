@@ -46,6 +46,12 @@ class BeanUtils {
     }
 
     static <T> T applyProperties(T obj, Map<String, Object> properties) {
+        SirenPropertiesAccessor<Object> accessor = SirenPropertiesAccessors.get(obj.getClass());
+        if (accessor != null) {
+            accessor.write(obj, properties);
+            return obj;
+        }
+
         properties.forEach((key, value) -> ofNullable(getPropertyDescriptor(obj.getClass(), key)).ifPresent(property -> {
             try {
                 Method writeMethod = property.getWriteMethod();
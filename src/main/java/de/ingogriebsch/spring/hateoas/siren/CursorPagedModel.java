@@ -0,0 +1,225 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.ALWAYS;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.springframework.hateoas.IanaLinkRelations.NEXT;
+import static org.springframework.hateoas.IanaLinkRelations.PREV;
+import static org.springframework.web.util.UriUtils.encode;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * A {@link PagedModel} which is paged through opaque cursors (e.g. the keys of the first and last element of a page) instead of
+ * page numbers. So in contrast to the {@link PageMetadata} of a {@link PagedModel}, the {@link CursorMetadata} of this model
+ * does not require the total amount of elements, which can be expensive to count for large data sets. Is serialized into a
+ * Siren entity whose properties are the {@link CursorMetadata}, the {@link PageMetadata} of the model is always
+ * {@literal null}.
+ *
+ * @param <T> the type of the content of the model.
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see CursorMetadata
+ * @see PagedModelFactory#createCursorPaged(com.fasterxml.jackson.databind.JavaType, Iterable, Iterable, CursorMetadata)
+ */
+public class CursorPagedModel<T> extends PagedModel<T> {
+
+    private static final String CURSOR_PARAMETER = "cursor";
+
+    private final CursorMetadata cursorMetadata;
+
+    protected CursorPagedModel(@NonNull Collection<T> content, @NonNull CursorMetadata cursorMetadata,
+        @NonNull Iterable<Link> links) {
+        super(content, null, links);
+        this.cursorMetadata = cursorMetadata;
+    }
+
+    /**
+     * Creates a new {@link CursorPagedModel}.
+     *
+     * @param <T> the type of the content of the model.
+     * @param content must not be {@literal null}.
+     * @param metadata must not be {@literal null}.
+     * @param links must not be {@literal null}.
+     * @return the created {@link CursorPagedModel} instance.
+     */
+    public static <T> CursorPagedModel<T> of(@NonNull Collection<T> content, @NonNull CursorMetadata metadata,
+        @NonNull Link... links) {
+        return of(content, metadata, newArrayList(links));
+    }
+
+    /**
+     * Creates a new {@link CursorPagedModel}.
+     *
+     * @param <T> the type of the content of the model.
+     * @param content must not be {@literal null}.
+     * @param metadata must not be {@literal null}.
+     * @param links must not be {@literal null}.
+     * @return the created {@link CursorPagedModel} instance.
+     */
+    public static <T> CursorPagedModel<T> of(@NonNull Collection<T> content, @NonNull CursorMetadata metadata,
+        @NonNull Iterable<Link> links) {
+        return new CursorPagedModel<>(content, metadata, links);
+    }
+
+    /**
+     * @return the {@link CursorMetadata} of the model, never {@literal null}.
+     */
+    public CursorMetadata getCursorMetadata() {
+        return cursorMetadata;
+    }
+
+    /**
+     * Adds the given {@literal self} link and the navigation links ({@literal next} and {@literal prev}) of the available
+     * cursors to the model. The navigation links are derived from the {@literal href} of the given link by replacing its
+     * {@literal cursor} request parameter.
+     *
+     * @param self the link which points to the current page. Must not be {@literal null}.
+     * @return the current {@link CursorPagedModel} instance.
+     */
+    public CursorPagedModel<T> addNavigationLinks(@NonNull Link self) {
+        return addNavigationLinks(self, CURSOR_PARAMETER);
+    }
+
+    /**
+     * Adds the given {@literal self} link and the navigation links ({@literal next} and {@literal prev}) of the available
+     * cursors to the model. The navigation links are derived from the {@literal href} of the given link by replacing the request
+     * parameter with the given {@literal name}.
+     *
+     * @param self the link which points to the current page. Must not be {@literal null}.
+     * @param parameter the name of the request parameter which holds the cursor. Must not be {@literal null}.
+     * @return the current {@link CursorPagedModel} instance.
+     */
+    public CursorPagedModel<T> addNavigationLinks(@NonNull Link self, @NonNull String parameter) {
+        String href = self.isTemplated() ? self.expand().getHref() : self.getHref();
+
+        add(self);
+        if (cursorMetadata.getNext() != null) {
+            add(navigationLink(href, parameter, cursorMetadata.getNext(), NEXT));
+        }
+        if (cursorMetadata.getPrev() != null) {
+            add(navigationLink(href, parameter, cursorMetadata.getPrev(), PREV));
+        }
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) {
+            return false;
+        }
+
+        CursorPagedModel<?> that = (CursorPagedModel<?>) obj;
+        return Objects.equals(cursorMetadata, that.cursorMetadata);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + cursorMetadata.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CursorPagedModel { content: %s, metadata: %s, links: %s }", getContent(), cursorMetadata,
+            getLinks());
+    }
+
+    private static Link navigationLink(String href, String parameter, String cursor, LinkRelation rel) {
+        // The cursor is opaque, so all its reserved characters are encoded (e.g. a '+' would be decoded as a space otherwise).
+        String uri = UriComponentsBuilder.fromUriString(href) //
+            .replaceQueryParam(parameter, encode(cursor, UTF_8)) //
+            .build() //
+            .toUriString();
+        return Link.of(uri, rel);
+    }
+
+    /**
+     * The metadata of a {@link CursorPagedModel}. Contains the size of the page, the opaque cursors which point to the next and
+     * the previous page (if available) and optionally the total amount of elements. The cursors are always written (even if
+     * they are {@literal null}), so that the metadata can be distinguished from a {@link PageMetadata} on deserialization.
+     *
+     * @author Ingo Griebsch
+     * @since 1.4.0
+     */
+    @EqualsAndHashCode
+    @Getter
+    @JsonInclude(NON_NULL)
+    @JsonPropertyOrder({ "size", "totalElements", "next", "prev" })
+    @ToString
+    public static class CursorMetadata {
+
+        private final long size;
+        @Nullable
+        private final Long totalElements;
+        @JsonInclude(ALWAYS)
+        @Nullable
+        private final String next;
+        @JsonInclude(ALWAYS)
+        @Nullable
+        private final String prev;
+
+        /**
+         * Creates a new {@link CursorMetadata}.
+         *
+         * @param size the requested size of the page. Must not be negative.
+         * @param next the cursor which points to the next page, {@literal null} if there is no next page.
+         * @param prev the cursor which points to the previous page, {@literal null} if there is no previous page.
+         */
+        public CursorMetadata(long size, @Nullable String next, @Nullable String prev) {
+            this(size, null, next, prev);
+        }
+
+        /**
+         * Creates a new {@link CursorMetadata}.
+         *
+         * @param size the requested size of the page. Must not be negative.
+         * @param totalElements the total amount of elements, {@literal null} if it is not known.
+         * @param next the cursor which points to the next page, {@literal null} if there is no next page.
+         * @param prev the cursor which points to the previous page, {@literal null} if there is no previous page.
+         */
+        @JsonCreator
+        public CursorMetadata(@JsonProperty("size") long size, @JsonProperty("totalElements") @Nullable Long totalElements,
+            @JsonProperty("next") @Nullable String next, @JsonProperty("prev") @Nullable String prev) {
+            isTrue(size >= 0, "Size must not be negative!");
+            isTrue(totalElements == null || totalElements >= 0, "Total elements must not be negative!");
+
+            this.size = size;
+            this.totalElements = totalElements;
+            this.next = next;
+            this.prev = prev;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.Math.min;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+/**
+ * {@link OutputStream} implementation which writes directly into {@link DataBuffer}s that are allocated through the given
+ * {@link DataBufferFactory}. A new buffer is allocated each time the current one is full, so the written bytes are never
+ * collected in an intermediate heap buffer.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see DataBuffer
+ * @see DataBufferFactory
+ */
+@RequiredArgsConstructor
+class DataBufferOutputStream extends OutputStream {
+
+    private final DataBufferFactory bufferFactory;
+    private final int chunkSize;
+
+    private final List<DataBuffer> buffers = newArrayList();
+    private DataBuffer current;
+
+    @Override
+    public void write(int b) {
+        current().write((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            DataBuffer buffer = current();
+            int count = min(len, buffer.writableByteCount());
+            buffer.write(b, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Returns a {@link DataBuffer} which is composed of all the buffers written so far. Depending on the
+     * {@link DataBufferFactory}, the returned buffer is a composite which references the written buffers instead of copying
+     * them.
+     *
+     * @return the {@link DataBuffer} holding the written bytes.
+     */
+    DataBuffer toDataBuffer() {
+        if (buffers.isEmpty()) {
+            return bufferFactory.allocateBuffer(0);
+        }
+        return buffers.size() == 1 ? buffers.get(0) : bufferFactory.join(buffers);
+    }
+
+    /**
+     * Releases all the buffers written so far. Must only be called if the written bytes are dropped, i.e. if
+     * {@link #toDataBuffer()} is not called.
+     */
+    void release() {
+        buffers.forEach(DataBufferUtils::release);
+        buffers.clear();
+        current = null;
+    }
+
+    private DataBuffer current() {
+        if (current == null || current.writableByteCount() == 0) {
+            current = bufferFactory.allocateBuffer(chunkSize);
+            buffers.add(current);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,94 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.format;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
+import org.springframework.lang.Nullable;
+
+/**
+ * Links (and their affordances) whose creation is deferred until the model they belong to is serialized. If the relation of
+ * the links is known upfront, the links can be replaced by other links having the same relation without ever being created.
+ * The position of the links among the other links of the model is kept so that they are rendered in the order they were added.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenModelBuilder#linksAndActions(LinkRelation, Supplier)
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+@ToString
+class DeferredLinks {
+
+    @Nullable
+    private final LinkRelation rel;
+    private final Supplier<Links> supplier;
+    private final int position;
+
+    static DeferredLinks of(@NonNull LinkRelation rel, @NonNull Supplier<Link> supplier) {
+        return new DeferredLinks(rel, () -> Links.of(supplier.get()), 0);
+    }
+
+    static DeferredLinks of(@NonNull Supplier<Links> supplier) {
+        return new DeferredLinks(null, supplier, 0);
+    }
+
+    /**
+     * @param position the amount of (not deferred) links of the model which precede the links.
+     * @return a copy of the current instance which is placed at the given position.
+     */
+    DeferredLinks at(int position) {
+        return new DeferredLinks(rel, supplier, position);
+    }
+
+    @Nullable
+    LinkRelation getRel() {
+        return rel;
+    }
+
+    /**
+     * @return the amount of (not deferred) links of the model which precede the links.
+     */
+    int getPosition() {
+        return position;
+    }
+
+    Links resolve() {
+        Links links = supplier.get();
+        if (links == null) {
+            throw new IllegalStateException("The supplier of deferred links must not return null!");
+        }
+
+        if (rel != null) {
+            for (Link link : links) {
+                if (!link.hasRel(rel)) {
+                    throw new IllegalStateException(
+                        format("The deferred link is declared with relation '%s' [but has relation '%s']!", rel, link.getRel()));
+                }
+            }
+        }
+        return links;
+    }
+}
@@ -45,6 +45,7 @@ class Jackson2SirenModule extends SimpleModule {
         setMixInAnnotation(EntityModel.class, EntityModelMixIn.class);
         setMixInAnnotation(CollectionModel.class, CollectionModelMixIn.class);
         setMixInAnnotation(PagedModel.class, PagedModelMixIn.class);
+        setMixInAnnotation(SirenSliceModel.class, SirenSliceModelMixIn.class);
         setMixInAnnotation(SirenModel.class, SirenModelMixIn.class);
         setMixInAnnotation(SirenModel.EmbeddedRepresentation.class, SirenModelMixIn.EmbeddedRepresentationMixIn.class);
     }
@@ -69,6 +70,10 @@ class Jackson2SirenModule extends SimpleModule {
     abstract static class PagedModelMixIn<T> extends PagedModel<T> {
     }
 
+    @JsonSerialize(using = SirenSliceModelSerializer.class)
+    abstract static class SirenSliceModelMixIn<T> extends PagedModel<T> {
+    }
+
     @JsonSerialize(using = SirenModelSerializer.class)
     abstract static class SirenModelMixIn extends SirenModel {
 
@@ -0,0 +1,93 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.Collections.emptyList;
+
+import static org.springframework.core.ResolvableType.forClass;
+import static org.springframework.core.ResolvableType.forClassWithGenerics;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.NonNull;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+
+/**
+ * A {@link CollectionModel} whose (unmodifiable) content is bound to its target type not before it is accessed for the first
+ * time. Is only created during the deserialization if the lazy binding of entities is enabled. Is serialized like a plain
+ * {@link CollectionModel}.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenConfiguration#withLazyEntityBindingEnabled(boolean)
+ * @see LazyEntities
+ */
+class LazyCollectionModel<T> extends CollectionModel<T> {
+
+    private final List<T> content;
+
+    LazyCollectionModel(@NonNull List<T> content, @NonNull Iterable<Link> links, @NonNull JavaType elementType) {
+        // The content is held separately because the constructor of the super class iterates (and therefore binds) all elements.
+        super(emptyList(), links, resolvableType(elementType));
+        this.content = content;
+    }
+
+    @Override
+    public Collection<T> getContent() {
+        return content;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+
+        LazyCollectionModel<?> that = (LazyCollectionModel<?>) obj;
+        return content.equals(that.content) && getLinks().equals(that.getLinks());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, getLinks());
+    }
+
+    private static ResolvableType resolvableType(JavaType type) {
+        if (type.containedTypeCount() == 0) {
+            return forClass(type.getRawClass());
+        }
+
+        ResolvableType[] generics = new ResolvableType[type.containedTypeCount()];
+        for (int i = 0; i < generics.length; i++) {
+            generics[i] = resolvableType(type.containedType(i));
+        }
+        return forClassWithGenerics(type.getRawClass(), generics);
+    }
+}
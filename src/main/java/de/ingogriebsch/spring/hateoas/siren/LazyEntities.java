@@ -0,0 +1,96 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.NonNull;
+
+/**
+ * An unmodifiable list of buffered entities which are bound to their target type not before they are accessed for the first
+ * time. The buffer of an entity is released as soon as the entity is bound. If an entity cannot be bound, a
+ * {@link RuntimeJsonMappingException} is thrown which wraps the {@link JsonMappingException} that describes the failure.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see LazyCollectionModel
+ */
+class LazyEntities extends AbstractList<Object> implements RandomAccess {
+
+    private final List<TokenBuffer> buffers;
+    private final ObjectReader reader;
+    private final Object[] entities;
+    private final boolean[] bound;
+
+    LazyEntities(@NonNull List<TokenBuffer> buffers, @NonNull ObjectReader reader) {
+        this.buffers = buffers;
+        this.reader = reader;
+        entities = new Object[buffers.size()];
+        bound = new boolean[buffers.size()];
+    }
+
+    @Override
+    public synchronized Object get(int index) {
+        if (!bound[index]) {
+            entities[index] = bind(buffers.get(index), index);
+            bound[index] = true;
+            buffers.set(index, null);
+        }
+        return entities[index];
+    }
+
+    @Override
+    public int size() {
+        return entities.length;
+    }
+
+    /**
+     * @return the amount of entities which are already bound to their target type.
+     */
+    synchronized int boundCount() {
+        int count = 0;
+        for (boolean b : bound) {
+            count += b ? 1 : 0;
+        }
+        return count;
+    }
+
+    private Object bind(TokenBuffer buffer, int index) {
+        try (JsonParser parser = buffer.asParser()) {
+            try {
+                return reader.readValue(parser);
+            } catch (JsonMappingException e) {
+                throw new RuntimeJsonMappingException(e.getOriginalMessage(), JsonMappingException.wrapWithPath(e, this, index));
+            } catch (IOException e) {
+                String message = format("Could not bind the entity at index %d!", index);
+                throw new RuntimeJsonMappingException(message, JsonMappingException.from(parser, message, e));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
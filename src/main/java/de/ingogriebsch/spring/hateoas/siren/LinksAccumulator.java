@@ -0,0 +1,158 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.util.stream.Collectors.toList;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import lombok.NonNull;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
+
+/**
+ * Accumulates links (as well as deferred links and expansions of link templates) indexed by their relation. Adding links replaces
+ * the already accumulated links having
+ * the same relation, means it has the same semantics as {@link Links#merge(Links.MergeMode, Iterable)} with
+ * {@link Links.MergeMode#REPLACE_BY_REL}, but without copying and rescanning all accumulated links on each call. Replaced links
+ * only leave a gap which is skipped when the links are materialized.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenModelBuilder
+ */
+class LinksAccumulator {
+
+    private final List<Link> links = newArrayList();
+    private final List<DeferredLinks> deferredLinks = newArrayList();
+    // The amount of links (including the gaps) which were added before the respective deferred links.
+    private final List<Integer> deferredLinkPositions = newArrayList();
+    // Relations are compared case-insensitive, analogous to LinkRelation#isSameAs(LinkRelation).
+    private final Map<String, List<Integer>> linkIndices = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> deferredLinkIndices = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+    private final List<SirenLinkTemplate.Expansion> linkTemplates = newArrayList();
+    private final Map<String, Integer> linkTemplateIndices = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Adds the given {@literal links} and replaces the already accumulated (and deferred) links having the same relation as one
+     * of the given links.
+     *
+     * @param links must not be {@literal null}.
+     */
+    void add(@NonNull Iterable<Link> links) {
+        // All relations have to be removed upfront, otherwise given links having the same relation would replace each other.
+        for (Link link : links) {
+            remove(link.getRel());
+        }
+
+        for (Link link : links) {
+            linkIndices.computeIfAbsent(link.getRel().value(), rel -> newArrayList()).add(this.links.size());
+            this.links.add(link);
+        }
+    }
+
+    /**
+     * Adds the given {@literal deferredLinks}. If their relation is known upfront, the already accumulated (and deferred) links
+     * having the same relation are replaced.
+     *
+     * @param deferredLinks must not be {@literal null}.
+     */
+    void add(@NonNull DeferredLinks deferredLinks) {
+        LinkRelation rel = deferredLinks.getRel();
+        if (rel != null) {
+            remove(rel);
+            deferredLinkIndices.put(rel.value(), this.deferredLinks.size());
+        }
+        this.deferredLinks.add(deferredLinks);
+        deferredLinkPositions.add(links.size());
+    }
+
+    /**
+     * Adds the given {@literal expansion} of a link template and replaces the already accumulated (and deferred) links having
+     * the same relation as the link of the template.
+     *
+     * @param expansion must not be {@literal null}.
+     */
+    void add(@NonNull SirenLinkTemplate.Expansion expansion) {
+        LinkRelation rel = expansion.getRel();
+        remove(rel);
+        linkTemplateIndices.put(rel.value(), linkTemplates.size());
+        linkTemplates.add(expansion);
+    }
+
+    /**
+     * Removes the accumulated (and deferred) links and expansions of link templates having the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     */
+    void remove(@NonNull LinkRelation rel) {
+        List<Integer> indices = linkIndices.remove(rel.value());
+        if (indices != null) {
+            indices.forEach(i -> links.set(i, null));
+        }
+
+        Integer index = deferredLinkIndices.remove(rel.value());
+        if (index != null) {
+            deferredLinks.set(index, null);
+        }
+
+        index = linkTemplateIndices.remove(rel.value());
+        if (index != null) {
+            linkTemplates.set(index, null);
+        }
+    }
+
+    /**
+     * @return the accumulated links in the order they were added.
+     */
+    Links getLinks() {
+        return Links.of(links.stream().filter(Objects::nonNull).collect(toList()));
+    }
+
+    /**
+     * @return the accumulated expansions of link templates in the order they were added.
+     */
+    List<SirenLinkTemplate.Expansion> getLinkTemplates() {
+        return linkTemplates.stream().filter(Objects::nonNull).collect(toList());
+    }
+
+    /**
+     * @return the accumulated deferred links in the order they were added, placed at their position among the links returned
+     *         through {@link #getLinks()}.
+     */
+    List<DeferredLinks> getDeferredLinks() {
+        List<DeferredLinks> result = newArrayList();
+        int index = 0;
+        int position = 0;
+        for (int i = 0; i < deferredLinks.size(); i++) {
+            // The positions are ascending, so the gaps preceding the deferred links are counted in a single pass.
+            for (; index < deferredLinkPositions.get(i); index++) {
+                position += links.get(index) != null ? 1 : 0;
+            }
+            if (deferredLinks.get(i) != null) {
+                result.add(deferredLinks.get(i).at(position));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+
+/**
+ * {@link SirenMetrics} implementation which records the metrics through a Micrometer {@link MeterRegistry}. The meters are
+ * tagged with the simple name of the type of the (de)serialized model, the phase or the cache respectively.
+ * <p>
+ * Micrometer is an optional dependency of this library, this class can only be used if it is available on the classpath.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenConfiguration#withMetrics(SirenMetrics)
+ */
+public final class MicrometerSirenMetrics implements SirenMetrics {
+
+    static final String SERIALIZATION = "siren.serialization";
+    static final String SERIALIZATION_ENTITIES = "siren.serialization.entities";
+    static final String SERIALIZATION_LINKS = "siren.serialization.links";
+    static final String SERIALIZATION_ACTIONS = "siren.serialization.actions";
+    static final String SERIALIZATION_BYTES = "siren.serialization.bytes";
+    static final String SERIALIZATION_PHASE = "siren.serialization.phase";
+    static final String DESERIALIZATION = "siren.deserialization";
+    static final String CACHE_HITS = "siren.cache.hits";
+    static final String CACHE_MISSES = "siren.cache.misses";
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    // The meters are registered once and looked up afterwards, registering them through their builders on each call is costly.
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Map<Class<?>, SerializationMeters> serializations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Timer> deserializations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DistributionSummary> bytes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+
+    private MicrometerSirenMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        clock = registry.config().clock();
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, timer(SERIALIZATION_PHASE, "phase", phase.getValue()));
+        }
+    }
+
+    /**
+     * Creates a new {@link MicrometerSirenMetrics} instance recording the metrics through the given {@literal registry}.
+     *
+     * @param registry the registry the metrics are recorded through. Must not be {@literal null}.
+     * @return the created {@link MicrometerSirenMetrics} instance.
+     */
+    public static MicrometerSirenMetrics of(@NonNull MeterRegistry registry) {
+        return new MicrometerSirenMetrics(registry);
+    }
+
+    @Override
+    public long start() {
+        return clock.monotonicTime();
+    }
+
+    @Override
+    public void serialized(Class<?> type, long start, int entities, int links, int actions) {
+        SerializationMeters meters = serializations.computeIfAbsent(type, SerializationMeters::new);
+        meters.timer.record(clock.monotonicTime() - start, NANOSECONDS);
+        meters.entities.record(entities);
+        meters.links.record(links);
+        meters.actions.record(actions);
+    }
+
+    @Override
+    public void deserialized(Class<?> type, long start) {
+        deserializations.computeIfAbsent(type, t -> timer(DESERIALIZATION, "type", t.getSimpleName()))
+            .record(clock.monotonicTime() - start, NANOSECONDS);
+    }
+
+    @Override
+    public void written(Class<?> type, long bytes) {
+        this.bytes.computeIfAbsent(type, t -> summary(SERIALIZATION_BYTES, t, "bytes")).record(bytes);
+    }
+
+    @Override
+    public void phase(Phase phase, long start) {
+        phases.get(phase).record(clock.monotonicTime() - start, NANOSECONDS);
+    }
+
+    @Override
+    public void hit(String cache) {
+        hits.computeIfAbsent(cache, c -> counter(CACHE_HITS, c)).increment();
+    }
+
+    @Override
+    public void miss(String cache) {
+        misses.computeIfAbsent(cache, c -> counter(CACHE_MISSES, c)).increment();
+    }
+
+    private Counter counter(String name, String cache) {
+        return Counter.builder(name).tag("cache", cache).register(registry);
+    }
+
+    private Timer timer(String name, String tag, String value) {
+        return Timer.builder(name).tag(tag, value).register(registry);
+    }
+
+    private DistributionSummary summary(String name, Class<?> type, String baseUnit) {
+        return DistributionSummary.builder(name).tag("type", type.getSimpleName()).baseUnit(baseUnit).register(registry);
+    }
+
+    private class SerializationMeters {
+
+        private final Timer timer;
+        private final DistributionSummary entities;
+        private final DistributionSummary links;
+        private final DistributionSummary actions;
+
+        SerializationMeters(Class<?> type) {
+            timer = timer(SERIALIZATION, "type", type.getSimpleName());
+            entities = summary(SERIALIZATION_ENTITIES, type, null);
+            links = summary(SERIALIZATION_LINKS, type, null);
+            actions = summary(SERIALIZATION_ACTIONS, type, null);
+        }
+    }
+}
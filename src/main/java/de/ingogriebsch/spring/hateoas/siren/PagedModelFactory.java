@@ -21,6 +21,7 @@ import static org.springframework.util.Assert.isAssignable;
 import java.util.Collection;
 
 import com.fasterxml.jackson.databind.JavaType;
+import de.ingogriebsch.spring.hateoas.siren.CursorPagedModel.CursorMetadata;
 import lombok.NonNull;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
@@ -32,6 +33,7 @@ import org.springframework.hateoas.PagedModel.PageMetadata;
  * @author Ingo Griebsch
  * @since 1.0.0
  * @see PagedModel
+ * @see CursorPagedModel
  */
 public interface PagedModelFactory {
 
@@ -61,4 +63,34 @@ public interface PagedModelFactory {
         Object[] args = new Object[] { content, metadata, links };
         return (PagedModel<?>) instantiate(modelType, types, args);
     }
+
+    /**
+     * Creates a {@link PagedModel} based on the given input whose Siren entity contains {@link CursorMetadata} instead of
+     * {@link PageMetadata}. Is named differently than {@link #create(JavaType, Iterable, Iterable, PageMetadata)}, so that calls
+     * passing a {@literal null} metadata stay unambiguous.
+     * <p>
+     * The default implementation creates a {@link CursorPagedModel} if the given type is a {@link PagedModel} or a
+     * {@link CursorPagedModel}. Otherwise it instantiates the concrete {@link PagedModel} based on the assumption that a
+     * constructor accepting the content, the {@link CursorMetadata} and the links is accessible.
+     *
+     * @param type the type of the instance that should be created. Must be assignable to {@link PagedModel}. Is never
+     *        {@literal null}.
+     * @param links the links which should be used to instantiate the {@link PagedModel model}. Is never {@literal null}.
+     * @param content the objects which should be used to instantiate the {@link PagedModel model}. Is never {@literal null}.
+     * @param metadata the {@link CursorMetadata} which should be used to the instantiate {@link PagedModel model}. Is never
+     *        {@literal null}.
+     * @return the created {@link PagedModel} instance.
+     * @since 1.4.0
+     */
+    default PagedModel<?> createCursorPaged(@NonNull JavaType type, @NonNull Iterable<Link> links,
+        @NonNull Iterable<Object> content, @NonNull CursorMetadata metadata) {
+        Class<?> modelType = type.getRawClass();
+        isAssignable(PagedModel.class, modelType);
+
+        // A plain paged model cannot hold the cursors, so the cursor based extension is created instead.
+        Class<?> concreteType = modelType.isAssignableFrom(CursorPagedModel.class) ? CursorPagedModel.class : modelType;
+        Class<?>[] types = new Class[] { Collection.class, CursorMetadata.class, Iterable.class };
+        Object[] args = new Object[] { content, metadata, links };
+        return (PagedModel<?>) instantiate(concreteType, types, args);
+    }
 }
@@ -0,0 +1,108 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Processes a list of elements in parallel. The elements are split into chunks which are processed independently on the given
+ * {@link ForkJoinPool}. The results of the chunks are returned in the order of the elements.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ */
+@RequiredArgsConstructor
+class ParallelChunkProcessor {
+
+    // Creating more chunks than workers compensates for elements which differ in their processing costs.
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    @NonNull
+    private final ForkJoinPool pool;
+
+    /**
+     * Processes the given elements in parallel.
+     *
+     * @param elements the elements that should be processed.
+     * @param function the function which is applied to each chunk of elements.
+     * @return the results of the chunks in the order of the given elements.
+     * @throws IOException if the processing of one of the chunks fails.
+     */
+    <E, R> List<R> process(@NonNull List<E> elements, @NonNull ChunkFunction<E, R> function) throws IOException {
+        int size = elements.size();
+        int chunkCount = pool.getParallelism() * CHUNKS_PER_WORKER;
+        int chunkSize = max(1, (size + chunkCount - 1) / chunkCount);
+
+        List<ForkJoinTask<R>> tasks = newArrayList();
+        for (int from = 0; from < size; from += chunkSize) {
+            List<E> chunk = elements.subList(from, min(size, from + chunkSize));
+            tasks.add(pool.submit(() -> function.apply(chunk)));
+        }
+
+        List<R> results = newArrayList();
+        for (ForkJoinTask<R> task : tasks) {
+            results.add(join(task));
+        }
+        return results;
+    }
+
+    private static <R> R join(ForkJoinTask<R> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while processing the chunks!");
+        } catch (ExecutionException e) {
+            // The pool wraps checked exceptions thrown by the task, so the original exception needs to be looked up.
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Function which is applied to a chunk of elements.
+     *
+     * @param <E> the type of the elements.
+     * @param <R> the type of the result.
+     */
+    @FunctionalInterface
+    interface ChunkFunction<E, R> {
+
+        R apply(List<E> chunk) throws IOException;
+    }
+}
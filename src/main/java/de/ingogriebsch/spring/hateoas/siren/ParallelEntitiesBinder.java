@@ -0,0 +1,70 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.NonNull;
+
+/**
+ * Binds a list of buffered entities in parallel. The buffers are split into chunks which are bound independently on the given
+ * {@link ForkJoinPool}. The bound entities are returned in the order of the given buffers.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see ParallelChunkProcessor
+ */
+class ParallelEntitiesBinder {
+
+    private final ParallelChunkProcessor processor;
+
+    ParallelEntitiesBinder(@NonNull ForkJoinPool pool) {
+        processor = new ParallelChunkProcessor(pool);
+    }
+
+    /**
+     * Binds the given buffers in parallel.
+     *
+     * @param buffers the buffers each holding the tokens of one entity.
+     * @param reader the reader which is used to bind the entities.
+     * @return the bound entities in the order of the given buffers.
+     * @throws IOException if the binding of one of the entities fails.
+     */
+    List<Object> bind(@NonNull List<TokenBuffer> buffers, @NonNull ObjectReader reader) throws IOException {
+        List<Object> entities = newArrayList();
+        for (List<Object> chunk : processor.process(buffers, chunk -> bindChunk(chunk, reader))) {
+            entities.addAll(chunk);
+        }
+        return entities;
+    }
+
+    private static List<Object> bindChunk(List<TokenBuffer> chunk, ObjectReader reader) throws IOException {
+        List<Object> entities = newArrayList();
+        for (TokenBuffer buffer : chunk) {
+            try (JsonParser parser = buffer.asParser()) {
+                entities.add(reader.readValue(parser));
+            }
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,80 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.NonNull;
+
+/**
+ * Renders a list of entities in parallel. The entities are split into chunks which are serialized independently on the given
+ * {@link ForkJoinPool}. Each entity is returned as a {@link RawValue} of its own, so writing the returned values (in their order)
+ * into a JSON array results in the same output as writing the entities themselves. As each entity is written separately, a
+ * generator which reacts on the written entities (e.g. by flushing after a given amount of them) still sees each entity.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see ParallelChunkProcessor
+ */
+class ParallelEntitiesRenderer {
+
+    private final ParallelChunkProcessor processor;
+
+    ParallelEntitiesRenderer(@NonNull ForkJoinPool pool) {
+        processor = new ParallelChunkProcessor(pool);
+    }
+
+    /**
+     * Renders the given entities in parallel.
+     *
+     * @param entities the entities that should be rendered.
+     * @param writer the writer which is used to render the entities. The writer must not apply any pretty printing and should
+     *        be configured with the features of the generator the rendered entities are written into.
+     * @return the rendered entities in the order of the given entities.
+     * @throws IOException if the rendering of one of the chunks fails.
+     */
+    List<Object> render(@NonNull List<?> entities, @NonNull ObjectWriter writer) throws IOException {
+        List<Object> rendered = newArrayListWithCapacity(entities.size());
+        for (List<RawValue> chunk : processor.process(entities, chunk -> renderChunk(chunk, writer))) {
+            rendered.addAll(chunk);
+        }
+        return rendered;
+    }
+
+    private static List<RawValue> renderChunk(List<?> chunk, ObjectWriter writer) throws IOException {
+        // All entities of the chunk are written through the same generator, each one is cut out of the written output afterwards.
+        StringWriter output = new StringWriter();
+        List<RawValue> rendered = newArrayListWithCapacity(chunk.size());
+        try (JsonGenerator gen = writer.createGenerator(output)) {
+            gen.setRootValueSeparator(null);
+            for (Object entity : chunk) {
+                int start = output.getBuffer().length();
+                writer.writeValue(gen, entity);
+                gen.flush();
+                rendered.add(new RawValue(output.getBuffer().substring(start)));
+            }
+        }
+        return rendered;
+    }
+}
@@ -17,23 +17,60 @@ package de.ingogriebsch.spring.hateoas.siren;
 
 import static java.util.Arrays.asList;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
 
-@RequiredArgsConstructor
 class PropertiesFacility {
 
     private static final Set<String> PROPERTIES_TO_IGNORE = new HashSet<>(asList("class", "links"));
     private final ObjectMapper objectMapper;
+    private final SirenMetrics metrics;
+    private final Map<Class<?>, Boolean> applicableAccessors = new ConcurrentHashMap<>();
+
+    PropertiesFacility(ObjectMapper objectMapper) {
+        this(objectMapper, SirenMetrics.NOOP);
+    }
+
+    PropertiesFacility(ObjectMapper objectMapper, SirenMetrics metrics) {
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
 
     Map<String, Object> extract(Object object, String... excludes) {
-        Map<String, Object> properties = objectMapper.convertValue(object, new TypeReference<Map<String, Object>>() {
-        });
+        long start = metrics.start();
+        Map<String, Object> properties;
+        try {
+            SirenPropertiesAccessor<Object> accessor = accessor(object);
+            if (accessor != null) {
+                properties = new LinkedHashMap<>(accessor.read(object));
+            } else {
+                properties = objectMapper.convertValue(object, new TypeReference<Map<String, Object>>() {
+                });
+            }
+        } finally {
+            metrics.phase(SirenMetrics.Phase.PROPERTY_EXTRACTION, start);
+        }
 
         for (String exclude : PROPERTIES_TO_IGNORE) {
             properties.remove(exclude);
@@ -45,4 +82,78 @@ class PropertiesFacility {
 
         return properties;
     }
+
+    private SirenPropertiesAccessor<Object> accessor(Object object) {
+        SirenPropertiesAccessor<Object> accessor = SirenPropertiesAccessors.get(object.getClass());
+        if (accessor == null) {
+            return null;
+        }
+
+        // A generated accessor reads all properties through their getters, so it is only used if the mapper would write the
+        // very same properties in the same order without customizing their values.
+        boolean applicable = applicableAccessors.computeIfAbsent(object.getClass(),
+            type -> isApplicable(type, new ArrayList<>(accessor.read(object).keySet())));
+        return applicable ? accessor : null;
+    }
+
+    private boolean isApplicable(Class<?> type, List<String> accessorProperties) {
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        if (config.findMixInClassFor(type) != null) {
+            return false;
+        }
+
+        JsonSerializer<Object> serializer;
+        try {
+            serializer = objectMapper.getSerializerProviderInstance().findTypedValueSerializer(type, true, null);
+        } catch (JsonMappingException e) {
+            return false;
+        }
+        if (serializer.getClass() != BeanSerializer.class || serializer.usesObjectId()) {
+            return false;
+        }
+
+        BeanDescription description = config.introspect(config.constructType(type));
+        AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+        if (introspector.findFilterId(description.getClassInfo()) != null || description.findAnyGetter() != null) {
+            return false;
+        }
+
+        JsonInclude.Value inclusion = description.findPropertyInclusion(config.getDefaultPropertyInclusion(type));
+        List<String> mapperProperties = new ArrayList<>();
+        for (Iterator<PropertyWriter> it = serializer.properties(); it.hasNext();) {
+            PropertyWriter property = it.next();
+            if (property.getClass() != BeanPropertyWriter.class || !isPlain((BeanPropertyWriter) property, type, inclusion)) {
+                return false;
+            }
+            mapperProperties.add(property.getName());
+        }
+
+        mapperProperties.removeAll(PROPERTIES_TO_IGNORE);
+        accessorProperties.removeAll(PROPERTIES_TO_IGNORE);
+        return mapperProperties.equals(accessorProperties);
+    }
+
+    private boolean isPlain(BeanPropertyWriter property, Class<?> type, JsonInclude.Value inclusion) {
+        if (property.hasSerializer() || property.hasNullSerializer() || property.willSuppressNulls()
+                || property.getViews() != null) {
+            return false;
+        }
+
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+        AnnotatedMember member = property.getMember();
+        JsonInclude.Value propertyInclusion = config.getDefaultInclusion(type, property.getType().getRawClass(), inclusion)
+            .withOverrides(introspector.findPropertyInclusion(member));
+        JsonFormat.Value format = introspector.findFormat(member);
+
+        return isAlways(propertyInclusion.getValueInclusion()) && isAlways(propertyInclusion.getContentInclusion())
+                && (format == null || format.equals(JsonFormat.Value.empty()))
+                && introspector.findSerializationConverter(member) == null
+                && introspector.findSerializationContentConverter(member) == null
+                && introspector.findContentSerializer(member) == null && introspector.findKeySerializer(member) == null;
+    }
+
+    private static boolean isAlways(Include inclusion) {
+        return inclusion == Include.ALWAYS || inclusion == Include.USE_DEFAULTS;
+    }
 }
@@ -41,7 +41,7 @@ import org.springframework.http.HttpMethod;
  * @since 1.0.0
  * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Action</a>
  */
-@Builder
+@Builder(toBuilder = true)
 @JsonPropertyOrder({ "name", "class", "method", "href", "title", "type", "fields" })
 @Value
 class SirenAction {
@@ -74,6 +74,9 @@ class SirenCollectionModelBuilder {
     }
 
     CollectionModel<?> build() {
+        if (content instanceof LazyEntities) {
+            return new LazyCollectionModel<>(content, links(), type.containedTypeOrUnknown(0));
+        }
         return modelFactory.create(type, links(), content, properties);
     }
 
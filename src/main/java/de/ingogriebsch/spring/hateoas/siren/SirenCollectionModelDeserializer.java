@@ -47,11 +47,12 @@ class SirenCollectionModelDeserializer extends AbstractSirenDeserializer<Collect
     private static final long serialVersionUID = 4364222303241126575L;
     private static final JavaType TYPE = defaultInstance().constructType(CollectionModel.class);
 
-    SirenCollectionModelDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities) {
+    SirenCollectionModelDeserializer(SirenRuntimeConfiguration configuration,
+        SirenDeserializerFacilities deserializerFacilities) {
         this(configuration, deserializerFacilities, TYPE);
     }
 
-    SirenCollectionModelDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities,
+    SirenCollectionModelDeserializer(SirenRuntimeConfiguration configuration, SirenDeserializerFacilities deserializerFacilities,
         JavaType contentType) {
         super(configuration, deserializerFacilities, contentType);
     }
@@ -75,7 +76,8 @@ class SirenCollectionModelDeserializer extends AbstractSirenDeserializer<Collect
                 }
 
                 if ("entities".equals(text)) {
-                    builder.content(deserializeEntities(jp, ctxt));
+                    builder.content(
+                        isLazyEntityBindingApplicable() ? deserializeEntitiesLazily(jp, ctxt) : deserializeEntities(jp, ctxt));
                 }
 
                 if ("links".equals(text)) {
@@ -90,6 +92,11 @@ class SirenCollectionModelDeserializer extends AbstractSirenDeserializer<Collect
         return builder.build();
     }
 
+    // Only applicable to plain collection models because a subclass is not able to hold its content lazily.
+    private boolean isLazyEntityBindingApplicable() {
+        return configuration.isLazyEntityBindingEnabled() && CollectionModel.class.equals(contentType.getRawClass());
+    }
+
     @SuppressWarnings("unchecked")
     private Map<String, Object> deserializeProperties(JsonParser jp, DeserializationContext ctxt) throws IOException {
         JsonDeserializer<Object> deserializer =
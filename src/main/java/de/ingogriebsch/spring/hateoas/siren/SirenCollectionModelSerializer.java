@@ -15,12 +15,9 @@
  */
 package de.ingogriebsch.spring.hateoas.siren;
 
-import static java.util.stream.Collectors.toList;
-
 import static de.ingogriebsch.spring.hateoas.siren.RepresentationModelUtils.isRepresentationModelSubclass;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -37,15 +34,16 @@ import org.springframework.lang.Nullable;
  * @since 1.0.0
  * @see CollectionModel
  */
-class SirenCollectionModelSerializer extends AbstractSirenSerializer<CollectionModel<?>> {
+class SirenCollectionModelSerializer extends AbstractSirenSerializer<CollectionModel<?>>
+    implements SirenEntityConverter<CollectionModel<?>> {
 
     private static final long serialVersionUID = 9054285190464802945L;
 
-    SirenCollectionModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+    SirenCollectionModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
         this(configuration, serializerFacilities, null);
     }
 
-    SirenCollectionModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenCollectionModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         @Nullable BeanProperty property) {
         super(CollectionModel.class, configuration, serializerFacilities, property);
     }
@@ -57,32 +55,29 @@ class SirenCollectionModelSerializer extends AbstractSirenSerializer<CollectionM
 
     @Override
     public void serialize(CollectionModel<?> model, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        serialize(model, this, gen, provider);
+    }
+
+    @Override
+    public SirenEntity toSirenEntity(CollectionModel<?> model, SirenSerializationContext context, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
         assertSubclassingIsEnabledIfModelIsSubclassed(model);
 
         SirenNavigables navigables = getLinkConverter().to(model.getLinks());
 
-        SirenEntity sirenEntity = SirenEntity.builder() //
+        return SirenEntity.builder() //
             .actions(navigables.getActions()) //
-            .classes(classes(model)) //
-            .entities(entities(model)) //
+            .classes(classes(model, context)) //
+            .entities(entities(model.getContent(), model, context, gen, provider)) //
             .links(navigables.getLinks()) //
             .properties(properties(model)) //
-            .rels(rels(model, provider)) //
-            .title(title(model.getClass())) //
+            .rels(rels(model, context)) //
+            .title(title(modelType(model))) //
             .build();
-
-        JsonSerializer<Object> serializer = provider.findValueSerializer(SirenEntity.class, property);
-
-        Object parent = setAttribute(ATTR_KEY_PARENT, model, provider);
-        try {
-            serializer.serialize(sirenEntity, gen, provider);
-        } finally {
-            setAttribute(ATTR_KEY_PARENT, parent, provider);
-        }
     }
 
     private void assertSubclassingIsEnabledIfModelIsSubclassed(CollectionModel<?> model) {
-        Class<?> clazz = model.getClass();
+        Class<?> clazz = modelType(model);
         if (isRepresentationModelSubclass(clazz) && !configuration.isEntityAndCollectionModelSubclassingEnabled()) {
             throw new IllegalStateException(String.format(
                 "You did not configure the library to enable subclassing but want to serialize a subclassed %s, namely %s!",
@@ -91,16 +86,17 @@ class SirenCollectionModelSerializer extends AbstractSirenSerializer<CollectionM
     }
 
     private Map<String, Object> properties(CollectionModel<?> model) {
+        // Only subclasses can have properties, converting a plain model would convert its (maybe deeply nested) content in vain.
+        if (CollectionModel.class.equals(modelType(model))) {
+            return null;
+        }
+
         Map<String, Object> properties = extractProperties(model, "content");
         return properties.isEmpty() ? null : properties;
     }
 
-    private static List<Object> entities(CollectionModel<?> model) {
-        return model.getContent().stream().map(SirenCollectionModelSerializer::entity).collect(toList());
+    private static Class<?> modelType(CollectionModel<?> model) {
+        // A lazily bound model is a plain model whose content is bound on demand, it must not be treated like a subclass.
+        return model instanceof LazyCollectionModel ? CollectionModel.class : model.getClass();
     }
-
-    private static Object entity(Object embeddable) {
-        return embeddable;
-    }
-
 }
@@ -18,13 +18,17 @@ package de.ingogriebsch.spring.hateoas.siren;
 import static com.google.common.collect.Lists.newArrayList;
 import static de.ingogriebsch.spring.hateoas.siren.TypeMapping.typeMapping;
 import static lombok.AccessLevel.PACKAGE;
+import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.NonNull;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.mediatype.html.HtmlInputType;
@@ -42,6 +46,20 @@ public class SirenConfiguration {
     private List<TypeMapping> actionFieldTypeMappings = newArrayList();
     private Consumer<ObjectMapper> objectMapperCustomizer = objectMapper -> {
     };
+    private int dataBufferChunkSize = 8192;
+    private int flushAfterEntities = 0;
+    private int flushAfterBytes = 0;
+    private int parallelSerializationThreshold = 0;
+    private ForkJoinPool parallelSerializationPool = ForkJoinPool.commonPool();
+    private int parallelDeserializationThreshold = 0;
+    private ForkJoinPool parallelDeserializationPool = ForkJoinPool.commonPool();
+    private boolean lazyEntityBindingEnabled = false;
+    private boolean repeatedEntityMemoizationEnabled = false;
+    private SirenMetrics metrics = SirenMetrics.NOOP;
+    private boolean warmUpEnabled = false;
+    private int warmUpIterations = 0;
+    private int titleCacheSize = 0;
+    private Duration titleCacheExpiry = Duration.ZERO;
 
     /**
      * Configures whether it is possible to subclass {@link EntityModel}s and {@link CollectionModel}s.
@@ -100,4 +118,227 @@ public class SirenConfiguration {
         this.objectMapperCustomizer = objectMapperCustomizer;
         return this;
     }
+
+    /**
+     * Configures the size of the chunks that are allocated from the {@link DataBufferFactory} of the response if a Siren entity
+     * is written in a reactive (WebFlux based) environment. The entity is written directly into these chunks without being
+     * collected in an intermediate heap buffer. Defaults to {@literal 8192} bytes.
+     *
+     * @param chunkSize the size (in bytes) of the data buffers the Siren entity is written into. Must be greater than zero.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withDataBufferChunkSize(int chunkSize) {
+        isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+        dataBufferChunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Configures after how many entities of the top level {@literal entities} array the response is flushed if a Siren entity is
+     * written in a servlet (WebMvc) based environment. This allows the client to receive the first bytes of large collections
+     * before the whole Siren entity is serialized. Defaults to {@literal 0} which disables flushing after entities.
+     *
+     * @param entities the amount of entities after which the response is flushed. Must not be negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withFlushAfterEntities(int entities) {
+        isTrue(entities >= 0, "Entities must not be negative!");
+        flushAfterEntities = entities;
+        return this;
+    }
+
+    /**
+     * Configures after how many written bytes the response is flushed if a Siren entity is written in a servlet (WebMvc) based
+     * environment. Because the bytes are handed over to the response in blocks, the response is flushed with the first block
+     * that exceeds the given amount. Defaults to {@literal 0} which disables flushing after bytes.
+     *
+     * @param bytes the amount of bytes after which the response is flushed. Must not be negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withFlushAfterBytes(int bytes) {
+        isTrue(bytes >= 0, "Bytes must not be negative!");
+        flushAfterBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Configures the amount of entities a {@link CollectionModel} (or a {@link org.springframework.hateoas.PagedModel}) must at
+     * least contain so that the contained entities are serialized in parallel. The entities are split into chunks which are
+     * serialized independently and concatenated afterwards in the original order. The parallel serialization is only applied if
+     * the output is not pretty printed. Defaults to {@literal 0} which disables the parallel serialization.
+     *
+     * @param threshold the amount of entities a collection must at least contain to be serialized in parallel. Must not be
+     *        negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withParallelSerializationThreshold(int threshold) {
+        isTrue(threshold >= 0, "Threshold must not be negative!");
+        parallelSerializationThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Configures the {@link ForkJoinPool} which is used to serialize the entities of a collection in parallel. Defaults to the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param pool the pool which is used to serialize the entities of a collection in parallel.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see #withParallelSerializationThreshold(int)
+     */
+    public SirenConfiguration withParallelSerializationPool(@NonNull ForkJoinPool pool) {
+        parallelSerializationPool = pool;
+        return this;
+    }
+
+    /**
+     * Configures the amount of entities of the {@literal entities} array of the root Siren entity which are deserialized while
+     * they are read. If enabled, the entities beyond that amount are buffered and bound to their target type in chunks which
+     * are processed independently. The order of the entities is preserved. Defaults to {@literal 0} which disables the parallel
+     * deserialization.
+     *
+     * @param threshold the amount of entities which are deserialized while they are read before the remaining entities are
+     *        deserialized in parallel. Must not be negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withParallelDeserializationThreshold(int threshold) {
+        isTrue(threshold >= 0, "Threshold must not be negative!");
+        parallelDeserializationThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Configures the {@link ForkJoinPool} which is used to deserialize the entities of a Siren entity in parallel. Defaults to
+     * the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param pool the pool which is used to deserialize the entities of a Siren entity in parallel.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see #withParallelDeserializationThreshold(int)
+     */
+    public SirenConfiguration withParallelDeserializationPool(@NonNull ForkJoinPool pool) {
+        parallelDeserializationPool = pool;
+        return this;
+    }
+
+    /**
+     * Configures whether the entities of a Siren entity which is deserialized into a {@link CollectionModel} are bound lazily.
+     * If enabled, each entity is only buffered during the deserialization and bound to its target type when it is accessed for
+     * the first time. This only applies if the target type is a {@link CollectionModel} itself (and not a subclass of it), and
+     * the configured {@link CollectionModelFactory} is bypassed in this case. Defaults to {@literal false}.
+     *
+     * @param enabled whether the entities of a {@link CollectionModel} should be bound lazily or not.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withLazyEntityBindingEnabled(boolean enabled) {
+        lazyEntityBindingEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Configures whether a {@link org.springframework.hateoas.RepresentationModel} instance which is contained several times in
+     * the same Siren entity is only serialized once. The instance is serialized as usual on its first occurrence and rendered
+     * once on its second occurrence, all further occurrences are written from that rendering. Only their {@literal rel} is
+     * evaluated for each occurrence. The memoization is only applied if the output is not pretty printed and if neither the
+     * {@link SirenEntityClassProvider} nor the {@link SirenEntityRelProvider} overrides {@literal getWithContext(..)}, because
+     * the classes and rels of the nested entities would depend on where the instance occurs otherwise. Defaults to
+     * {@literal false}.
+     *
+     * @param enabled whether repeated entities should only be serialized once or not.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     */
+    public SirenConfiguration withRepeatedEntityMemoizationEnabled(boolean enabled) {
+        repeatedEntityMemoizationEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Configures the {@link SirenMetrics} the metrics of the serialization and deserialization of Siren entities are recorded
+     * through, e.g. the time needed to serialize a model of a specific type or the amount of entities, links and actions
+     * contained in a Siren entity. Defaults to {@link SirenMetrics#NOOP} which records nothing.
+     *
+     * @param metrics the metrics the serialization and deserialization is recorded through.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see MicrometerSirenMetrics
+     */
+    public SirenConfiguration withMetrics(@NonNull SirenMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Configures whether the Siren support is warmed up once the application context is refreshed. If enabled, the return types
+     * of the request mappings of the web stack are scanned for {@link org.springframework.hateoas.RepresentationModel}s, the
+     * serializers and deserializers of these types are resolved and the titles of the corresponding Siren entities are resolved.
+     * The resolved titles are only kept if the titles are cached (see {@link #withTitleCacheSize(int)}). Defaults to
+     * {@literal false}.
+     *
+     * @param enabled whether the Siren support should be warmed up or not.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see #withWarmUpIterations(int)
+     * @see #withTitleCacheSize(int)
+     */
+    public SirenConfiguration withWarmUpEnabled(boolean enabled) {
+        warmUpEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Configures how many synthetic serializations and deserializations are executed for each model type found during the
+     * warm-up, so that the hot paths are already compiled when the first requests arrive. Only types which can be instantiated
+     * without further knowledge (e.g. through a default constructor) are considered. Defaults to {@literal 0} which disables the
+     * synthetic serializations.
+     *
+     * @param iterations the amount of synthetic serializations per type. Must not be negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see #withWarmUpEnabled(boolean)
+     */
+    public SirenConfiguration withWarmUpIterations(int iterations) {
+        isTrue(iterations >= 0, "Iterations must not be negative!");
+        warmUpIterations = iterations;
+        return this;
+    }
+
+    /**
+     * Configures how many resolved titles of Siren entities are cached. The titles are cached per type and locale, the least
+     * recently used titles are evicted once the size is reached. Because the locale is usually chosen by the client, the size
+     * bounds the memory the cache occupies independent of the requested locales. Defaults to {@literal 0} which disables the
+     * cache.
+     *
+     * @param size the maximum amount of cached titles. Must not be negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see #withTitleCacheExpiry(Duration)
+     */
+    public SirenConfiguration withTitleCacheSize(int size) {
+        isTrue(size >= 0, "Size must not be negative!");
+        titleCacheSize = size;
+        return this;
+    }
+
+    /**
+     * Configures how long a resolved title of a Siren entity is cached. If the titles are resolved through a reloadable
+     * {@link org.springframework.context.MessageSource}, the expiry should match its reload interval, so that changes of the
+     * messages are reflected afterwards. Defaults to {@link Duration#ZERO} which means that the cached titles never expire.
+     *
+     * @param expiry the duration a title is cached. Must not be {@literal null} or negative.
+     * @return the updated configuration reflecting the setting
+     * @since 1.4.0
+     * @see #withTitleCacheSize(int)
+     */
+    public SirenConfiguration withTitleCacheExpiry(@NonNull Duration expiry) {
+        isTrue(!expiry.isNegative(), "Expiry must not be negative!");
+        titleCacheExpiry = expiry;
+        return this;
+    }
 }
@@ -0,0 +1,78 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+
+/**
+ * Flight recorder event which is emitted for the deserialization of a Siren entity into a
+ * {@link org.springframework.hateoas.RepresentationModel}. Only the root of a deserialization is recorded, the nested entities
+ * are part of it. Disabled by default, the event is only created if it is enabled.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see AbstractSirenDeserializer
+ */
+@Category({ "Spring HATEOAS", "Siren" })
+@Description("Deserialization of a Siren entity into a model")
+@Enabled(false)
+@Label("Siren Deserialize")
+@Name("de.ingogriebsch.spring.hateoas.siren.SirenDeserialize")
+@StackTrace(false)
+class SirenDeserializeEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(SirenDeserializeEvent.class);
+
+    @Label("Model Class")
+    Class<?> modelClass;
+
+    @Label("Entities")
+    int entities;
+
+    @Label("Links")
+    int links;
+
+    @Label("Actions")
+    int actions;
+
+    @DataAmount
+    @Description("The amount of bytes (or characters if read from a character based source) the Siren entity consists of")
+    @Label("Size")
+    long size;
+
+    /**
+     * @return the begun event or {@literal null} if the event is not enabled in any running recording.
+     */
+    @Nullable
+    static SirenDeserializeEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+
+        SirenDeserializeEvent event = new SirenDeserializeEvent();
+        event.begin();
+        return event;
+    }
+}
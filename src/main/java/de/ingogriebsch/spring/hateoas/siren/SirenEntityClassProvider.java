@@ -54,4 +54,19 @@ public interface SirenEntityClassProvider {
             uncapitalize(substringBeforeLast(getRepresentationModelClass(model.getClass()).getSimpleName(), "Model")));
     }
 
+    /**
+     * Returns the class(es) explaining the nature of the content of a Siren entity.
+     * <p>
+     * In contrast to {@link #get(RepresentationModel)} the given {@literal context} provides all ancestors of the model. The
+     * default implementation delegates to {@link #get(RepresentationModel)}.
+     *
+     * @param model the {@link RepresentationModel} that is transfered into a Siren entity. Is never {@literal null}.
+     * @param context the context of the current serialization. Is never {@literal null}.
+     * @return the classes explaining the nature of the content of a Siren entity.
+     * @since 1.4.0
+     */
+    default List<String> getWithContext(@NonNull RepresentationModel<?> model, @NonNull SirenSerializationContext context) {
+        return get(model);
+    }
+
 }
@@ -0,0 +1,58 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * A serializer which is able to convert a representation model related object into a {@link SirenEntity} without writing it.
+ * Allows the {@link SirenEntityTreeWriter} to write nested entities without descending into the serializers of the entities.
+ *
+ * @param <T> the type of the object that is converted.
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenEntityTreeWriter
+ */
+interface SirenEntityConverter<T> {
+
+    /**
+     * Converts the given model into a {@link SirenEntity}.
+     *
+     * @param model the model that should be converted.
+     * @param context the context of the current serialization, not containing the model yet.
+     * @param gen the generator the Siren entity will be written into.
+     * @param provider the provider that is used to serialize the Siren entity.
+     * @return the Siren entity of the given model.
+     * @throws IOException if the conversion of the model fails.
+     */
+    SirenEntity toSirenEntity(T model, SirenSerializationContext context, JsonGenerator gen, SerializerProvider provider)
+        throws IOException;
+
+    /**
+     * Evaluates the relations of the given model to its parent, the same way they are evaluated while converting the model.
+     *
+     * @param model the model whose relations should be evaluated.
+     * @param context the context of the current serialization, not containing the model yet.
+     * @return the relations of the given model.
+     */
+    List<LinkRelation> rels(RepresentationModel<?> model, SirenSerializationContext context);
+}
@@ -0,0 +1,84 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Value;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.lang.Nullable;
+
+/**
+ * Remembers the renderings of the {@link RepresentationModel}s which are contained several times in the same Siren entity. The
+ * models are identified by their identity, so only the very same instance is rendered once.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenConfiguration#withRepeatedEntityMemoizationEnabled(boolean)
+ */
+class SirenEntityMemo {
+
+    private final Map<RepresentationModel<?>, Rendering> renderings = new IdentityHashMap<>();
+    // The models which occurred once and were not rendered yet. A model is rendered on its second occurrence, because
+    // rendering a model that occurs only once would cost more than writing it.
+    private final Set<RepresentationModel<?>> occurred = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param model the model whose rendering is requested.
+     * @return the rendering of the given model or {@literal null} if the model was not rendered yet.
+     */
+    @Nullable
+    Rendering get(RepresentationModel<?> model) {
+        return renderings.get(model);
+    }
+
+    /**
+     * Registers an occurrence of the given model.
+     *
+     * @param model the model that occurs.
+     * @return {@literal true} if the model should be rendered on this occurrence (the second one), {@literal false} otherwise.
+     */
+    boolean occurred(RepresentationModel<?> model) {
+        if (occurred.add(model)) {
+            return false;
+        }
+        occurred.remove(model);
+        return true;
+    }
+
+    void put(RepresentationModel<?> model, Rendering rendering) {
+        renderings.put(model, rendering);
+    }
+
+    /**
+     * The rendering of a model. The classes are written as usual, the rels are evaluated for each occurrence.
+     */
+    @Value
+    static class Rendering {
+
+        List<String> classes;
+        // The serialized properties, entities, links, actions and title, without the enclosing braces.
+        String body;
+        // The amount of nested entities, links and actions contained in the body.
+        int entities;
+        int links;
+        int actions;
+    }
+}
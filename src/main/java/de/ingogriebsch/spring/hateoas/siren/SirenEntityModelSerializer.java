@@ -36,15 +36,15 @@ import org.springframework.lang.Nullable;
  * @since 1.0.0
  * @see EntityModel
  */
-class SirenEntityModelSerializer extends AbstractSirenSerializer<EntityModel<?>> {
+class SirenEntityModelSerializer extends AbstractSirenSerializer<EntityModel<?>> implements SirenEntityConverter<EntityModel<?>> {
 
     private static final long serialVersionUID = 2893716845519287714L;
 
-    SirenEntityModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+    SirenEntityModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
         this(configuration, serializerFacilities, null);
     }
 
-    SirenEntityModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenEntityModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         @Nullable BeanProperty property) {
         super(EntityModel.class, configuration, serializerFacilities, property);
     }
@@ -56,28 +56,25 @@ class SirenEntityModelSerializer extends AbstractSirenSerializer<EntityModel<?>>
 
     @Override
     public void serialize(EntityModel<?> model, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        serialize(model, this, gen, provider);
+    }
+
+    @Override
+    public SirenEntity toSirenEntity(EntityModel<?> model, SirenSerializationContext context, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
         assertSubclassingIsEnabledIfModelIsSubclassed(model);
 
         SirenNavigables navigables = getLinkConverter().to(model.getLinks());
 
-        SirenEntity sirenEntity = SirenEntity.builder() //
+        return SirenEntity.builder() //
             .actions(navigables.getActions()) //
-            .classes(classes(model)) //
+            .classes(classes(model, context)) //
             .links(navigables.getLinks()) //
             .entities(entities(model)) //
             .properties(properties(model)) //
-            .rels(rels(model, provider)) //
+            .rels(rels(model, context)) //
             .title(title(model)) //
             .build();
-
-        JsonSerializer<Object> serializer = provider.findValueSerializer(SirenEntity.class, property);
-
-        Object parent = setAttribute(ATTR_KEY_PARENT, model, provider);
-        try {
-            serializer.serialize(sirenEntity, gen, provider);
-        } finally {
-            setAttribute(ATTR_KEY_PARENT, parent, provider);
-        }
     }
 
     private void assertSubclassingIsEnabledIfModelIsSubclassed(EntityModel<?> model) {
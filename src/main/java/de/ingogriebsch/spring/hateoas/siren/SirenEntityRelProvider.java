@@ -53,4 +53,20 @@ public interface SirenEntityRelProvider {
     default List<LinkRelation> get(@NonNull RepresentationModel<?> model, @Nullable RepresentationModel<?> parent) {
         return parent != null ? newArrayList(ITEM) : newArrayList();
     }
+
+    /**
+     * Returns the {@link IanaLinkRelations relations} explaining the relationship between the model and it's parent.
+     * <p>
+     * In contrast to {@link #get(RepresentationModel, RepresentationModel)} the given {@literal context} provides all ancestors
+     * of the model. The default implementation delegates to {@link #get(RepresentationModel, RepresentationModel)} with the
+     * parent of the model.
+     *
+     * @param model the {@link RepresentationModel} that is transfered into a Siren entity. Is never {@literal null}.
+     * @param context the context of the current serialization. Is never {@literal null}.
+     * @return the {@link IanaLinkRelations relations} explaining the relationship between the model and it's parent.
+     * @since 1.4.0
+     */
+    default List<LinkRelation> getWithContext(@NonNull RepresentationModel<?> model, @NonNull SirenSerializationContext context) {
+        return get(model, context.getParent());
+    }
 }
@@ -0,0 +1,341 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.emptyIterator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import de.ingogriebsch.spring.hateoas.siren.SirenModel.EmbeddedRepresentation;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes a {@link SirenEntity} and all of its nested entities. Instead of descending into the serializer of each nested entity
+ * (and so growing the call stack with each level of nesting), the nested entities are converted through their
+ * {@link SirenEntityConverter} and written through an explicit stack of frames. So the depth of the written tree is only limited
+ * by the available heap.
+ * <p>
+ * Nested entities which are not serialized through a {@link SirenEntityConverter} (e.g. the chunks of the parallel
+ * serialization) are written through the {@link SerializerProvider} as before. The written output is identical to the output
+ * of serializing the {@link SirenEntity} as a bean. Instances of this class are not thread-safe.
+ * <p>
+ * If a {@link SirenEntityMemo} is given, a model which occurs several times is rendered once (on its second occurrence) and
+ * all further occurrences are written from that rendering.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenEntityConverter
+ * @see SirenEntityMemo
+ */
+class SirenEntityTreeWriter {
+
+    private static final Object END = new Object();
+
+    private final SirenSerializationContext context;
+    private final JsonGenerator gen;
+    private final SerializerProvider provider;
+    private final BeanProperty property;
+    private final SirenEntityMemo memo;
+
+    // The frames are reused for each entity on the same level, so descending into a nested entity does not allocate a frame.
+    private Frame[] frames = new Frame[8];
+    private int depth = -1;
+    private int entities;
+    private int links;
+    private int actions;
+
+    SirenEntityTreeWriter(SirenSerializationContext context, JsonGenerator gen, SerializerProvider provider,
+        @Nullable BeanProperty property, @Nullable SirenEntityMemo memo) {
+        this.context = context;
+        this.gen = gen;
+        this.provider = provider;
+        this.property = property;
+        this.memo = memo;
+    }
+
+    /**
+     * @return the amount of nested entities written so far.
+     */
+    int getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the amount of links written so far.
+     */
+    int getLinks() {
+        return links;
+    }
+
+    /**
+     * @return the amount of actions written so far.
+     */
+    int getActions() {
+        return actions;
+    }
+
+    /**
+     * Writes the given Siren entity and all of its nested entities.
+     *
+     * @param sirenEntity the Siren entity that should be written.
+     * @param model the model the Siren entity is based on.
+     * @throws IOException if the Siren entity or one of its nested entities could not be written.
+     */
+    void write(SirenEntity sirenEntity, RepresentationModel<?> model) throws IOException {
+        try {
+            open(sirenEntity, model);
+            while (depth >= 0) {
+                Object entity = frames[depth].next();
+                if (entity == END) {
+                    close();
+                } else {
+                    writeEntity(entity);
+                }
+            }
+        } finally {
+            // Only reached with open frames if writing failed, the cursors of the open frames need to be closed nonetheless.
+            while (depth >= 0) {
+                context.pop();
+                frames[depth--].closeCursors();
+            }
+        }
+    }
+
+    private void writeEntity(Object entity) throws IOException {
+        if (entity instanceof SirenEntity) {
+            // Already converted (e.g. the items of a slice), so it has no nested entities which need to be descended into.
+            SirenEntity sirenEntity = (SirenEntity) entity;
+            entities++;
+            links += sirenEntity.getLinks().size();
+            actions += sirenEntity.getActions().size();
+            provider.defaultSerializeValue(sirenEntity, gen);
+            return;
+        }
+
+        RepresentationModel<?> model = entity instanceof EmbeddedRepresentation ? ((EmbeddedRepresentation) entity).getModel()
+            : entity instanceof RepresentationModel ? (RepresentationModel<?>) entity : null;
+        JsonSerializer<Object> serializer = model != null ? provider.findValueSerializer(model.getClass(), property) : null;
+        if (!(serializer instanceof SirenEntityConverter)) {
+            provider.defaultSerializeValue(entity, gen);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        SirenEntityConverter<Object> converter = (SirenEntityConverter<Object>) serializer;
+        List<LinkRelation> rels = entity instanceof EmbeddedRepresentation ? ((EmbeddedRepresentation) entity).getRels() : null;
+        if (memo == null) {
+            open(convert(converter, model, rels), model);
+            return;
+        }
+
+        SirenEntityMemo.Rendering rendering = memo.get(model);
+        if (rendering != null) {
+            write(rendering, rels != null ? rels : converter.rels(model, context), model);
+        } else if (memo.occurred(model)) {
+            SirenEntity sirenEntity = convert(converter, model, rels);
+            rendering = render(sirenEntity, model);
+            memo.put(model, rendering);
+            write(rendering, sirenEntity.getRels(), model);
+        } else {
+            open(convert(converter, model, rels), model);
+        }
+    }
+
+    private SirenEntity convert(SirenEntityConverter<Object> converter, RepresentationModel<?> model,
+        @Nullable List<LinkRelation> rels) throws IOException {
+        if (rels == null) {
+            return converter.toSirenEntity(model, context, gen, provider);
+        }
+
+        List<LinkRelation> former = context.setPendingRels(rels);
+        try {
+            return converter.toSirenEntity(model, context, gen, provider);
+        } finally {
+            context.setPendingRels(former);
+        }
+    }
+
+    private SirenEntityMemo.Rendering render(SirenEntity sirenEntity, RepresentationModel<?> model) throws IOException {
+        // The classes and rels are left out so that the rendering can be written with the rels of each occurrence.
+        SirenEntity body = SirenEntity.builder() //
+            .properties(sirenEntity.getProperties()) //
+            .entities(sirenEntity.getEntities()) //
+            .links(sirenEntity.getLinks()) //
+            .actions(sirenEntity.getActions()) //
+            .title(sirenEntity.getTitle()) //
+            .build();
+
+        StringWriter writer = new StringWriter();
+        SirenEntityTreeWriter bodyWriter;
+        try (JsonGenerator renderer = ((ObjectMapper) gen.getCodec()).getFactory().createGenerator(writer)) {
+            renderer.overrideStdFeatures(gen.getFeatureMask(), -1);
+            if (gen.getCharacterEscapes() != null) {
+                renderer.setCharacterEscapes(gen.getCharacterEscapes());
+            }
+            bodyWriter = new SirenEntityTreeWriter(context, renderer, provider, property, memo);
+            bodyWriter.write(body, model);
+        }
+
+        String rendered = writer.toString();
+        return new SirenEntityMemo.Rendering(sirenEntity.getClasses(), rendered.substring(1, rendered.length() - 1),
+            bodyWriter.entities, bodyWriter.links, bodyWriter.actions);
+    }
+
+    private void write(SirenEntityMemo.Rendering rendering, List<LinkRelation> rels, RepresentationModel<?> model)
+        throws IOException {
+        entities += 1 + rendering.getEntities();
+        links += rendering.getLinks();
+        actions += rendering.getActions();
+
+        gen.writeStartObject(model);
+        writeIfNotEmpty("class", rendering.getClasses());
+        writeIfNotEmpty("rel", rels);
+        if (!rendering.getBody().isEmpty()) {
+            if (!isEmpty(rendering.getClasses()) || !isEmpty(rels)) {
+                gen.writeRaw(',');
+            }
+            gen.writeRaw(rendering.getBody());
+        }
+        gen.writeEndObject();
+    }
+
+    private void open(SirenEntity sirenEntity, RepresentationModel<?> model) throws IOException {
+        if (++depth == frames.length) {
+            frames = copyOf(frames, frames.length * 2);
+        }
+        if (frames[depth] == null) {
+            frames[depth] = new Frame();
+        }
+        Frame frame = frames[depth];
+        frame.reset(sirenEntity);
+        context.push(model);
+
+        if (depth > 0) {
+            entities++;
+        }
+        links += sirenEntity.getLinks().size();
+        actions += sirenEntity.getActions().size();
+
+        gen.writeStartObject(sirenEntity);
+        writeIfNotEmpty("class", sirenEntity.getClasses());
+        writeIfNotEmpty("rel", sirenEntity.getRels());
+        writeIfNotNull("properties", sirenEntity.getProperties());
+        if (!isEmpty(sirenEntity.getEntities())) {
+            gen.writeArrayFieldStart("entities");
+            frame.entities = sirenEntity.getEntities().iterator();
+        }
+    }
+
+    private void close() throws IOException {
+        Frame frame = frames[depth];
+        SirenEntity sirenEntity = frame.sirenEntity;
+        if (frame.entities != null) {
+            gen.writeEndArray();
+        }
+        writeIfNotEmpty("links", sirenEntity.getLinks());
+        writeIfNotEmpty("actions", sirenEntity.getActions());
+        writeIfNotNull("title", sirenEntity.getTitle());
+        gen.writeEndObject();
+
+        context.pop();
+        depth--;
+        frame.closeCursors();
+        frame.reset(null);
+    }
+
+    private void writeIfNotEmpty(String name, Collection<?> value) throws IOException {
+        if (!isEmpty(value)) {
+            provider.defaultSerializeField(name, value, gen);
+        }
+    }
+
+    private void writeIfNotNull(String name, Object value) throws IOException {
+        if (value != null) {
+            provider.defaultSerializeField(name, value, gen);
+        }
+    }
+
+    private static boolean isEmpty(Collection<?> value) {
+        return value == null || value.isEmpty();
+    }
+
+    /**
+     * Entities which are pulled one after the other while the Siren entity that contains them is written. A cursor is contained
+     * in the entities of a Siren entity in place of the entities it provides and is closed after the Siren entity was written.
+     *
+     * @see StreamedEntities.Cursor
+     */
+    interface Cursor extends Iterator<Object> {
+
+        void close();
+    }
+
+    private static class Frame {
+
+        private SirenEntity sirenEntity;
+        private Iterator<?> entities;
+        private Iterator<?> cursor;
+
+        void reset(SirenEntity sirenEntity) {
+            this.sirenEntity = sirenEntity;
+            entities = null;
+            cursor = emptyIterator();
+        }
+
+        /**
+         * @return the next nested entity of the Siren entity or {@link SirenEntityTreeWriter#END} if there is none. The
+         *         entities of a {@link Cursor} are returned in place of the cursor.
+         */
+        Object next() {
+            if (cursor.hasNext()) {
+                return cursor.next();
+            }
+            while (entities != null && entities.hasNext()) {
+                Object entity = entities.next();
+                if (!(entity instanceof Cursor)) {
+                    return entity;
+                }
+                cursor = (Cursor) entity;
+                if (cursor.hasNext()) {
+                    return cursor.next();
+                }
+            }
+            return END;
+        }
+
+        void closeCursors() {
+            if (sirenEntity != null) {
+                for (Object entity : sirenEntity.getEntities()) {
+                    if (entity instanceof Cursor) {
+                        ((Cursor) entity).close();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.DeserializationConfig;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
 import com.fasterxml.jackson.databind.cfg.MapperConfig;
@@ -43,14 +44,16 @@ import org.springframework.lang.Nullable;
 class SirenHandlerInstantiator extends HandlerInstantiator {
 
     private final Map<Class<?>, Object> serializers = new HashMap<>();
+    private final SirenSerializerFacilities serializerFacilities;
+    private final SirenDeserializerFacilities deserializerFacilities;
     private final AutowireCapableBeanFactory beanFactory;
 
-    SirenHandlerInstantiator(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenHandlerInstantiator(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         SirenDeserializerFacilities deserializerFacilities) {
         this(configuration, serializerFacilities, deserializerFacilities, null);
     }
 
-    SirenHandlerInstantiator(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenHandlerInstantiator(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         SirenDeserializerFacilities deserializerFacilities, @Nullable AutowireCapableBeanFactory beanFactory) {
 
         serializers.put(SirenRepresentationModelSerializer.class,
@@ -71,13 +74,40 @@ class SirenHandlerInstantiator extends HandlerInstantiator {
         serializers.put(SirenPagedModelDeserializer.class,
             new SirenPagedModelDeserializer(configuration, deserializerFacilities));
 
+        serializers.put(SirenSliceModelSerializer.class, new SirenSliceModelSerializer(configuration, serializerFacilities));
+
         serializers.put(SirenModelSerializer.class, new SirenModelSerializer(configuration, serializerFacilities));
         serializers.put(SirenModelSerializer.EmbeddedRepresentationSerializer.class,
             new SirenModelSerializer.EmbeddedRepresentationSerializer(configuration, serializerFacilities));
 
+        this.serializerFacilities = serializerFacilities;
+        this.deserializerFacilities = deserializerFacilities;
         this.beanFactory = beanFactory;
     }
 
+    /**
+     * Returns the {@link SirenHandlerInstantiator} the given {@link ObjectMapper} is configured with.
+     *
+     * @param objectMapper the mapper whose handler instantiator should be returned.
+     * @return the {@link SirenHandlerInstantiator} the given mapper is configured with.
+     * @throws IllegalArgumentException if the given mapper is not configured to handle Siren entities.
+     */
+    static SirenHandlerInstantiator from(ObjectMapper objectMapper) {
+        HandlerInstantiator handlerInstantiator = objectMapper.getDeserializationConfig().getHandlerInstantiator();
+        if (!(handlerInstantiator instanceof SirenHandlerInstantiator)) {
+            throw new IllegalArgumentException("The given object mapper is not configured to handle Siren entities!");
+        }
+        return (SirenHandlerInstantiator) handlerInstantiator;
+    }
+
+    SirenSerializerFacilities getSerializerFacilities() {
+        return serializerFacilities;
+    }
+
+    SirenDeserializerFacilities getDeserializerFacilities() {
+        return deserializerFacilities;
+    }
+
     /*
      * (non-Javadoc)
      * @see com.fasterxml.jackson.databind.cfg.HandlerInstantiator#deserializerInstance()
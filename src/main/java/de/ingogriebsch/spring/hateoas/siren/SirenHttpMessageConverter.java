@@ -0,0 +1,247 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+/**
+ * {@link MappingJackson2HttpMessageConverter} implementation which writes {@link RepresentationModel}s as Siren entities
+ * directly through to the output stream of the response.
+ * <p>
+ * In contrast to the default implementation the response is flushed after every {@literal N} entities which are contained in
+ * the top level {@literal entities} array and/or after every {@literal K} bytes. This allows the client to receive the first
+ * bytes of the response before the whole Siren entity is serialized. The converter is only used for writing, reading a Siren
+ * entity is still handled through the default converter.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see MappingJackson2HttpMessageConverter
+ */
+class SirenHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int flushAfterEntities;
+    private final int flushAfterBytes;
+    private final SirenMetrics metrics;
+
+    SirenHttpMessageConverter(ObjectMapper objectMapper, int flushAfterEntities, int flushAfterBytes) {
+        this(objectMapper, flushAfterEntities, flushAfterBytes, SirenMetrics.NOOP);
+    }
+
+    SirenHttpMessageConverter(ObjectMapper objectMapper, int flushAfterEntities, int flushAfterBytes, SirenMetrics metrics) {
+        super(objectMapper);
+        setSupportedMediaTypes(newArrayList(SIREN_JSON));
+        this.flushAfterEntities = flushAfterEntities;
+        this.flushAfterBytes = flushAfterBytes;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        // Only take over if Siren is explicitly negotiated so that the media type selection stays untouched.
+        return mediaType != null && RepresentationModel.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        JsonEncoding encoding = getJsonEncoding(contentType);
+        ObjectMapper objectMapper = getObjectMapper();
+
+        FlushingOutputStream outputStream =
+            new FlushingOutputStream(StreamUtils.nonClosing(outputMessage.getBody()), flushAfterBytes);
+        try (JsonGenerator generator = generator(objectMapper.getFactory().createGenerator(outputStream, encoding))) {
+            writePrefix(generator, object);
+
+            Object value = object;
+            Class<?> serializationView = null;
+            FilterProvider filters = null;
+            if (object instanceof MappingJacksonValue) {
+                MappingJacksonValue container = (MappingJacksonValue) object;
+                value = container.getValue();
+                serializationView = container.getSerializationView();
+                filters = container.getFilters();
+            }
+
+            ObjectWriter objectWriter =
+                serializationView != null ? objectMapper.writerWithView(serializationView) : objectMapper.writer();
+            if (filters != null) {
+                objectWriter = objectWriter.with(filters);
+            }
+            if (type != null && TypeUtils.isAssignable(type, value.getClass())) {
+                JavaType javaType = getJavaType(type, null);
+                if (javaType.isContainerType()) {
+                    objectWriter = objectWriter.forType(javaType);
+                }
+            }
+            objectWriter.writeValue(generator, value);
+
+            writeSuffix(generator, object);
+            generator.flush();
+            metrics.written(value.getClass(), outputStream.getTotal());
+        } catch (InvalidDefinitionException e) {
+            throw new HttpMessageConversionException("Type definition error: " + e.getType(), e);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private JsonGenerator generator(JsonGenerator generator) {
+        return flushAfterEntities > 0 ? new EntityFlushingJsonGenerator(generator, flushAfterEntities) : generator;
+    }
+
+    /**
+     * {@link OutputStream} which flushes the underlying stream each time the given amount of bytes is written through it. A
+     * threshold of {@literal 0} disables the flushing. Counts the bytes written through it in total.
+     */
+    private static class FlushingOutputStream extends FilterOutputStream {
+
+        private final int threshold;
+        private int written;
+        private long total;
+
+        FlushingOutputStream(OutputStream out, int threshold) {
+            super(out);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            written = 0;
+            out.flush();
+        }
+
+        long getTotal() {
+            return total;
+        }
+
+        private void written(int count) throws IOException {
+            total += count;
+            written += count;
+            if (threshold > 0 && written >= threshold) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * {@link JsonGenerator} which flushes each time the given amount of entities is written into the top level
+     * {@literal entities} array of the Siren entity.
+     */
+    private static class EntityFlushingJsonGenerator extends JsonGeneratorDelegate {
+
+        private final int threshold;
+        private int written;
+
+        EntityFlushingJsonGenerator(JsonGenerator delegate, int threshold) {
+            super(delegate);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            super.writeEndObject();
+            written();
+        }
+
+        // The entities of a parallel serialization are written as raw values, one per entity.
+        @Override
+        public void writeRawValue(String text) throws IOException {
+            super.writeRawValue(text);
+            written();
+        }
+
+        @Override
+        public void writeRawValue(String text, int offset, int len) throws IOException {
+            super.writeRawValue(text, offset, len);
+            written();
+        }
+
+        @Override
+        public void writeRawValue(char[] text, int offset, int len) throws IOException {
+            super.writeRawValue(text, offset, len);
+            written();
+        }
+
+        private void written() throws IOException {
+            if (isTopLevelEntity(getOutputContext()) && ++written % threshold == 0) {
+                flush();
+            }
+        }
+
+        private static boolean isTopLevelEntity(JsonStreamContext context) {
+            if (!context.inArray()) {
+                return false;
+            }
+
+            JsonStreamContext parent = context.getParent();
+            return parent.inObject() && parent.getParent().inRoot() && "entities".equals(parent.getCurrentName());
+        }
+    }
+}
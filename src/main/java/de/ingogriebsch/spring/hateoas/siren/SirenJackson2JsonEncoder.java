@@ -0,0 +1,155 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static org.springframework.http.codec.json.Jackson2CodecSupport.JSON_VIEW_HINT;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link Jackson2JsonEncoder} implementation which encodes {@link RepresentationModel}s into Siren entities.
+ * <p>
+ * In contrast to the default implementation the Siren entity is written directly into {@link DataBuffer}s obtained from the
+ * {@link DataBufferFactory} of the response (chunked at the configured size) instead of being collected in a heap based byte
+ * array which is copied into the response buffer afterwards.
+ * <p>
+ * If a {@link SirenModel} has properties or entities which are completed asynchronously, the encoding is deferred until all of
+ * them are completed. The stages are awaited concurrently and without blocking.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see Jackson2JsonEncoder
+ * @see DataBufferOutputStream
+ */
+class SirenJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private final int chunkSize;
+    private final SirenMetrics metrics;
+
+    SirenJackson2JsonEncoder(ObjectMapper mapper, int chunkSize) {
+        this(mapper, chunkSize, SirenMetrics.NOOP);
+    }
+
+    SirenJackson2JsonEncoder(ObjectMapper mapper, int chunkSize, SirenMetrics metrics) {
+        super(mapper, SIREN_JSON);
+        this.chunkSize = chunkSize;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return RepresentationModel.class.isAssignableFrom(elementType.toClass()) && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+        @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        // The input stream is only adapted to keep its nature, the default implementation encodes a Mono differently.
+        Publisher<?> completed = inputStream instanceof Mono ? Mono.from(inputStream).flatMap(SirenJackson2JsonEncoder::completed)
+            : Flux.from(inputStream).concatMap(SirenJackson2JsonEncoder::completed);
+        return super.encode(completed, bufferFactory, elementType, mimeType, hints);
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+        @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        Class<?> jsonView = hints != null ? (Class<?>) hints.get(JSON_VIEW_HINT) : null;
+        if (value instanceof MappingJacksonValue) {
+            MappingJacksonValue container = (MappingJacksonValue) value;
+            value = container.getValue();
+            valueType = ResolvableType.forInstance(value);
+            jsonView = container.getSerializationView();
+        }
+
+        ObjectMapper mapper = getObjectMapper();
+        ObjectWriter writer = writer(mapper, valueType, mimeType, jsonView, hints);
+        JsonEncoding encoding = getJsonEncoding(mimeType);
+
+        DataBufferOutputStream outputStream = new DataBufferOutputStream(bufferFactory, chunkSize);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, encoding)) {
+            writer.writeValue(generator, value);
+            generator.flush();
+        } catch (InvalidDefinitionException e) {
+            outputStream.release();
+            throw new CodecException("Type definition error: " + e.getType(), e);
+        } catch (JsonProcessingException e) {
+            outputStream.release();
+            throw new EncodingException("JSON encoding error: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            outputStream.release();
+            throw new IllegalStateException("Unexpected I/O error while writing to data buffer", e);
+        } catch (RuntimeException | Error e) {
+            // E.g. the buffer factory refuses to allocate further buffers, the ones allocated so far must not leak.
+            outputStream.release();
+            throw e;
+        }
+
+        DataBuffer buffer = outputStream.toDataBuffer();
+        metrics.written(value.getClass(), buffer.readableByteCount());
+        Hints.touchDataBuffer(buffer, hints, logger);
+        return buffer;
+    }
+
+    private static Mono<Object> completed(Object value) {
+        Object model = value instanceof MappingJacksonValue ? ((MappingJacksonValue) value).getValue() : value;
+        List<CompletableFuture<?>> stages = AsyncSirenModels.incompleteStages(model);
+        if (stages.isEmpty()) {
+            return Mono.just(value);
+        }
+
+        // The stages are awaited without blocking, completed stages may reveal further stages which have to be awaited as well.
+        return Mono.fromFuture(CompletableFuture.allOf(stages.toArray(new CompletableFuture<?>[0])))
+            .then(Mono.defer(() -> completed(value)));
+    }
+
+    private ObjectWriter writer(ObjectMapper mapper, ResolvableType valueType, @Nullable MimeType mimeType,
+        @Nullable Class<?> jsonView, @Nullable Map<String, Object> hints) {
+        ObjectWriter writer = jsonView != null ? mapper.writerWithView(jsonView) : mapper.writer();
+
+        JavaType javaType = getJavaType(valueType.getType(), null);
+        if (javaType.isContainerType()) {
+            writer = writer.forType(javaType);
+        }
+        return customizeWriter(writer, mimeType, valueType, hints);
+    }
+}
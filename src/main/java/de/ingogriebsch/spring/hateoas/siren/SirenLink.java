@@ -38,7 +38,7 @@ import org.springframework.hateoas.LinkRelation;
  * @since 1.0.0
  * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Link</a>
  */
-@Builder
+@Builder(toBuilder = true)
 @JsonPropertyOrder({ "rel", "class", "href", "title", "type" })
 @Value
 class SirenLink {
@@ -0,0 +1,65 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+
+/**
+ * Flight recorder event which is emitted for the conversion of the links of a model into Siren links and actions. Disabled
+ * by default, the event is only created if it is enabled.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenLinkConverter
+ */
+@Category({ "Spring HATEOAS", "Siren" })
+@Description("Conversion of links into Siren links and actions")
+@Enabled(false)
+@Label("Siren Link Conversion")
+@Name("de.ingogriebsch.spring.hateoas.siren.SirenLinkConversion")
+@StackTrace(false)
+class SirenLinkConversionEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(SirenLinkConversionEvent.class);
+
+    @Label("Links")
+    int links;
+
+    @Label("Actions")
+    int actions;
+
+    /**
+     * @return the begun event or {@literal null} if the event is not enabled in any running recording.
+     */
+    @Nullable
+    static SirenLinkConversionEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+
+        SirenLinkConversionEvent event = new SirenLinkConversionEvent();
+        event.begin();
+        return event;
+    }
+}
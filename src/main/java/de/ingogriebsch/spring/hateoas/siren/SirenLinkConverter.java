@@ -28,7 +28,6 @@ import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED;
 import java.util.List;
 
 import de.ingogriebsch.spring.hateoas.siren.SirenAction.Field;
-import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.hateoas.Affordance;
 import org.springframework.hateoas.AffordanceModel.InputPayloadMetadata;
@@ -47,14 +46,42 @@ import org.springframework.http.MediaType;
  * @since 1.0.0
  * @see SirenLink
  */
-@RequiredArgsConstructor
 class SirenLinkConverter {
 
     private final MessageResolver messageResolver;
     private final SirenActionFieldTypeConverter sirenActionFieldTypeConverter;
+    private final SirenMetrics metrics;
+
+    SirenLinkConverter(MessageResolver messageResolver, SirenActionFieldTypeConverter sirenActionFieldTypeConverter) {
+        this(messageResolver, sirenActionFieldTypeConverter, SirenMetrics.NOOP);
+    }
+
+    SirenLinkConverter(MessageResolver messageResolver, SirenActionFieldTypeConverter sirenActionFieldTypeConverter,
+        SirenMetrics metrics) {
+        this.messageResolver = messageResolver;
+        this.sirenActionFieldTypeConverter = sirenActionFieldTypeConverter;
+        this.metrics = metrics;
+    }
+
+    SirenMetrics getMetrics() {
+        return metrics;
+    }
 
     SirenNavigables to(Iterable<Link> links) {
-        return SirenNavigables.merge(stream(links.spliterator(), false).map(this::convert).collect(toList()));
+        long start = metrics.start();
+        SirenLinkConversionEvent event = SirenLinkConversionEvent.beginIfEnabled();
+        try {
+            SirenNavigables navigables =
+                SirenNavigables.merge(stream(links.spliterator(), false).map(this::convert).collect(toList()));
+            if (event != null && event.shouldCommit()) {
+                event.links = navigables.getLinks().size();
+                event.actions = navigables.getActions().size();
+                event.commit();
+            }
+            return navigables;
+        } finally {
+            metrics.phase(SirenMetrics.Phase.LINK_CONVERSION, start);
+        }
     }
 
     List<Link> from(SirenNavigables navigables) {
@@ -0,0 +1,162 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.hateoas.Affordance;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.UriTemplate;
+
+/**
+ * A template of a {@link Link} (and its {@link Affordance}s) whose {@literal href}s contain template variables, e.g.
+ * {@code /persons/{id}}. The template is converted into the Siren links and actions only once (per configured
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} and current {@link Locale}) and is afterwards expanded for each entity that
+ * refers to it. This avoids building and converting the same link and affordance structure for each entity of a large
+ * collection again.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenModelBuilder#linksAndActions(SirenLinkTemplate, Object...)
+ * @see SirenLinkTemplateAssembler
+ */
+@EqualsAndHashCode(of = "link")
+@RequiredArgsConstructor(access = PRIVATE)
+@ToString(of = "link")
+public final class SirenLinkTemplate {
+
+    private final Link link;
+    private volatile Conversion conversion;
+
+    /**
+     * Creates a new {@link SirenLinkTemplate} based on the given {@literal link}. The {@literal href} of the link and the
+     * {@literal href}s of its affordances may contain template variables which are expanded for each entity.
+     *
+     * @param link the link the template is based on. Must not be {@literal null}.
+     * @return the created {@link SirenLinkTemplate} instance.
+     */
+    public static SirenLinkTemplate of(@NonNull Link link) {
+        return new SirenLinkTemplate(link);
+    }
+
+    /**
+     * @return the link the template is based on.
+     */
+    public Link getLink() {
+        return link;
+    }
+
+    SirenNavigables navigables(SirenLinkConverter converter, Function<UriTemplate, URI> expander) {
+        Conversion conversion = conversion(converter);
+        SirenNavigables navigables = conversion.navigables;
+
+        List<SirenLink> links = newArrayListWithCapacity(navigables.getLinks().size());
+        for (int i = 0; i < navigables.getLinks().size(); i++) {
+            SirenLink link = navigables.getLinks().get(i);
+            UriTemplate template = conversion.linkTemplates.get(i);
+            links.add(template != null ? link.toBuilder().href(expander.apply(template).toString()).build() : link);
+        }
+
+        List<SirenAction> actions = newArrayListWithCapacity(navigables.getActions().size());
+        for (int i = 0; i < navigables.getActions().size(); i++) {
+            SirenAction action = navigables.getActions().get(i);
+            UriTemplate template = conversion.actionTemplates.get(i);
+            actions.add(template != null ? action.toBuilder().href(expander.apply(template).toString()).build() : action);
+        }
+        return SirenNavigables.of(links, actions);
+    }
+
+    private Conversion conversion(SirenLinkConverter converter) {
+        Conversion conversion = this.conversion;
+        // The titles of the links and actions are resolved for the current locale, so the conversion is only reused for it.
+        // Usually a template is rendered through the same mapper and locale, so caching the latest conversion is sufficient.
+        Locale locale = LocaleContextHolder.getLocale();
+        if (conversion == null || conversion.converter != converter || !conversion.locale.equals(locale)) {
+            converter.getMetrics().miss("link-templates");
+            SirenNavigables navigables = converter.convert(link);
+            conversion = new Conversion(converter, locale, navigables, //
+                templates(navigables.getLinks().stream().map(SirenLink::getHref).collect(toList())), //
+                templates(navigables.getActions().stream().map(SirenAction::getHref).collect(toList())));
+            this.conversion = conversion;
+        } else {
+            converter.getMetrics().hit("link-templates");
+        }
+        return conversion;
+    }
+
+    private static List<UriTemplate> templates(List<String> hrefs) {
+        List<UriTemplate> templates = newArrayListWithCapacity(hrefs.size());
+        for (String href : hrefs) {
+            UriTemplate template = UriTemplate.of(href);
+            templates.add(template.getVariables().isEmpty() ? null : template);
+        }
+        return templates;
+    }
+
+    @RequiredArgsConstructor
+    private static class Conversion {
+
+        private final SirenLinkConverter converter;
+        private final Locale locale;
+        private final SirenNavigables navigables;
+        private final List<UriTemplate> linkTemplates;
+        private final List<UriTemplate> actionTemplates;
+    }
+
+    /**
+     * An expansion of a {@link SirenLinkTemplate} with the values of a specific entity.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor(access = PRIVATE)
+    @ToString
+    static class Expansion {
+
+        private final SirenLinkTemplate template;
+        private final Object[] values;
+        private final Map<String, ?> parameters;
+
+        static Expansion of(SirenLinkTemplate template, Object[] values) {
+            return new Expansion(template, values, null);
+        }
+
+        static Expansion of(SirenLinkTemplate template, Map<String, ?> parameters) {
+            return new Expansion(template, null, parameters);
+        }
+
+        LinkRelation getRel() {
+            return template.getLink().getRel();
+        }
+
+        SirenNavigables navigables(SirenLinkConverter converter) {
+            return template.navigables(converter, t -> parameters != null ? t.expand(parameters) : t.expand(values));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static de.ingogriebsch.spring.hateoas.siren.SirenModelBuilder.sirenModel;
+import static org.apache.commons.lang3.Validate.noNullElements;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.NonNull;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+
+/**
+ * A {@link RepresentationModelAssembler} which adds the links and actions of the given {@link SirenLinkTemplate}s to each
+ * entity, expanded with the values extracted from the entity (e.g. its id). The entity itself is exposed as the properties of
+ * the model. Subclasses can customize the built models through {@link #customize(SirenModelBuilder, Object)}.
+ *
+ * @param <T> the type of the entities.
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenLinkTemplate
+ */
+public class SirenLinkTemplateAssembler<T> implements RepresentationModelAssembler<T, RepresentationModel<?>> {
+
+    private final Function<? super T, Object[]> values;
+    private final List<SirenLinkTemplate> templates;
+
+    /**
+     * Creates a new {@link SirenLinkTemplateAssembler}.
+     *
+     * @param values the function which extracts the values the templates are expanded with from an entity. Must not be
+     *        {@literal null}.
+     * @param templates the templates whose links and actions are added to each entity. Must not be {@literal null} and must
+     *        not contain {@literal null} values.
+     */
+    protected SirenLinkTemplateAssembler(@NonNull Function<? super T, Object[]> values, @NonNull SirenLinkTemplate... templates) {
+        this.values = values;
+        this.templates = newArrayList(noNullElements(templates));
+    }
+
+    /**
+     * Creates a new {@link SirenLinkTemplateAssembler}.
+     *
+     * @param <T> the type of the entities.
+     * @param values the function which extracts the values the templates are expanded with from an entity. Must not be
+     *        {@literal null}.
+     * @param templates the templates whose links and actions are added to each entity. Must not be {@literal null} and must
+     *        not contain {@literal null} values.
+     * @return the created {@link SirenLinkTemplateAssembler} instance.
+     */
+    public static <T> SirenLinkTemplateAssembler<T> of(@NonNull Function<? super T, Object[]> values,
+        @NonNull SirenLinkTemplate... templates) {
+        return new SirenLinkTemplateAssembler<>(values, templates);
+    }
+
+    @Override
+    public RepresentationModel<?> toModel(@NonNull T entity) {
+        SirenModelBuilder builder = sirenModel().properties(entity);
+
+        Object[] values = this.values.apply(entity);
+        for (SirenLinkTemplate template : templates) {
+            builder.linksAndActions(template, values);
+        }
+
+        customize(builder, entity);
+        return builder.build();
+    }
+
+    /**
+     * Allows to customize the model of the given {@literal entity} before it is built. The default implementation does nothing.
+     *
+     * @param builder the builder of the model. Is never {@literal null}.
+     * @param entity the entity the model is built for. Is never {@literal null}.
+     */
+    protected void customize(SirenModelBuilder builder, T entity) {
+    }
+}
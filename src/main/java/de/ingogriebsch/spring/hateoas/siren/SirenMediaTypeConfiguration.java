@@ -20,9 +20,13 @@ import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
 import static de.ingogriebsch.spring.hateoas.siren.SimpleObjectProvider.objectProvider;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.NonNull;
 import lombok.Value;
 import org.springframework.beans.factory.ObjectProvider;
@@ -30,6 +34,9 @@ import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.ResolvableType;
 import org.springframework.hateoas.client.LinkDiscoverer;
 import org.springframework.hateoas.config.HypermediaMappingInformation;
 import org.springframework.hateoas.mediatype.MessageResolver;
@@ -46,10 +53,11 @@ import org.springframework.http.MediaType;
  * @see ObjectMapper
  */
 @Configuration
+@Import(SirenWebStackImportSelector.class)
 public class SirenMediaTypeConfiguration implements HypermediaMappingInformation {
 
     private final MessageResolver messageResolver;
-    private final SirenConfiguration configuration;
+    private final SirenRuntimeConfiguration configuration;
     private final SirenEntityClassProvider entityClassProvider;
     private final SirenEntityRelProvider entityRelProvider;
     private final SirenActionFieldTypeConverter actionFieldTypeConverter;
@@ -64,8 +72,8 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
         @NonNull ObjectProvider<SirenActionFieldTypeConverter> actionFieldTypeConverter, //
         @NonNull ObjectProvider<RepresentationModelFactories> representationModelFactories) {
 
-        this.messageResolver = messageResolver(messageResolver);
         this.configuration = configuration(configuration);
+        this.messageResolver = messageResolver(messageResolver, this.configuration);
 
         this.entityClassProvider = entityClassProvider(entityClassProvider);
         this.entityRelProvider = entityRelProvider(entityRelProvider);
@@ -112,6 +120,22 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
         return new SirenLinkDiscoverer();
     }
 
+    SirenRuntimeConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Warms up the Siren support for the {@link org.springframework.hateoas.RepresentationModel}s contained in the given types.
+     *
+     * @param mapper the mapper the Siren entities are serialized and deserialized through.
+     * @param types the types (e.g. the return types of the request mappings) the models are collected from.
+     * @return the amount of model types that were warmed up.
+     * @see SirenConfiguration#withWarmUpEnabled(boolean)
+     */
+    int warmUp(ObjectMapper mapper, Stream<ResolvableType> types) {
+        return new SirenWarmUp(mapper, messageResolver, configuration.getWarmUpIterations()).warmUp(types);
+    }
+
     static SirenMediaTypeConfiguration of( //
         MessageResolver messageResolver, //
         SirenConfiguration configuration, //
@@ -131,7 +155,8 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
     }
 
     private SirenHandlerInstantiator sirenHandlerInitiator() {
-        SirenLinkConverter linkConverter = new SirenLinkConverter(messageResolver, actionFieldTypeConverter);
+        SirenLinkConverter linkConverter =
+            new SirenLinkConverter(messageResolver, actionFieldTypeConverter, configuration.getMetrics());
 
         SirenDeserializerFacilities deserializerFacilities =
             new SirenDeserializerFacilities(representationModelFactories, propertiesFacility, linkConverter);
@@ -142,13 +167,16 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
         return new SirenHandlerInstantiator(configuration, serializerFacilities, deserializerFacilities);
     }
 
-    private static MessageResolver messageResolver(ObjectProvider<MessageResolver> messageResolver) {
-        return new NoSuchMessageExceptionSuppressingMessageResolver(
-            messageResolver.getIfAvailable(() -> MessageResolver.of(null)));
+    private static MessageResolver messageResolver(ObjectProvider<MessageResolver> messageResolver,
+        SirenRuntimeConfiguration configuration) {
+        MessageResolver resolver =
+            new NoSuchMessageExceptionSuppressingMessageResolver(messageResolver.getIfAvailable(() -> MessageResolver.of(null)));
+        return configuration.getTitleCacheSize() > 0 ? new CachingMessageResolver(resolver, configuration) : resolver;
     }
 
-    private static SirenConfiguration configuration(ObjectProvider<SirenConfiguration> configuration) {
-        return configuration.getIfAvailable(SirenConfiguration::new);
+    private static SirenRuntimeConfiguration configuration(ObjectProvider<SirenConfiguration> configuration) {
+        // The configuration is compiled into an immutable snapshot, so later changes don't affect the configured serializers.
+        return SirenRuntimeConfiguration.of(configuration.getIfAvailable(SirenConfiguration::new));
     }
 
     private static SirenEntityClassProvider entityClassProvider(ObjectProvider<SirenEntityClassProvider> entityClassProvider) {
@@ -162,7 +190,7 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
     }
 
     private static SirenActionFieldTypeConverter actionFieldTypeConverter(ObjectProvider<SirenActionFieldTypeConverter> provider,
-        SirenConfiguration configuration) {
+        SirenRuntimeConfiguration configuration) {
         List<TypeMapping> actionFieldTypeMappings = configuration.getActionFieldTypeMappings();
         return provider.getIfAvailable(() -> new TypeBasedSirenActionFieldTypeConverter(actionFieldTypeMappings));
     }
@@ -173,10 +201,10 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
         });
     }
 
-    private static PropertiesFacility propertiesFacility(SirenConfiguration configuration) {
+    private static PropertiesFacility propertiesFacility(SirenRuntimeConfiguration configuration) {
         ObjectMapper objectMapper = new ObjectMapper();
         configuration.getObjectMapperCustomizer().accept(objectMapper);
-        return new PropertiesFacility(objectMapper);
+        return new PropertiesFacility(objectMapper, configuration.getMetrics());
     }
 
     @Value
@@ -193,4 +221,44 @@ public class SirenMediaTypeConfiguration implements HypermediaMappingInformation
             }
         }
     }
+
+    private static class CachingMessageResolver implements MessageResolver {
+
+        private final Cache<List<Object>, Optional<String>> messages;
+        private final MessageResolver delegate;
+        private final SirenMetrics metrics;
+
+        CachingMessageResolver(MessageResolver delegate, SirenRuntimeConfiguration configuration) {
+            // The cache is bounded because its keys contain the locale, which is usually chosen by the client.
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(configuration.getTitleCacheSize());
+            if (!configuration.getTitleCacheExpiry().isZero()) {
+                builder.expireAfterWrite(configuration.getTitleCacheExpiry());
+            }
+            messages = builder.build();
+            this.delegate = delegate;
+            metrics = configuration.getMetrics();
+        }
+
+        @Override
+        public String resolve(MessageSourceResolvable resolvable) {
+            String[] codes = resolvable.getCodes();
+            Object[] arguments = resolvable.getArguments();
+            // Only messages which solely depend on their codes (and the current locale) can be cached.
+            if (codes == null || (arguments != null && arguments.length > 0) || resolvable.getDefaultMessage() != null) {
+                return delegate.resolve(resolvable);
+            }
+
+            List<Object> key = List.of(LocaleContextHolder.getLocale(), List.of(codes));
+            Optional<String> message = messages.getIfPresent(key);
+            if (message != null) {
+                metrics.hit("titles");
+                return message.orElse(null);
+            }
+
+            metrics.miss("titles");
+            message = Optional.ofNullable(delegate.resolve(resolvable));
+            messages.put(key, message);
+            return message.orElse(null);
+        }
+    }
 }
@@ -0,0 +1,113 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Interface that allows to record metrics of the serialization and deserialization of Siren entities. Each method does nothing
+ * by default. The {@link #NOOP default instance} does not even read the clock, so the instrumentation adds no overhead if no
+ * metrics are configured.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenConfiguration#withMetrics(SirenMetrics)
+ * @see MicrometerSirenMetrics
+ */
+public interface SirenMetrics {
+
+    /**
+     * Instance which records nothing.
+     */
+    SirenMetrics NOOP = new SirenMetrics() {
+    };
+
+    /**
+     * @return the start of a measurement which is handed over to the method recording the measurement.
+     */
+    default long start() {
+        return 0;
+    }
+
+    /**
+     * Records the serialization of a Siren entity.
+     *
+     * @param type the type of the model that was serialized.
+     * @param start the start of the serialization.
+     * @param entities the amount of nested entities that were written.
+     * @param links the amount of links that were written.
+     * @param actions the amount of actions that were written.
+     */
+    default void serialized(Class<?> type, long start, int entities, int links, int actions) {
+    }
+
+    /**
+     * Records the deserialization of a Siren entity.
+     *
+     * @param type the type of the model that was deserialized.
+     * @param start the start of the deserialization.
+     */
+    default void deserialized(Class<?> type, long start) {
+    }
+
+    /**
+     * Records the amount of bytes a Siren entity was written into.
+     *
+     * @param type the type of the model that was written.
+     * @param bytes the amount of bytes.
+     */
+    default void written(Class<?> type, long bytes) {
+    }
+
+    /**
+     * Records the duration of a phase of the serialization.
+     *
+     * @param phase the phase that was passed.
+     * @param start the start of the phase.
+     */
+    default void phase(Phase phase, long start) {
+    }
+
+    /**
+     * Records a hit of the given cache.
+     *
+     * @param cache the name of the cache.
+     */
+    default void hit(String cache) {
+    }
+
+    /**
+     * Records a miss of the given cache.
+     *
+     * @param cache the name of the cache.
+     */
+    default void miss(String cache) {
+    }
+
+    /**
+     * The phases of the serialization. The phases overlap because nested entities are converted while they are written.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    enum Phase {
+
+            LINK_CONVERSION("link-conversion"), PROPERTY_EXTRACTION("property-extraction"), TITLE_RESOLUTION("title-resolution"),
+            WRITING("writing");
+
+        private final String value;
+    }
+}
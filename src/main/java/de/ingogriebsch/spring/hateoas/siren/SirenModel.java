@@ -19,7 +19,9 @@ import static com.google.common.collect.Lists.newArrayList;
 import static lombok.AccessLevel.PRIVATE;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -47,9 +49,21 @@ import org.springframework.hateoas.RepresentationModel;
 class SirenModel extends RepresentationModel<SirenModel> {
 
     Object properties;
+    // Is not a property of the model but contains the properties which are only completed asynchronously.
+    @JsonIgnore
+    CompletionStage<?> asyncProperties;
     List<EmbeddedRepresentation> entities;
+    // Is not a property of the model but contains the entities which are only pulled while the model is serialized.
+    @JsonIgnore
+    List<StreamedEntities> streamedEntities;
     List<String> classes;
     String title;
+    // Is not a property of the model but only an alternative way to define its links and actions.
+    @JsonIgnore
+    List<SirenLinkTemplate.Expansion> linkTemplates;
+    // Is not a property of the model but contains the links which are only created while the model is serialized.
+    @JsonIgnore
+    List<DeferredLinks> deferredLinks;
 
     /**
      * Represents an embedded representation.
@@ -22,9 +22,13 @@ import static de.ingogriebsch.spring.hateoas.siren.RepresentationModelUtils.isRe
 import static de.ingogriebsch.spring.hateoas.siren.RepresentationModelUtils.wrap;
 import static org.apache.commons.lang3.Validate.noNullElements;
 import static org.springframework.hateoas.Links.of;
-import static org.springframework.hateoas.Links.MergeMode.REPLACE_BY_REL;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import de.ingogriebsch.spring.hateoas.siren.SirenModel.EmbeddedRepresentation;
 import lombok.NonNull;
@@ -44,9 +48,11 @@ import org.springframework.hateoas.RepresentationModel;
 public final class SirenModelBuilder {
 
     private final List<EmbeddedRepresentation> entities = newArrayList();
+    private final List<StreamedEntities> streamedEntities = newArrayList();
     private final List<String> classes = newArrayList();
-    private Links linksAndActions = Links.of();
+    private final LinksAccumulator linksAndActions = new LinksAccumulator();
     private Object properties;
+    private CompletionStage<?> asyncProperties;
     private String title;
 
     private SirenModelBuilder() {
@@ -107,6 +113,30 @@ public final class SirenModelBuilder {
     public SirenModelBuilder properties(@NonNull Object properties) {
         assertNotOfTypeRepresentationModel(properties.getClass());
         this.properties = properties;
+        this.asyncProperties = null;
+        return this;
+    }
+
+    /**
+     * Adds the properties which are completed through the given {@literal stage} to the {@link RepresentationModel} to be
+     * built.
+     * <p>
+     * If the model is rendered through WebFlux, the rendering is deferred until the stage is completed (without blocking).
+     * Otherwise the serializing thread is blocked until the stage is completed, and a failure of the stage is rethrown as
+     * {@link com.fasterxml.jackson.databind.JsonMappingException} caused by it.
+     *
+     * @param properties must not be {@literal null} and must not complete with a {@literal RepresentationModel}.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#properties" target="_blank">Siren Entity Properties</a>
+     */
+    public SirenModelBuilder properties(@NonNull CompletionStage<?> properties) {
+        this.properties = null;
+        this.asyncProperties = properties.thenApply(p -> {
+            if (p != null) {
+                assertNotOfTypeRepresentationModel(p.getClass());
+            }
+            return p;
+        });
         return this;
     }
 
@@ -264,6 +294,238 @@ public final class SirenModelBuilder {
         return this;
     }
 
+    /**
+     * Adds the entities of the given {@link Stream} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The entities are pulled from the given {@link Stream} and wrapped into appropriate {@link RepresentationModel}s one
+     * after the other while the model is serialized (the stream is closed afterwards). Because of that, the model can only be
+     * serialized once.
+     * The relation to its parent will be evaluated through the configured {@link SirenEntityRelProvider}.
+     *
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull Stream<?> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, null, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities of the given {@link Stream} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The entities are pulled from the given {@link Stream} and wrapped into appropriate {@link RepresentationModel}s one
+     * after the other while the model is serialized (the stream is closed afterwards). Because of that, the model can only be
+     * serialized once.
+     * The relation to its parent is defined through the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull String rel, @NonNull Stream<?> entities) {
+        return entities(LinkRelation.of(rel), entities);
+    }
+
+    /**
+     * Adds the entities of the given {@link Stream} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The entities are pulled from the given {@link Stream} and wrapped into appropriate {@link RepresentationModel}s one
+     * after the other while the model is serialized (the stream is closed afterwards). Because of that, the model can only be
+     * serialized once.
+     * The relation to its parent is defined through the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull LinkRelation rel, @NonNull Stream<?> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, rel, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities of the given {@link Iterator} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The entities are pulled from the given {@link Iterator} and wrapped into appropriate {@link RepresentationModel}s one
+     * after the other while the model is serialized. Because of that, the model can only be serialized once.
+     * The relation to its parent will be evaluated through the configured {@link SirenEntityRelProvider}.
+     *
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull Iterator<?> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, null, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities of the given {@link Iterator} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The entities are pulled from the given {@link Iterator} and wrapped into appropriate {@link RepresentationModel}s one
+     * after the other while the model is serialized. Because of that, the model can only be serialized once.
+     * The relation to its parent is defined through the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull String rel, @NonNull Iterator<?> entities) {
+        return entities(LinkRelation.of(rel), entities);
+    }
+
+    /**
+     * Adds the entities of the given {@link Iterator} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The entities are pulled from the given {@link Iterator} and wrapped into appropriate {@link RepresentationModel}s one
+     * after the other while the model is serialized. Because of that, the model can only be serialized once.
+     * The relation to its parent is defined through the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull LinkRelation rel, @NonNull Iterator<?> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, rel, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities of the {@link Stream}s supplied through the given {@literal entities} to the
+     * {@link RepresentationModel} to be built.
+     * <p>
+     * The supplier is called each time the model is serialized. The entities are pulled from the supplied {@link Stream}
+     * (which is closed afterwards) and wrapped into appropriate {@link RepresentationModel}s one after the other while the
+     * model is serialized. The relation to its parent will be evaluated through the configured {@link SirenEntityRelProvider}.
+     *
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull Supplier<? extends Stream<?>> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, null, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities of the {@link Stream}s supplied through the given {@literal entities} to the
+     * {@link RepresentationModel} to be built.
+     * <p>
+     * The supplier is called each time the model is serialized. The entities are pulled from the supplied {@link Stream}
+     * (which is closed afterwards) and wrapped into appropriate {@link RepresentationModel}s one after the other while the
+     * model is serialized. The relation to its parent is defined through the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull String rel, @NonNull Supplier<? extends Stream<?>> entities) {
+        return entities(LinkRelation.of(rel), entities);
+    }
+
+    /**
+     * Adds the entities of the {@link Stream}s supplied through the given {@literal entities} to the
+     * {@link RepresentationModel} to be built.
+     * <p>
+     * The supplier is called each time the model is serialized. The entities are pulled from the supplied {@link Stream}
+     * (which is closed afterwards) and wrapped into appropriate {@link RepresentationModel}s one after the other while the
+     * model is serialized. The relation to its parent is defined through the given {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull LinkRelation rel, @NonNull Supplier<? extends Stream<?>> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, rel, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities which are completed through the given {@literal stage} to the {@link RepresentationModel} to be built.
+     * <p>
+     * If the model is rendered through WebFlux, the rendering is deferred until the stage is completed (without blocking).
+     * Otherwise the serializing thread is blocked until the stage is completed, and a failure of the stage is rethrown as
+     * {@link com.fasterxml.jackson.databind.JsonMappingException} caused by it. The relation to its parent will be evaluated
+     * through the
+     * configured {@link SirenEntityRelProvider}.
+     *
+     * @param entities must not be {@literal null} and must not complete with {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull CompletionStage<? extends Iterable<?>> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, null, this.entities.size()));
+        return this;
+    }
+
+    /**
+     * Adds the entities which are completed through the given {@literal stage} to the {@link RepresentationModel} to be built.
+     * <p>
+     * If the model is rendered through WebFlux, the rendering is deferred until the stage is completed (without blocking).
+     * Otherwise the serializing thread is blocked until the stage is completed, and a failure of the stage is rethrown as
+     * {@link com.fasterxml.jackson.databind.JsonMappingException} caused by it. The relation to its parent is defined through the
+     * given
+     * {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not complete with {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull String rel, @NonNull CompletionStage<? extends Iterable<?>> entities) {
+        return entities(LinkRelation.of(rel), entities);
+    }
+
+    /**
+     * Adds the entities which are completed through the given {@literal stage} to the {@link RepresentationModel} to be built.
+     * <p>
+     * If the model is rendered through WebFlux, the rendering is deferred until the stage is completed (without blocking).
+     * Otherwise the serializing thread is blocked until the stage is completed, and a failure of the stage is rethrown as
+     * {@link com.fasterxml.jackson.databind.JsonMappingException} caused by it. The relation to its parent is defined through the
+     * given
+     * {@literal rel}.
+     *
+     * @param rel must not be {@literal null}.
+     * @param entities must not be {@literal null} and must not complete with {@literal null} values.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     * @see <a href="https://github.com/kevinswiber/siren#embedded-representation" target="_blank">Siren Embedded
+     *      Representation</a>
+     */
+    public SirenModelBuilder entities(@NonNull LinkRelation rel, @NonNull CompletionStage<? extends Iterable<?>> entities) {
+        streamedEntities.add(StreamedEntities.of(entities, rel, this.entities.size()));
+        return this;
+    }
+
     /**
      * Adds the given {@literal link} to the {@link RepresentationModel} to be built.
      * 
@@ -311,7 +573,94 @@ public final class SirenModelBuilder {
     public SirenModelBuilder linksAndActions(@NonNull Links links) {
         noNullElements(links);
 
-        linksAndActions = linksAndActions.merge(REPLACE_BY_REL, links);
+        linksAndActions.add(links);
+        return this;
+    }
+
+    /**
+     * Adds the {@literal link} supplied through the given {@literal supplier} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The supplier is not called before the model is serialized. If a link with the same {@literal rel} is added afterwards,
+     * the supplier is not called at all.
+     *
+     * @param rel the relation of the supplied link. Must not be {@literal null}.
+     * @param link the supplier of the link. Must not be {@literal null}.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Link</a>
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Action</a>
+     */
+    public SirenModelBuilder linksAndActions(@NonNull String rel, @NonNull Supplier<Link> link) {
+        return linksAndActions(LinkRelation.of(rel), link);
+    }
+
+    /**
+     * Adds the {@literal link} supplied through the given {@literal supplier} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The supplier is not called before the model is serialized. If a link with the same {@literal rel} is added afterwards,
+     * the supplier is not called at all.
+     *
+     * @param rel the relation of the supplied link. Must not be {@literal null}.
+     * @param link the supplier of the link. Must not be {@literal null}.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Link</a>
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Action</a>
+     */
+    public SirenModelBuilder linksAndActions(@NonNull LinkRelation rel, @NonNull Supplier<Link> link) {
+        linksAndActions.add(DeferredLinks.of(rel, link));
+        return this;
+    }
+
+    /**
+     * Adds the {@literal links} supplied through the given {@literal supplier} to the {@link RepresentationModel} to be built.
+     * <p>
+     * The supplier is not called before the model is serialized. Because the relations of the supplied links are not known
+     * upfront, they replace the links with the same relation at the time the model is serialized.
+     *
+     * @param links the supplier of the links. Must not be {@literal null}.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Link</a>
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Action</a>
+     */
+    public SirenModelBuilder linksAndActions(@NonNull Supplier<Links> links) {
+        linksAndActions.add(DeferredLinks.of(links));
+        return this;
+    }
+
+    /**
+     * Adds the links and actions which result from expanding the given {@literal template} with the given {@literal values}
+     * to the {@link RepresentationModel} to be built.
+     * <p>
+     * The template is converted only once and afterwards expanded for each model it is added to. Like the links added through
+     * {@link #linksAndActions(Links)}, the link of the template replaces the already added links with the same relation (and is
+     * replaced by the ones added afterwards or supplied through {@link #linksAndActions(Supplier)}).
+     *
+     * @param template must not be {@literal null}.
+     * @param values the values the template variables are expanded with. Must not be {@literal null}.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Link</a>
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Action</a>
+     */
+    public SirenModelBuilder linksAndActions(@NonNull SirenLinkTemplate template, @NonNull Object... values) {
+        linksAndActions.add(SirenLinkTemplate.Expansion.of(template, values));
+        return this;
+    }
+
+    /**
+     * Adds the links and actions which result from expanding the given {@literal template} with the given {@literal parameters}
+     * to the {@link RepresentationModel} to be built.
+     * <p>
+     * The template is converted only once and afterwards expanded for each model it is added to. Like the links added through
+     * {@link #linksAndActions(Links)}, the link of the template replaces the already added links with the same relation (and is
+     * replaced by the ones added afterwards or supplied through {@link #linksAndActions(Supplier)}).
+     *
+     * @param template must not be {@literal null}.
+     * @param parameters the parameters the template variables are expanded with. Must not be {@literal null}.
+     * @return the current {@link SirenModelBuilder} instance.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Link</a>
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Action</a>
+     */
+    public SirenModelBuilder linksAndActions(@NonNull SirenLinkTemplate template, @NonNull Map<String, ?> parameters) {
+        linksAndActions.add(SirenLinkTemplate.Expansion.of(template, parameters));
         return this;
     }
 
@@ -321,8 +670,9 @@ public final class SirenModelBuilder {
      * @return will never be {@literal null}.
      */
     public RepresentationModel<?> build() {
-        SirenModel model = new SirenModel(properties, entities, classes, title);
-        model.add(linksAndActions);
+        SirenModel model = new SirenModel(properties, asyncProperties, entities, streamedEntities, classes, title,
+            linksAndActions.getLinkTemplates(), linksAndActions.getDeferredLinks());
+        model.add(linksAndActions.getLinks());
         return model;
     }
 
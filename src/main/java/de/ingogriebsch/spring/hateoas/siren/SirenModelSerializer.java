@@ -15,13 +15,19 @@
  */
 package de.ingogriebsch.spring.hateoas.siren;
 
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
 import static java.util.Optional.ofNullable;
 
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newHashMap;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.BeanProperty;
@@ -29,6 +35,9 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import de.ingogriebsch.spring.hateoas.siren.SirenModel.EmbeddedRepresentation;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
@@ -40,15 +49,15 @@ import org.springframework.util.CollectionUtils;
  * @since 1.0.0
  * @see SirenModel
  */
-class SirenModelSerializer extends AbstractSirenSerializer<SirenModel> {
+class SirenModelSerializer extends AbstractSirenSerializer<SirenModel> implements SirenEntityConverter<SirenModel> {
 
     private static final long serialVersionUID = 1621319645104596013L;
 
-    SirenModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+    SirenModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
         this(configuration, serializerFacilities, null);
     }
 
-    SirenModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         @Nullable BeanProperty property) {
         super(SirenModel.class, configuration, serializerFacilities, property);
     }
@@ -60,34 +69,165 @@ class SirenModelSerializer extends AbstractSirenSerializer<SirenModel> {
 
     @Override
     public void serialize(SirenModel model, JsonGenerator gen, SerializerProvider provider) throws IOException {
-        SirenNavigables navigables = getLinkConverter().to(model.getLinks());
-
-        SirenEntity sirenEntity = SirenEntity.builder() //
-            .classes(classes(model)) //
-            .rels(rels(model, provider)) //
-            .properties(properties(model.getProperties())) //
-            .entities(model.getEntities()) //
-            .links(navigables.getLinks()) //
-            .actions(navigables.getActions()) //
-            .title(title(model)) //
-            .build();
+        serialize(model, this, gen, provider);
+    }
 
-        JsonSerializer<Object> serializer = provider.findValueSerializer(SirenEntity.class, property);
+    /**
+     * Converts the given model into a Siren entity. The streamed entities of the model are opened and contained in the Siren
+     * entity as {@link StreamedEntities.Cursor cursors} which have to be closed after the Siren entity was serialized.
+     */
+    @Override
+    public SirenEntity toSirenEntity(SirenModel model, SirenSerializationContext context, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
+        SirenNavigables navigables = navigables(model);
 
-        Object parent = setAttribute(ATTR_KEY_PARENT, model, provider);
+        List<StreamedEntities.Cursor> cursors = open(model.getStreamedEntities(), gen);
         try {
-            serializer.serialize(sirenEntity, gen, provider);
+            return SirenEntity.builder() //
+                .classes(classes(model, context)) //
+                .rels(rels(model, context)) //
+                .properties(properties(properties(model, gen))) //
+                .entities(entities(model.getEntities(), cursors)) //
+                .links(navigables.getLinks()) //
+                .actions(navigables.getActions()) //
+                .title(title(model)) //
+                .build();
+        } catch (IOException | RuntimeException e) {
+            cursors.forEach(StreamedEntities.Cursor::close);
+            throw e;
         } finally {
-            setAttribute(ATTR_KEY_PARENT, parent, provider);
+            // Empty cursors are not contained in the Siren entity, so nobody else would close them.
+            cursors.stream().filter(StreamedEntities.Cursor::isEmpty).forEach(StreamedEntities.Cursor::close);
+        }
+    }
+
+    private static List<StreamedEntities.Cursor> open(List<StreamedEntities> streamedEntities, JsonGenerator gen)
+        throws JsonMappingException {
+        List<StreamedEntities.Cursor> cursors = newArrayList();
+        if (streamedEntities != null) {
+            try {
+                for (StreamedEntities entities : streamedEntities) {
+                    cursors.add(entities.open());
+                }
+            } catch (CompletionException | CancellationException e) {
+                cursors.forEach(StreamedEntities.Cursor::close);
+                throw stageFailed(gen, e);
+            } catch (RuntimeException e) {
+                cursors.forEach(StreamedEntities.Cursor::close);
+                throw e;
+            }
+        }
+        return cursors;
+    }
+
+    private static List<?> entities(List<EmbeddedRepresentation> entities, List<StreamedEntities.Cursor> cursors) {
+        if (cursors.isEmpty()) {
+            return entities;
+        }
+
+        // The cursors are placed between the entities which were added around them, empty cursors are left out so that an
+        // empty list of entities is still omitted.
+        List<Object> merged = newArrayList();
+        int cursor = 0;
+        for (int i = 0; i <= entities.size(); i++) {
+            for (; cursor < cursors.size() && cursors.get(cursor).getPosition() == i; cursor++) {
+                if (!cursors.get(cursor).isEmpty()) {
+                    merged.add(cursors.get(cursor));
+                }
+            }
+            if (i < entities.size()) {
+                merged.add(entities.get(i));
+            }
+        }
+        return merged;
+    }
+
+    private SirenNavigables navigables(SirenModel model) {
+        Links links = links(model);
+        SirenNavigables navigables = getLinkConverter().to(links);
+        if (CollectionUtils.isEmpty(model.getLinkTemplates())) {
+            return navigables;
+        }
+
+        // The builder already replaced the links having the same relation as a template, so the remaining links having it are
+        // supplied through deferred links (or added to the model afterwards) and replace the template.
+        List<SirenNavigables> merged = newArrayList(navigables);
+        for (SirenLinkTemplate.Expansion expansion : model.getLinkTemplates()) {
+            if (!links.hasLink(expansion.getRel())) {
+                merged.add(expansion.navigables(getLinkConverter()));
+            }
+        }
+        return SirenNavigables.merge(merged);
+    }
+
+    private static Links links(SirenModel model) {
+        List<DeferredLinks> deferredLinks = model.getDeferredLinks();
+        if (CollectionUtils.isEmpty(deferredLinks)) {
+            return model.getLinks();
+        }
+
+        // All suppliers are resolved upfront, the last supplier providing a relation replaces all other links having it.
+        List<Links> resolved = newArrayListWithCapacity(deferredLinks.size());
+        Map<String, Integer> providers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < deferredLinks.size(); i++) {
+            Links links = deferredLinks.get(i).resolve();
+            for (Link link : links) {
+                providers.put(link.getRel().value(), i);
+            }
+            resolved.add(links);
+        }
+
+        List<Link> merged = newArrayList();
+        int deferred = 0;
+        int position = 0;
+        for (Link link : model.getLinks()) {
+            for (; deferred < deferredLinks.size() && deferredLinks.get(deferred).getPosition() <= position; deferred++) {
+                addProvided(merged, resolved.get(deferred), deferred, providers);
+            }
+            if (!providers.containsKey(link.getRel().value())) {
+                merged.add(link);
+            }
+            position++;
+        }
+        for (; deferred < deferredLinks.size(); deferred++) {
+            addProvided(merged, resolved.get(deferred), deferred, providers);
+        }
+        return Links.of(merged);
+    }
+
+    private static void addProvided(List<Link> merged, Links links, int provider, Map<String, Integer> providers) {
+        for (Link link : links) {
+            if (providers.get(link.getRel().value()) == provider) {
+                merged.add(link);
+            }
+        }
+    }
+
+    private static Object properties(SirenModel model, JsonGenerator gen) throws JsonMappingException {
+        if (model.getAsyncProperties() == null) {
+            return model.getProperties();
         }
+
+        // Joining the stage blocks if the stage is not completed yet, which is avoided by awaiting it before serializing.
+        try {
+            return model.getAsyncProperties().toCompletableFuture().join();
+        } catch (CompletionException | CancellationException e) {
+            throw stageFailed(gen, e);
+        }
+    }
+
+    private static JsonMappingException stageFailed(JsonGenerator gen, RuntimeException e) {
+        // The failure of the stage is unwrapped, so that it is reported like any other failure of the serialization.
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return JsonMappingException.from(gen, "A stage the Siren entity depends on did not complete normally!", cause);
     }
 
     private String title(SirenModel model) {
         return model.getTitle() != null ? model.getTitle() : title(RepresentationModel.class);
     }
 
-    private List<String> classes(SirenModel model) {
-        return CollectionUtils.isEmpty(model.getClasses()) ? super.classes(model) : model.getClasses();
+    private List<String> classes(SirenModel model, SirenSerializationContext context) {
+        return CollectionUtils.isEmpty(model.getClasses()) ? super.classes(model, context) : model.getClasses();
     }
 
     private Map<String, Object> properties(Object model) {
@@ -99,11 +239,12 @@ class SirenModelSerializer extends AbstractSirenSerializer<SirenModel> {
 
         private static final long serialVersionUID = 5908856821949616351L;
 
-        EmbeddedRepresentationSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+        EmbeddedRepresentationSerializer(SirenRuntimeConfiguration configuration,
+            SirenSerializerFacilities serializerFacilities) {
             this(configuration, serializerFacilities, null);
         }
 
-        EmbeddedRepresentationSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+        EmbeddedRepresentationSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
             @Nullable BeanProperty property) {
             super(SirenModel.EmbeddedRepresentation.class, configuration, serializerFacilities, property);
         }
@@ -120,11 +261,12 @@ class SirenModelSerializer extends AbstractSirenSerializer<SirenModel> {
 
             JsonSerializer<Object> serializer = provider.findValueSerializer(model.getClass(), property);
 
-            Object former = setAttribute(ATTR_KEY_REL, representation.getRels(), provider);
+            SirenSerializationContext context = context(provider);
+            List<LinkRelation> former = context.setPendingRels(representation.getRels());
             try {
                 serializer.serialize(model, gen, provider);
             } finally {
-                setAttribute(ATTR_KEY_REL, former, provider);
+                context.setPendingRels(former);
             }
         }
 
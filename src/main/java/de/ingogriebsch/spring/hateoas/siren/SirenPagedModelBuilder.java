@@ -22,6 +22,7 @@ import static lombok.AccessLevel.PRIVATE;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.JavaType;
+import de.ingogriebsch.spring.hateoas.siren.CursorPagedModel.CursorMetadata;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
@@ -46,6 +47,7 @@ class SirenPagedModelBuilder {
     private List<SirenLink> links = newArrayList();
     private List<Object> content = newArrayList();
     private PageMetadata metadata;
+    private CursorMetadata cursorMetadata;
 
     static SirenPagedModelBuilder builder(JavaType type, PagedModelFactory modelFactory, SirenLinkConverter linkConverter) {
         return new SirenPagedModelBuilder(type, modelFactory, linkConverter);
@@ -56,6 +58,11 @@ class SirenPagedModelBuilder {
         return this;
     }
 
+    SirenPagedModelBuilder cursorMetadata(CursorMetadata cursorMetadata) {
+        this.cursorMetadata = cursorMetadata;
+        return this;
+    }
+
     SirenPagedModelBuilder content(List<Object> content) {
         this.content = content;
         return this;
@@ -72,7 +79,8 @@ class SirenPagedModelBuilder {
     }
 
     PagedModel<?> build() {
-        return modelFactory.create(type, links(), content, metadata);
+        return cursorMetadata != null ? modelFactory.createCursorPaged(type, links(), content, cursorMetadata)
+            : modelFactory.create(type, links(), content, metadata);
     }
 
     private Iterable<Link> links() {
@@ -28,6 +28,8 @@ import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import de.ingogriebsch.spring.hateoas.siren.CursorPagedModel.CursorMetadata;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.PagedModel.PageMetadata;
 import org.springframework.lang.Nullable;
@@ -44,11 +46,11 @@ class SirenPagedModelDeserializer extends AbstractSirenDeserializer<PagedModel<?
     private static final long serialVersionUID = 4364222303241126575L;
     private static final JavaType TYPE = defaultInstance().constructType(PagedModel.class);
 
-    SirenPagedModelDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities) {
+    SirenPagedModelDeserializer(SirenRuntimeConfiguration configuration, SirenDeserializerFacilities deserializerFacilities) {
         this(configuration, deserializerFacilities, TYPE);
     }
 
-    SirenPagedModelDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities,
+    SirenPagedModelDeserializer(SirenRuntimeConfiguration configuration, SirenDeserializerFacilities deserializerFacilities,
         JavaType contentType) {
         super(configuration, deserializerFacilities, contentType);
     }
@@ -67,7 +69,7 @@ class SirenPagedModelDeserializer extends AbstractSirenDeserializer<PagedModel<?
         while (jp.nextToken() != null) {
             if (FIELD_NAME.equals(jp.currentToken())) {
                 if ("properties".equals(jp.getText())) {
-                    builder.metadata(deserializeMetadata(jp, ctxt));
+                    deserializeMetadata(jp, ctxt, builder);
                 }
 
                 if ("entities".equals(jp.getText())) {
@@ -86,14 +88,27 @@ class SirenPagedModelDeserializer extends AbstractSirenDeserializer<PagedModel<?
         return builder.build();
     }
 
-    private PageMetadata deserializeMetadata(JsonParser jp, DeserializationContext ctxt) throws IOException {
-        JsonDeserializer<Object> deserializer = getDeserializer(defaultInstance().constructType(PageMetadata.class), jp, ctxt);
-
+    private void deserializeMetadata(JsonParser jp, DeserializationContext ctxt, SirenPagedModelBuilder builder)
+        throws IOException {
         JsonToken nextToken = jp.nextToken();
         if (!START_OBJECT.equals(nextToken)) {
             throw new JsonParseException(jp, String.format("Token does not represent '%s' [but '%s']!", START_OBJECT, nextToken));
         }
 
-        return (PageMetadata) deserializer.deserialize(jp, ctxt);
+        // Whether the metadata is based on cursors or on page numbers is only known after all of its fields are read.
+        JsonNode properties = ctxt.readTree(jp);
+        if (isCursorBased(properties)) {
+            builder.cursorMetadata(ctxt.readTreeAsValue(properties, CursorMetadata.class));
+        } else {
+            builder.metadata(ctxt.readTreeAsValue(properties, PageMetadata.class));
+        }
+    }
+
+    private boolean isCursorBased(JsonNode properties) {
+        if (contentType != null && CursorPagedModel.class.isAssignableFrom(contentType.getRawClass())) {
+            return true;
+        }
+        // The cursors are always written (even if there is no next or previous page), in contrast to the page number.
+        return !properties.has("number") && properties.has("next") && properties.has("prev");
     }
 }
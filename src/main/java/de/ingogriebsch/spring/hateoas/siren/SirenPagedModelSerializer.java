@@ -15,16 +15,12 @@
  */
 package de.ingogriebsch.spring.hateoas.siren;
 
-import static java.util.stream.Collectors.toList;
-
 import java.io.IOException;
-import java.util.List;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.lang.Nullable;
 
@@ -35,15 +31,15 @@ import org.springframework.lang.Nullable;
  * @since 1.0.0
  * @see PagedModel
  */
-class SirenPagedModelSerializer extends AbstractSirenSerializer<PagedModel<?>> {
+class SirenPagedModelSerializer extends AbstractSirenSerializer<PagedModel<?>> implements SirenEntityConverter<PagedModel<?>> {
 
     private static final long serialVersionUID = 9054285190464802945L;
 
-    SirenPagedModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+    SirenPagedModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
         this(configuration, serializerFacilities, null);
     }
 
-    SirenPagedModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenPagedModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         @Nullable BeanProperty property) {
         super(PagedModel.class, configuration, serializerFacilities, property);
     }
@@ -55,33 +51,26 @@ class SirenPagedModelSerializer extends AbstractSirenSerializer<PagedModel<?>> {
 
     @Override
     public void serialize(PagedModel<?> model, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        serialize(model, this, gen, provider);
+    }
+
+    @Override
+    public SirenEntity toSirenEntity(PagedModel<?> model, SirenSerializationContext context, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
         SirenNavigables navigables = getLinkConverter().to(model.getLinks());
 
-        SirenEntity sirenEntity = SirenEntity.builder() //
+        return SirenEntity.builder() //
             .actions(navigables.getActions()) //
-            .classes(classes(model)) //
-            .entities(entities(model)) //
+            .classes(classes(model, context)) //
+            .entities(entities(model.getContent(), model, context, gen, provider)) //
             .links(navigables.getLinks()) //
-            .properties(model.getMetadata()) //
-            .rels(rels(model, provider)) //
+            .properties(metadata(model)) //
+            .rels(rels(model, context)) //
             .title(title(model.getClass())) //
             .build();
-
-        JsonSerializer<Object> serializer = provider.findValueSerializer(SirenEntity.class, property);
-
-        Object parent = setAttribute(ATTR_KEY_PARENT, model, provider);
-        try {
-            serializer.serialize(sirenEntity, gen, provider);
-        } finally {
-            setAttribute(ATTR_KEY_PARENT, parent, provider);
-        }
-    }
-
-    private static List<Object> entities(CollectionModel<?> model) {
-        return model.getContent().stream().map(SirenPagedModelSerializer::entity).collect(toList());
     }
 
-    private static Object entity(Object embeddable) {
-        return embeddable;
+    private static Object metadata(PagedModel<?> model) {
+        return model instanceof CursorPagedModel ? ((CursorPagedModel<?>) model).getCursorMetadata() : model.getMetadata();
     }
 }
@@ -0,0 +1,47 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link org.springframework.hateoas.RepresentationModel} (or any other class whose instances are rendered as the
+ * {@literal properties} of a Siren entity) for which a {@link SirenPropertiesAccessor} is generated at compile time by the
+ * {@link SirenPropertiesProcessor}. The generated accessor reads the properties through plain getters and applies them through
+ * plain setters, instead of discovering and accessing them reflectively at runtime. Classes which are not annotated (or whose
+ * accessor was not generated) are handled reflectively as before.
+ * <p>
+ * Only the getters and setters declared by the annotated class and its superclasses are considered, except for the ones
+ * declared by the classes of Spring HATEOAS. Getters (or their fields) annotated with
+ * {@link com.fasterxml.jackson.annotation.JsonIgnore} are skipped, the name of a property can be changed through
+ * {@link com.fasterxml.jackson.annotation.JsonProperty}. The annotation is not inherited, subclasses need to be annotated on
+ * their own.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenPropertiesAccessor
+ * @see SirenPropertiesProcessor
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface SirenProperties {
+}
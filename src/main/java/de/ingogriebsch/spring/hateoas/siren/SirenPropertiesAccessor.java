@@ -0,0 +1,48 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import java.util.Map;
+
+/**
+ * Reads the properties of an instance of a specific type and applies properties to it, without the need of reflection.
+ * Implementations are generated by the {@link SirenPropertiesProcessor} for the classes annotated with {@link SirenProperties}
+ * and are looked up by their name, which is the name of the annotated class (and its enclosing classes, separated by
+ * {@literal _}) followed by {@literal _SirenPropertiesAccessor}.
+ *
+ * @param <T> the type the properties are read from and applied to.
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenProperties
+ */
+public interface SirenPropertiesAccessor<T> {
+
+    /**
+     * Reads the properties of the given instance.
+     *
+     * @param model the instance the properties are read from.
+     * @return the properties by their name.
+     */
+    Map<String, Object> read(T model);
+
+    /**
+     * Applies the given properties to the given instance. Properties which are not known or can't be written are ignored.
+     *
+     * @param model the instance the properties are applied to.
+     * @param properties the properties by their name.
+     */
+    void write(T model, Map<String, Object> properties);
+}
@@ -0,0 +1,82 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Optional;
+
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Looks up the {@link SirenPropertiesAccessor} which was generated for a specific class. The lookup is done once per class.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenProperties
+ */
+@NoArgsConstructor(access = PRIVATE)
+class SirenPropertiesAccessors {
+
+    static final String SUFFIX = "_SirenPropertiesAccessor";
+
+    private static final ClassValue<Optional<SirenPropertiesAccessor<Object>>> ACCESSORS =
+        new ClassValue<Optional<SirenPropertiesAccessor<Object>>>() {
+
+            @Override
+            protected Optional<SirenPropertiesAccessor<Object>> computeValue(Class<?> type) {
+                return Optional.ofNullable(lookup(type));
+            }
+        };
+
+    /**
+     * Returns the accessor generated for the given class.
+     *
+     * @param type the class the accessor is generated for.
+     * @return the accessor or {@literal null} if the class is not annotated with {@link SirenProperties} or if no accessor was
+     *         generated for it.
+     */
+    @Nullable
+    static SirenPropertiesAccessor<Object> get(Class<?> type) {
+        return ACCESSORS.get(type).orElse(null);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static SirenPropertiesAccessor<Object> lookup(Class<?> type) {
+        if (!type.isAnnotationPresent(SirenProperties.class)) {
+            return null;
+        }
+
+        try {
+            Class<?> accessor = Class.forName(name(type), true, type.getClassLoader());
+            return (SirenPropertiesAccessor<Object>) accessor.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // The processor didn't run for the class, so it is handled reflectively.
+            return null;
+        }
+    }
+
+    private static String name(Class<?> type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Class<?> enclosing = type.getEnclosingClass(); enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+        }
+        String packageName = type.getPackageName();
+        return (packageName.isEmpty() ? "" : packageName + ".") + name + SUFFIX;
+    }
+}
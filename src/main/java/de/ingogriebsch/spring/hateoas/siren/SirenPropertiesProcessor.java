@@ -0,0 +1,288 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.format;
+
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+import static com.google.common.collect.Maps.newLinkedHashMap;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * {@link Processor} which generates a {@link SirenPropertiesAccessor} for each class annotated with {@link SirenProperties}.
+ * The processor is not registered as a service, so it is not picked up by the compiler just because the library is on the
+ * classpath. It needs to be declared explicitly instead, e.g. through the {@literal annotationProcessorPaths} and
+ * {@literal annotationProcessors} of the {@literal maven-compiler-plugin}. Besides the accessor, the processor generates a
+ * {@literal reflect-config.json} below {@literal META-INF/native-image} which registers the accessor for the reflection of a
+ * GraalVM native image.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenProperties
+ */
+@SupportedAnnotationTypes("de.ingogriebsch.spring.hateoas.siren.SirenProperties")
+public class SirenPropertiesProcessor extends AbstractProcessor {
+
+    static final String NATIVE_IMAGE_DIRECTORY = "siren-properties-accessors";
+    private static final String SPRING_HATEOAS_PACKAGE = "org.springframework.hateoas";
+
+    /*
+     * (non-Javadoc)
+     * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(SirenProperties.class)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(ABSTRACT)
+                    || !element.getModifiers().contains(PUBLIC)) {
+                processingEnv.getMessager().printMessage(ERROR,
+                    format("@%s is only supported on public concrete classes!", SirenProperties.class.getSimpleName()), element);
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            try {
+                generate(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(ERROR, format("Cannot generate properties accessor: %s", e), element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = accessorName(type);
+        String typeName = type.getQualifiedName().toString();
+
+        Map<String, ExecutableElement> getters = newLinkedHashMap();
+        Map<String, ExecutableElement> setters = newLinkedHashMap();
+        collect(type, getters, setters);
+
+        String name = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter();
+            PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            out.printf("public final class %s implements %s<%s> {%n%n", simpleName, SirenPropertiesAccessor.class.getName(),
+                typeName);
+
+            out.printf("    @Override%n");
+            out.printf("    public java.util.Map<String, Object> read(%s model) {%n", typeName);
+            out.printf("        java.util.Map<String, Object> properties = new java.util.LinkedHashMap<>();%n");
+            getters.forEach((property, getter) -> out.printf("        properties.put(\"%s\", model.%s());%n", property,
+                getter.getSimpleName()));
+            out.printf("        return properties;%n");
+            out.printf("    }%n%n");
+
+            out.printf("    @Override%n");
+            out.printf("    @SuppressWarnings({ \"rawtypes\", \"unchecked\" })%n");
+            out.printf("    public void write(%s model, java.util.Map<String, Object> properties) {%n", typeName);
+            out.printf("        for (java.util.Map.Entry<String, Object> property : properties.entrySet()) {%n");
+            out.printf("            Object value = property.getValue();%n");
+            out.printf("            switch (property.getKey()) {%n");
+            setters.forEach((property, setter) -> {
+                out.printf("                case \"%s\":%n", property);
+                out.printf("                    model.%s(%s);%n", setter.getSimpleName(),
+                    convert(setter.getParameters().get(0).asType()));
+                out.printf("                    break;%n");
+            });
+            out.printf("                default:%n");
+            out.printf("                    break;%n");
+            out.printf("            }%n");
+            out.printf("        }%n");
+            out.printf("    }%n");
+            out.printf("}%n");
+        }
+
+        // The accessors are looked up reflectively, so they are registered for the reflection of a GraalVM native image.
+        String resource = format("META-INF/native-image/%s/%s/reflect-config.json", NATIVE_IMAGE_DIRECTORY, name);
+        try (Writer writer = processingEnv.getFiler().createResource(CLASS_OUTPUT, "", resource, type).openWriter();
+            PrintWriter out = new PrintWriter(writer)) {
+            out.printf("[%n");
+            out.printf("  {%n");
+            out.printf("    \"name\": \"%s\",%n", name);
+            out.printf("    \"methods\": [%n");
+            out.printf("      {%n");
+            out.printf("        \"name\": \"<init>\",%n");
+            out.printf("        \"parameterTypes\": []%n");
+            out.printf("      }%n");
+            out.printf("    ]%n");
+            out.printf("  }%n");
+            out.printf("]%n");
+        }
+    }
+
+    private void collect(TypeElement type, Map<String, ExecutableElement> getters, Map<String, ExecutableElement> setters) {
+        // The properties of the superclasses come first, the properties of Spring HATEOAS are handled by the serializers.
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!isSpringHateoasType(superType) && !Object.class.getName().equals(superType.getQualifiedName().toString())) {
+                collect(superType, getters, setters);
+            }
+        }
+
+        List<VariableElement> fields = ElementFilter.fieldsIn(type.getEnclosedElements());
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(PUBLIC) || method.getModifiers().contains(STATIC)) {
+                continue;
+            }
+
+            String methodName = method.getSimpleName().toString();
+            if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                String property = propertyName(methodName, method.getReturnType());
+                if (property != null && !ignored(method, fields, property)) {
+                    getters.put(jsonName(method, fields, property), method);
+                }
+            } else if (method.getParameters().size() == 1 && methodName.startsWith("set") && methodName.length() > 3) {
+                String property = mangle(methodName.substring(3));
+                if (!ignored(method, fields, property)) {
+                    setters.put(jsonName(method, fields, property), method);
+                }
+            }
+        }
+    }
+
+    private static String propertyName(String methodName, TypeMirror returnType) {
+        if (methodName.startsWith("get") && methodName.length() > 3 && !"getClass".equals(methodName)) {
+            return mangle(methodName.substring(3));
+        }
+        if (methodName.startsWith("is") && methodName.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+            return mangle(methodName.substring(2));
+        }
+        return null;
+    }
+
+    /**
+     * Lower-cases the leading upper-case characters the same way Jackson does, e.g. {@code URL} becomes {@code url}.
+     */
+    private static String mangle(String name) {
+        StringBuilder sb = new StringBuilder(name);
+        for (int i = 0; i < sb.length() && Character.isUpperCase(sb.charAt(i)); i++) {
+            sb.setCharAt(i, Character.toLowerCase(sb.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static boolean ignored(ExecutableElement method, List<VariableElement> fields, String property) {
+        if (method.getAnnotation(JsonIgnore.class) != null) {
+            return method.getAnnotation(JsonIgnore.class).value();
+        }
+        VariableElement field = field(fields, property);
+        return field != null && field.getAnnotation(JsonIgnore.class) != null && field.getAnnotation(JsonIgnore.class).value();
+    }
+
+    private static String jsonName(ExecutableElement method, List<VariableElement> fields, String property) {
+        JsonProperty annotation = method.getAnnotation(JsonProperty.class);
+        if (annotation == null) {
+            VariableElement field = field(fields, property);
+            annotation = field != null ? field.getAnnotation(JsonProperty.class) : null;
+        }
+        return annotation != null && !annotation.value().isEmpty() ? annotation.value() : property;
+    }
+
+    private static VariableElement field(List<VariableElement> fields, String property) {
+        return fields.stream().filter(f -> f.getSimpleName().contentEquals(property)).findFirst().orElse(null);
+    }
+
+    private String convert(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "(Boolean) value";
+            case CHAR:
+                return "(Character) value";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return format("((Number) value).%sValue()", type.getKind().name().toLowerCase());
+            default:
+                break;
+        }
+
+        String erasure = processingEnv.getTypeUtils().erasure(type).toString();
+        List<String> numbers = List.of("Byte", "Short", "Integer", "Long", "Float", "Double");
+        for (String number : numbers) {
+            if (erasure.equals("java.lang." + number)) {
+                String primitive = "Integer".equals(number) ? "int" : number.toLowerCase();
+                return format("value != null ? (%s) ((Number) value).%sValue() : null", erasure, primitive);
+            }
+        }
+        return format("(%s) value", erasure);
+    }
+
+    private static boolean isSpringHateoasType(TypeElement type) {
+        Element enclosing = type;
+        while (!(enclosing instanceof PackageElement)) {
+            enclosing = enclosing.getEnclosingElement();
+        }
+        String packageName = ((PackageElement) enclosing).getQualifiedName().toString();
+        return packageName.equals(SPRING_HATEOAS_PACKAGE) || packageName.startsWith(SPRING_HATEOAS_PACKAGE + ".");
+    }
+
+    private static String accessorName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing =
+            enclosing.getEnclosingElement()) {
+            name = enclosing.getSimpleName() + "_" + name;
+        }
+        return name + SirenPropertiesAccessors.SUFFIX;
+    }
+}
@@ -0,0 +1,382 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static de.ingogriebsch.spring.hateoas.siren.SirenNavigables.navigables;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import lombok.NonNull;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Links;
+
+/**
+ * A reader which iterates over the {@literal entities} of a Siren entity one element at a time, without materializing the whole
+ * Siren entity (similar to Jackson's {@link com.fasterxml.jackson.databind.MappingIterator}). This allows to process Siren
+ * entities of arbitrary size in constant memory instead of deserializing them into a {@link CollectionModel}.
+ * <p>
+ * The {@literal properties}, {@literal links} and {@literal actions} of the Siren entity are exposed as soon as they are
+ * encountered while reading the Siren entity. Because of that, they are only completely available if the reader is exhausted.
+ * <p>
+ * The given {@link ObjectMapper} must be configured to handle Siren entities, e.g. through
+ * {@link SirenMediaTypeConfiguration#configureObjectMapper(ObjectMapper)}. Instances of this class are not thread-safe.
+ *
+ * @param <T> the type of the entities contained in the Siren entity.
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+ */
+public class SirenReader<T> implements Iterator<T>, Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final SirenLinkConverter linkConverter;
+    private final ObjectReader entityReader;
+    private final JsonParser parser;
+
+    private Map<String, Object> properties = newHashMap();
+    private List<SirenLink> links = newArrayList();
+    private List<SirenAction> actions = newArrayList();
+    private State state = State.BEFORE_ENTITIES;
+    private boolean available;
+    private T value;
+
+    private SirenReader(ObjectMapper objectMapper, SirenLinkConverter linkConverter, JavaType entityType, JsonParser parser)
+        throws IOException {
+        this.objectMapper = objectMapper;
+        this.linkConverter = linkConverter;
+        entityReader = objectMapper.readerFor(entityType);
+        this.parser = parser;
+
+        try {
+            JsonToken token = parser.nextToken();
+            if (!START_OBJECT.equals(token)) {
+                throw new JsonParseException(parser, format("Token does not represent '%s' [but '%s']!", START_OBJECT, token));
+            }
+        } catch (IOException | RuntimeException e) {
+            // The reader is not handed out, so the parser (and therefore the source) must be closed here.
+            try {
+                parser.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new {@link SirenReader} reading the Siren entity from the given {@literal source}.
+     *
+     * @param <T> the type of the entities contained in the Siren entity.
+     * @param objectMapper the mapper which is used to read the Siren entity. Must not be {@literal null}.
+     * @param entityType the type of the entities contained in the Siren entity. Must not be {@literal null}.
+     * @param source the source the Siren entity is read from. Is closed if the reader is closed. Must not be {@literal null}.
+     * @return the created {@link SirenReader} instance.
+     * @throws IOException if the beginning of the Siren entity could not be read.
+     */
+    public static <T> SirenReader<T> of(@NonNull ObjectMapper objectMapper, @NonNull Class<T> entityType,
+        @NonNull InputStream source) throws IOException {
+        return of(objectMapper, TypeFactory.defaultInstance().constructType(entityType), source);
+    }
+
+    /**
+     * Creates a new {@link SirenReader} reading the Siren entity from the given {@literal source}.
+     *
+     * @param <T> the type of the entities contained in the Siren entity.
+     * @param objectMapper the mapper which is used to read the Siren entity. Must not be {@literal null}.
+     * @param entityType the type of the entities contained in the Siren entity. Must not be {@literal null}.
+     * @param source the source the Siren entity is read from. Is closed if the reader is closed. Must not be {@literal null}.
+     * @return the created {@link SirenReader} instance.
+     * @throws IOException if the beginning of the Siren entity could not be read.
+     */
+    public static <T> SirenReader<T> of(@NonNull ObjectMapper objectMapper, @NonNull JavaType entityType,
+        @NonNull InputStream source) throws IOException {
+        SirenLinkConverter linkConverter = linkConverter(objectMapper);
+        return new SirenReader<>(objectMapper, linkConverter, entityType, objectMapper.getFactory().createParser(source));
+    }
+
+    /**
+     * Creates a new {@link SirenReader} reading the Siren entity from the given {@literal source}.
+     *
+     * @param <T> the type of the entities contained in the Siren entity.
+     * @param objectMapper the mapper which is used to read the Siren entity. Must not be {@literal null}.
+     * @param entityType the type of the entities contained in the Siren entity. Must not be {@literal null}.
+     * @param source the source the Siren entity is read from. Is closed if the reader is closed. Must not be {@literal null}.
+     * @return the created {@link SirenReader} instance.
+     * @throws IOException if the beginning of the Siren entity could not be read.
+     */
+    public static <T> SirenReader<T> of(@NonNull ObjectMapper objectMapper, @NonNull Class<T> entityType, @NonNull Reader source)
+        throws IOException {
+        return of(objectMapper, TypeFactory.defaultInstance().constructType(entityType), source);
+    }
+
+    /**
+     * Creates a new {@link SirenReader} reading the Siren entity from the given {@literal source}.
+     *
+     * @param <T> the type of the entities contained in the Siren entity.
+     * @param objectMapper the mapper which is used to read the Siren entity. Must not be {@literal null}.
+     * @param entityType the type of the entities contained in the Siren entity. Must not be {@literal null}.
+     * @param source the source the Siren entity is read from. Is closed if the reader is closed. Must not be {@literal null}.
+     * @return the created {@link SirenReader} instance.
+     * @throws IOException if the beginning of the Siren entity could not be read.
+     */
+    public static <T> SirenReader<T> of(@NonNull ObjectMapper objectMapper, @NonNull JavaType entityType, @NonNull Reader source)
+        throws IOException {
+        SirenLinkConverter linkConverter = linkConverter(objectMapper);
+        return new SirenReader<>(objectMapper, linkConverter, entityType, objectMapper.getFactory().createParser(source));
+    }
+
+    /**
+     * Creates a new {@link SirenReader} reading the Siren entity from the file located at the given {@literal path}.
+     *
+     * @param <T> the type of the entities contained in the Siren entity.
+     * @param objectMapper the mapper which is used to read the Siren entity. Must not be {@literal null}.
+     * @param entityType the type of the entities contained in the Siren entity. Must not be {@literal null}.
+     * @param path the path of the file the Siren entity is read from. Must not be {@literal null}.
+     * @return the created {@link SirenReader} instance.
+     * @throws IOException if the file could not be opened or the beginning of the Siren entity could not be read.
+     */
+    public static <T> SirenReader<T> of(@NonNull ObjectMapper objectMapper, @NonNull Class<T> entityType, @NonNull Path path)
+        throws IOException {
+        return of(objectMapper, TypeFactory.defaultInstance().constructType(entityType), path);
+    }
+
+    /**
+     * Creates a new {@link SirenReader} reading the Siren entity from the file located at the given {@literal path}.
+     *
+     * @param <T> the type of the entities contained in the Siren entity.
+     * @param objectMapper the mapper which is used to read the Siren entity. Must not be {@literal null}.
+     * @param entityType the type of the entities contained in the Siren entity. Must not be {@literal null}.
+     * @param path the path of the file the Siren entity is read from. Must not be {@literal null}.
+     * @return the created {@link SirenReader} instance.
+     * @throws IOException if the file could not be opened or the beginning of the Siren entity could not be read.
+     */
+    public static <T> SirenReader<T> of(@NonNull ObjectMapper objectMapper, @NonNull JavaType entityType, @NonNull Path path)
+        throws IOException {
+        InputStream source = Files.newInputStream(path);
+        try {
+            return of(objectMapper, entityType, source);
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns whether the Siren entity contains another entity. In contrast to {@link #hasNext()} this method does not wrap the
+     * exception which may occur while reading the Siren entity.
+     *
+     * @return {@literal true} if the Siren entity contains another entity, {@literal false} otherwise.
+     * @throws IOException if the Siren entity could not be read.
+     */
+    public boolean hasNextValue() throws IOException {
+        if (!available) {
+            available = advance();
+        }
+        return available;
+    }
+
+    /**
+     * Returns the next entity contained in the Siren entity. In contrast to {@link #next()} this method does not wrap the
+     * exception which may occur while reading the Siren entity.
+     *
+     * @return the next entity contained in the Siren entity.
+     * @throws IOException if the Siren entity could not be read.
+     * @throws NoSuchElementException if the Siren entity does not contain another entity.
+     */
+    public T nextValue() throws IOException {
+        if (!hasNextValue()) {
+            throw new NoSuchElementException("No more entities available!");
+        }
+
+        T result = value;
+        value = null;
+        available = false;
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException if the Siren entity could not be read.
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            return hasNextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException if the Siren entity could not be read.
+     */
+    @Override
+    public T next() {
+        try {
+            return nextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the {@literal properties} of the Siren entity which are encountered so far.
+     *
+     * @return the properties of the Siren entity. Is never {@literal null}.
+     * @see <a href="https://github.com/kevinswiber/siren#properties" target="_blank">Siren Entity Properties</a>
+     */
+    public Map<String, Object> getProperties() {
+        return unmodifiableMap(properties);
+    }
+
+    /**
+     * Returns the {@literal links} (and {@literal actions}) of the Siren entity which are encountered so far, converted into
+     * {@link Links} the same way as if the Siren entity is deserialized into a {@link CollectionModel}.
+     *
+     * @return the links of the Siren entity. Is never {@literal null}.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Entity Links</a>
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Entity Actions</a>
+     */
+    public Links getLinks() {
+        return Links.of(linkConverter.from(navigables(links, actions)));
+    }
+
+    /**
+     * Reads the remaining parts of the Siren entity (skipping the entities which are not consumed yet), so that all
+     * {@link #getProperties() properties} and {@link #getLinks() links} are available afterwards.
+     *
+     * @return the current {@link SirenReader} instance.
+     * @throws IOException if the Siren entity could not be read.
+     */
+    public SirenReader<T> skipRemaining() throws IOException {
+        while (!State.DONE.equals(state)) {
+            if (State.IN_ENTITIES.equals(state)) {
+                // Skipping the remaining entities on the token level is much cheaper than binding them.
+                for (JsonToken token = parser.nextToken(); token != null && !END_ARRAY.equals(token); token =
+                    parser.nextToken()) {
+                    parser.skipChildren();
+                }
+                state = State.AFTER_ENTITIES;
+            } else {
+                advance();
+            }
+        }
+
+        value = null;
+        available = false;
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.DONE;
+        parser.close();
+    }
+
+    private boolean advance() throws IOException {
+        if (State.IN_ENTITIES.equals(state)) {
+            if (readEntity()) {
+                return true;
+            }
+        }
+
+        while (!State.DONE.equals(state)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || END_OBJECT.equals(token)) {
+                state = State.DONE;
+            } else if (FIELD_NAME.equals(token)) {
+                String name = parser.getCurrentName();
+                token = parser.nextToken();
+
+                if ("entities".equals(name) && State.BEFORE_ENTITIES.equals(state) && START_ARRAY.equals(token)) {
+                    state = State.IN_ENTITIES;
+                    if (readEntity()) {
+                        return true;
+                    }
+                } else if ("properties".equals(name) && START_OBJECT.equals(token)) {
+                    properties = objectMapper.readValue(parser, mapType());
+                } else if ("links".equals(name) && START_ARRAY.equals(token)) {
+                    links = objectMapper.readValue(parser, listType(SirenLink.class));
+                } else if ("actions".equals(name) && START_ARRAY.equals(token)) {
+                    actions = objectMapper.readValue(parser, listType(SirenAction.class));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean readEntity() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of input while reading the entities!");
+        }
+        if (END_ARRAY.equals(token)) {
+            state = State.AFTER_ENTITIES;
+            return false;
+        }
+
+        value = entityReader.readValue(parser);
+        return true;
+    }
+
+    private JavaType mapType() {
+        return objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class);
+    }
+
+    private JavaType listType(Class<?> elementType) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    private static SirenLinkConverter linkConverter(ObjectMapper objectMapper) {
+        return SirenHandlerInstantiator.from(objectMapper).getDeserializerFacilities().getLinkConverter();
+    }
+
+    private enum State {
+            BEFORE_ENTITIES, IN_ENTITIES, AFTER_ENTITIES, DONE
+    }
+}
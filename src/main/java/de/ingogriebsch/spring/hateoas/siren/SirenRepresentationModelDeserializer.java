@@ -42,12 +42,13 @@ class SirenRepresentationModelDeserializer extends AbstractSirenDeserializer<Rep
     private static final long serialVersionUID = -3683235541542548855L;
     private static final JavaType TYPE = defaultInstance().constructType(RepresentationModel.class);
 
-    SirenRepresentationModelDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities) {
+    SirenRepresentationModelDeserializer(SirenRuntimeConfiguration configuration,
+        SirenDeserializerFacilities deserializerFacilities) {
         this(configuration, deserializerFacilities, TYPE);
     }
 
-    SirenRepresentationModelDeserializer(SirenConfiguration configuration, SirenDeserializerFacilities deserializerFacilities,
-        JavaType contentType) {
+    SirenRepresentationModelDeserializer(SirenRuntimeConfiguration configuration,
+        SirenDeserializerFacilities deserializerFacilities, JavaType contentType) {
         super(configuration, deserializerFacilities, contentType);
     }
 
@@ -32,15 +32,16 @@ import org.springframework.lang.Nullable;
  * @since 1.0.0
  * @see RepresentationModel
  */
-class SirenRepresentationModelSerializer extends AbstractSirenSerializer<RepresentationModel<?>> {
+class SirenRepresentationModelSerializer extends AbstractSirenSerializer<RepresentationModel<?>>
+    implements SirenEntityConverter<RepresentationModel<?>> {
 
     private static final long serialVersionUID = 2893716845519287714L;
 
-    SirenRepresentationModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+    SirenRepresentationModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
         this(configuration, serializerFacilities, null);
     }
 
-    SirenRepresentationModelSerializer(SirenConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+    SirenRepresentationModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
         @Nullable BeanProperty property) {
         super(RepresentationModel.class, configuration, serializerFacilities, property);
     }
@@ -52,25 +53,22 @@ class SirenRepresentationModelSerializer extends AbstractSirenSerializer<Represe
 
     @Override
     public void serialize(RepresentationModel<?> model, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        serialize(model, this, gen, provider);
+    }
+
+    @Override
+    public SirenEntity toSirenEntity(RepresentationModel<?> model, SirenSerializationContext context, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
         SirenNavigables navigables = getLinkConverter().to(model.getLinks());
 
-        SirenEntity sirenEntity = SirenEntity.builder() //
+        return SirenEntity.builder() //
             .actions(navigables.getActions()) //
-            .classes(classes(model)) //
+            .classes(classes(model, context)) //
             .links(navigables.getLinks()) //
             .properties(properties(model)) //
-            .rels(rels(model, provider)) //
+            .rels(rels(model, context)) //
             .title(title(model.getClass())) //
             .build();
-
-        JsonSerializer<Object> serializer = provider.findValueSerializer(SirenEntity.class, property);
-
-        Object parent = setAttribute(ATTR_KEY_PARENT, model, provider);
-        try {
-            serializer.serialize(sirenEntity, gen, provider);
-        } finally {
-            setAttribute(ATTR_KEY_PARENT, parent, provider);
-        }
     }
 
     private Map<String, Object> properties(RepresentationModel<?> model) {
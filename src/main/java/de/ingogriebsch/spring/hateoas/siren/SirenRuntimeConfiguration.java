@@ -0,0 +1,92 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * An immutable snapshot of a {@link SirenConfiguration} which is taken once when the Siren support is configured. The
+ * serializers and deserializers only read from the snapshot, so changes applied to the {@link SirenConfiguration} afterwards
+ * are not reflected and the settings can be shared between all threads without further synchronization.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenConfiguration
+ */
+@AllArgsConstructor(access = PRIVATE)
+@Getter
+final class SirenRuntimeConfiguration {
+
+    private final boolean entityAndCollectionModelSubclassingEnabled;
+    private final List<TypeMapping> actionFieldTypeMappings;
+    private final Consumer<ObjectMapper> objectMapperCustomizer;
+    private final int dataBufferChunkSize;
+    private final int flushAfterEntities;
+    private final int flushAfterBytes;
+    private final boolean parallelSerializationEnabled;
+    private final int parallelSerializationThreshold;
+    private final ForkJoinPool parallelSerializationPool;
+    private final boolean parallelDeserializationEnabled;
+    private final int parallelDeserializationThreshold;
+    private final ForkJoinPool parallelDeserializationPool;
+    private final boolean lazyEntityBindingEnabled;
+    private final boolean repeatedEntityMemoizationEnabled;
+    private final SirenMetrics metrics;
+    private final boolean warmUpEnabled;
+    private final int warmUpIterations;
+    private final int titleCacheSize;
+    private final Duration titleCacheExpiry;
+
+    /**
+     * Takes a snapshot of the given configuration.
+     *
+     * @param configuration the configuration the snapshot is taken from. Must not be {@literal null}.
+     * @return the snapshot of the configuration.
+     */
+    static SirenRuntimeConfiguration of(@NonNull SirenConfiguration configuration) {
+        return new SirenRuntimeConfiguration( //
+            configuration.isEntityAndCollectionModelSubclassingEnabled(), //
+            List.copyOf(configuration.getActionFieldTypeMappings()), //
+            configuration.getObjectMapperCustomizer(), //
+            configuration.getDataBufferChunkSize(), //
+            configuration.getFlushAfterEntities(), //
+            configuration.getFlushAfterBytes(), //
+            configuration.getParallelSerializationThreshold() > 0, //
+            configuration.getParallelSerializationThreshold(), //
+            configuration.getParallelSerializationPool(), //
+            configuration.getParallelDeserializationThreshold() > 0, //
+            configuration.getParallelDeserializationThreshold(), //
+            configuration.getParallelDeserializationPool(), //
+            configuration.isLazyEntityBindingEnabled(), //
+            configuration.isRepeatedEntityMemoizationEnabled(), //
+            configuration.getMetrics(), //
+            configuration.isWarmUpEnabled(), //
+            configuration.getWarmUpIterations(), //
+            configuration.getTitleCacheSize(), //
+            configuration.getTitleCacheExpiry() //
+        );
+    }
+}
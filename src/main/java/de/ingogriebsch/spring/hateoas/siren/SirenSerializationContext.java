@@ -0,0 +1,178 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.lang.Nullable;
+
+/**
+ * The context of the serialization of a (possibly nested) Siren entity. Provides the ancestors of the
+ * {@link RepresentationModel} which is currently transfered into a Siren entity.
+ * <p>
+ * An instance is created once per serialization and is afterwards only pushed and popped while the nested entities are
+ * serialized. It must not be retained beyond the call it is handed over to.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenEntityRelProvider#getWithContext(RepresentationModel, SirenSerializationContext)
+ * @see SirenEntityClassProvider#getWithContext(RepresentationModel, SirenSerializationContext)
+ */
+public final class SirenSerializationContext {
+
+    private static final String ATTR_KEY = SirenSerializationContext.class.getName();
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final boolean snapshot;
+    private RepresentationModel<?>[] ancestors;
+    private int depth;
+    private List<LinkRelation> pendingRels;
+    private SirenEntityMemo memo;
+
+    private SirenSerializationContext(RepresentationModel<?>[] ancestors, int depth, boolean snapshot) {
+        this.ancestors = ancestors;
+        this.depth = depth;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns the context of the serialization the given {@literal provider} belongs to. The context is created on first
+     * access. If the provider inherited a {@link #snapshot(RepresentationModel) snapshot} of another context, the created context
+     * starts with the ancestors of the snapshot.
+     *
+     * @param provider the provider of the current serialization.
+     * @return the context of the current serialization, never {@literal null}.
+     */
+    static SirenSerializationContext of(SerializerProvider provider) {
+        SirenSerializationContext context = (SirenSerializationContext) provider.getAttribute(ATTR_KEY);
+        if (context == null || context.snapshot) {
+            RepresentationModel<?>[] ancestors = context != null //
+                ? copyOf(context.ancestors, Math.max(context.depth, INITIAL_CAPACITY))
+                : new RepresentationModel<?>[INITIAL_CAPACITY];
+            context = new SirenSerializationContext(ancestors, context != null ? context.depth : 0, false);
+            provider.setAttribute(ATTR_KEY, context);
+        }
+        return context;
+    }
+
+    /**
+     * @return the attribute key a {@link #snapshot(RepresentationModel) snapshot} has to be stored with to be inherited by
+     *         another serialization.
+     */
+    static String attributeKey() {
+        return ATTR_KEY;
+    }
+
+    /**
+     * Returns the ancestors of the {@link RepresentationModel} which is currently transfered into a Siren entity, starting with
+     * the root of the serialization and ending with the parent of the model.
+     *
+     * @return the ancestors of the current model, never {@literal null} but empty if the current model is the root.
+     */
+    public List<RepresentationModel<?>> getAncestors() {
+        return unmodifiableList(asList(copyOf(ancestors, depth)));
+    }
+
+    /**
+     * @return the parent of the {@link RepresentationModel} which is currently transfered into a Siren entity or
+     *         {@literal null} if the model is the root.
+     */
+    @Nullable
+    public RepresentationModel<?> getParent() {
+        return depth > 0 ? ancestors[depth - 1] : null;
+    }
+
+    /**
+     * @return the amount of ancestors of the {@link RepresentationModel} which is currently transfered into a Siren entity.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns an immutable copy of this context (having the given {@literal parent} as additional ancestor) which can be handed
+     * over to another serialization, e.g. one that renders the entities of the parent on another thread.
+     *
+     * @param parent the parent of the models which are serialized through the other serialization.
+     * @return the snapshot of this context.
+     */
+    SirenSerializationContext snapshot(RepresentationModel<?> parent) {
+        RepresentationModel<?>[] ancestors = copyOf(this.ancestors, depth + 1);
+        ancestors[depth] = parent;
+        return new SirenSerializationContext(ancestors, depth + 1, true);
+    }
+
+    /**
+     * @return the memo of the repeated entities of the current serialization. A context created from a snapshot starts with an
+     *         empty memo.
+     */
+    SirenEntityMemo memo() {
+        if (memo == null) {
+            memo = new SirenEntityMemo();
+        }
+        return memo;
+    }
+
+    void push(RepresentationModel<?> model) {
+        assertNotSnapshot();
+        if (depth == ancestors.length) {
+            ancestors = copyOf(ancestors, depth * 2);
+        }
+        ancestors[depth++] = model;
+    }
+
+    void pop() {
+        assertNotSnapshot();
+        ancestors[--depth] = null;
+    }
+
+    /**
+     * Sets the relations of the next {@link RepresentationModel} which is transfered into a Siren entity.
+     *
+     * @param rels the relations, can be {@literal null}.
+     * @return the relations which were pending before.
+     */
+    @Nullable
+    List<LinkRelation> setPendingRels(@Nullable List<LinkRelation> rels) {
+        assertNotSnapshot();
+        List<LinkRelation> former = pendingRels;
+        pendingRels = rels;
+        return former;
+    }
+
+    /**
+     * @return the pending relations (which are not pending anymore afterwards), can be {@literal null}.
+     */
+    @Nullable
+    List<LinkRelation> takePendingRels() {
+        List<LinkRelation> rels = pendingRels;
+        pendingRels = null;
+        return rels;
+    }
+
+    private void assertNotSnapshot() {
+        if (snapshot) {
+            throw new IllegalStateException("A snapshot of a serialization context cannot be changed!");
+        }
+    }
+}
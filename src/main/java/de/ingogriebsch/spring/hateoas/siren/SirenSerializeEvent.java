@@ -0,0 +1,72 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+
+/**
+ * Flight recorder event which is emitted for the serialization of a {@link org.springframework.hateoas.RepresentationModel}
+ * into a Siren entity. Only the root of a serialization is recorded, the nested entities are part of it. Disabled by
+ * default, the event is only created if it is enabled.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see AbstractSirenSerializer
+ */
+@Category({ "Spring HATEOAS", "Siren" })
+@Description("Serialization of a model into a Siren entity")
+@Enabled(false)
+@Label("Siren Serialize")
+@Name("de.ingogriebsch.spring.hateoas.siren.SirenSerialize")
+@StackTrace(false)
+class SirenSerializeEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(SirenSerializeEvent.class);
+
+    @Label("Model Class")
+    Class<?> modelClass;
+
+    @Label("Entities")
+    int entities;
+
+    @Label("Links")
+    int links;
+
+    @Label("Actions")
+    int actions;
+
+    /**
+     * @return the begun event or {@literal null} if the event is not enabled in any running recording.
+     */
+    @Nullable
+    static SirenSerializeEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+
+        SirenSerializeEvent event = new SirenSerializeEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,123 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.Collections.emptyList;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import lombok.NonNull;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link PagedModel} whose content are the plain elements of a slice (or a page) and whose elements get their links and
+ * actions only while the model is serialized. So the elements are not wrapped into models of their own. Is only created
+ * through the {@link SirenSliceModelBuilder}.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenSliceModelBuilder
+ * @see SirenSliceModelSerializer
+ */
+class SirenSliceModel<T> extends PagedModel<T> {
+
+    private final List<T> content;
+    @Nullable
+    private final Map<String, Object> sliceMetadata;
+    private final List<Function<Object, ? extends Iterable<Link>>> itemLinks;
+    @Nullable
+    private final Function<Object, Object[]> itemValues;
+    private final List<SirenLinkTemplate> itemLinkTemplates;
+
+    SirenSliceModel(@NonNull List<T> content, @Nullable PageMetadata metadata, @Nullable Map<String, Object> sliceMetadata,
+        @NonNull Iterable<Link> links, @NonNull List<Function<Object, ? extends Iterable<Link>>> itemLinks,
+        @Nullable Function<Object, Object[]> itemValues, @NonNull List<SirenLinkTemplate> itemLinkTemplates) {
+        // The content is held separately because the constructor of the super class copies all elements.
+        super(emptyList(), metadata, links);
+        this.content = content;
+        this.sliceMetadata = sliceMetadata;
+        this.itemLinks = itemLinks;
+        this.itemValues = itemValues;
+        this.itemLinkTemplates = itemLinkTemplates;
+    }
+
+    @Override
+    public Collection<T> getContent() {
+        return content;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    /**
+     * @return the metadata of the slice if the model is not based on a page, otherwise {@literal null}.
+     */
+    @Nullable
+    Map<String, Object> getSliceMetadata() {
+        return sliceMetadata;
+    }
+
+    /**
+     * Converts the links and actions of the given element of the content.
+     *
+     * @param item the element of the content the links and actions are created for.
+     * @param converter the converter the links are converted through.
+     * @return the links and actions of the element.
+     */
+    SirenNavigables navigables(Object item, SirenLinkConverter converter) {
+        List<SirenNavigables> navigables = newArrayListWithCapacity(itemLinks.size() + itemLinkTemplates.size());
+        for (Function<Object, ? extends Iterable<Link>> links : itemLinks) {
+            navigables.add(converter.to(links.apply(item)));
+        }
+        if (itemValues != null) {
+            Object[] values = itemValues.apply(item);
+            for (SirenLinkTemplate template : itemLinkTemplates) {
+                navigables.add(template.navigables(converter, t -> t.expand(values)));
+            }
+        }
+        return navigables.size() == 1 ? navigables.get(0) : SirenNavigables.merge(navigables);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+
+        SirenSliceModel<?> that = (SirenSliceModel<?>) obj;
+        return content.equals(that.content) && Objects.equals(getMetadata(), that.getMetadata())
+                && Objects.equals(sliceMetadata, that.sliceMetadata) && getLinks().equals(that.getLinks());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, getMetadata(), sliceMetadata, getLinks());
+    }
+}
@@ -0,0 +1,189 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.apache.commons.lang3.Validate.noNullElements;
+import static org.springframework.hateoas.IanaLinkRelations.FIRST;
+import static org.springframework.hateoas.IanaLinkRelations.LAST;
+import static org.springframework.hateoas.IanaLinkRelations.NEXT;
+import static org.springframework.hateoas.IanaLinkRelations.PREV;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Builder to build a {@link PagedModel} directly from a Spring Data {@link Slice} (or {@link Page}). In contrast to a
+ * {@link PagedModel} assembled through wrapping each element into an {@link org.springframework.hateoas.EntityModel}, the
+ * elements of the built model are not wrapped. Their links and actions are created through the given callbacks only while the
+ * model is serialized into a Siren entity, so no intermediate models are allocated per element.
+ * <p>
+ * The {@literal class}, {@literal rel} and {@literal title} of the Siren entities of the elements are evaluated once per type
+ * of element and serialization (as if the element would have been wrapped into an
+ * {@link org.springframework.hateoas.EntityModel}). The metadata of a {@link Page} is exposed as the properties of the Siren
+ * entity in the same way as the metadata of a {@link PagedModel}, the metadata of a {@link Slice} only contains its
+ * {@literal size} and {@literal number}.
+ * <p>
+ * This builder is only usable if Spring Data Commons is available on the classpath.
+ *
+ * @param <T> the type of the elements of the slice.
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see Slice
+ * @see Page
+ */
+public final class SirenSliceModelBuilder<T> {
+
+    private static final String PAGE_PARAMETER = "page";
+    private static final String SIZE_PARAMETER = "size";
+
+    private final Slice<T> slice;
+    private final List<Link> links = newArrayList();
+    private final List<Function<Object, ? extends Iterable<Link>>> itemLinks = newArrayList();
+    private final List<SirenLinkTemplate> itemLinkTemplates = newArrayList();
+    private Function<Object, Object[]> itemValues;
+
+    private SirenSliceModelBuilder(Slice<T> slice) {
+        this.slice = slice;
+    }
+
+    /**
+     * Creates a new {@link SirenSliceModelBuilder}.
+     *
+     * @param <T> the type of the elements of the slice.
+     * @param slice the slice (or page) the model is built from. Must not be {@literal null}.
+     * @return the created {@link SirenSliceModelBuilder} instance.
+     */
+    public static <T> SirenSliceModelBuilder<T> sirenSliceModel(@NonNull Slice<T> slice) {
+        return new SirenSliceModelBuilder<>(slice);
+    }
+
+    /**
+     * Adds the given {@literal links} to the {@link PagedModel} to be built.
+     *
+     * @param links must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenSliceModelBuilder} instance.
+     */
+    public SirenSliceModelBuilder<T> linksAndActions(@NonNull Link... links) {
+        this.links.addAll(newArrayList(noNullElements(links)));
+        return this;
+    }
+
+    /**
+     * Adds the given {@literal self} link and the navigation links ({@literal first}, {@literal prev}, {@literal next} and
+     * {@literal last}) of the slice to the {@link PagedModel} to be built. The navigation links are derived from the
+     * {@literal href} of the given link by replacing its {@literal page} and {@literal size} request parameters. The
+     * {@literal last} link is only added if the model is built from a {@link Page}.
+     *
+     * @param self the link which points to the current slice. Must not be {@literal null}.
+     * @return the current {@link SirenSliceModelBuilder} instance.
+     */
+    public SirenSliceModelBuilder<T> navigationLinks(@NonNull Link self) {
+        String href = self.isTemplated() ? self.expand().getHref() : self.getHref();
+
+        links.add(self);
+        if (!slice.isFirst()) {
+            links.add(navigationLink(href, 0, FIRST));
+        }
+        if (slice.hasPrevious()) {
+            links.add(navigationLink(href, slice.getNumber() - 1, PREV));
+        }
+        if (slice.hasNext()) {
+            links.add(navigationLink(href, slice.getNumber() + 1, NEXT));
+        }
+        if (slice instanceof Page && !slice.isLast()) {
+            links.add(navigationLink(href, ((Page<?>) slice).getTotalPages() - 1, LAST));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the links (and their affordances) returned by the given {@literal links} function to the Siren entity of each
+     * element of the slice. The function is called for each element while the model is serialized.
+     *
+     * @param links the function which returns the links of an element. Must not be {@literal null}.
+     * @return the current {@link SirenSliceModelBuilder} instance.
+     */
+    @SuppressWarnings("unchecked")
+    public SirenSliceModelBuilder<T> itemLinksAndActions(@NonNull Function<? super T, ? extends Iterable<Link>> links) {
+        itemLinks.add((Function<Object, ? extends Iterable<Link>>) links);
+        return this;
+    }
+
+    /**
+     * Adds the links and actions which result from expanding the given {@literal templates} to the Siren entity of each element
+     * of the slice. The templates are converted only once and afterwards expanded with the values extracted from each element
+     * (e.g. its id).
+     *
+     * @param values the function which extracts the values the templates are expanded with from an element. Must not be
+     *        {@literal null}.
+     * @param templates must not be {@literal null} and must not contain {@literal null} values.
+     * @return the current {@link SirenSliceModelBuilder} instance.
+     * @throws IllegalStateException if templates were already added together with another {@literal values} function.
+     * @see SirenLinkTemplate
+     */
+    @SuppressWarnings("unchecked")
+    public SirenSliceModelBuilder<T> itemLinksAndActions(@NonNull Function<? super T, Object[]> values,
+        @NonNull SirenLinkTemplate... templates) {
+        if (itemValues != null && itemValues != values) {
+            throw new IllegalStateException("All item link templates must be expanded through the same values function!");
+        }
+        itemValues = (Function<Object, Object[]>) values;
+        itemLinkTemplates.addAll(newArrayList(noNullElements(templates)));
+        return this;
+    }
+
+    /**
+     * Builds a {@link PagedModel} based on the content hold in this {@link SirenSliceModelBuilder} instance.
+     *
+     * @return will never be {@literal null}.
+     */
+    public PagedModel<T> build() {
+        PageMetadata metadata = null;
+        Map<String, Object> sliceMetadata = null;
+        if (slice instanceof Page) {
+            Page<?> page = (Page<?>) slice;
+            metadata = new PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+        } else {
+            sliceMetadata = new LinkedHashMap<>();
+            sliceMetadata.put(SIZE_PARAMETER, slice.getSize());
+            sliceMetadata.put("number", slice.getNumber());
+        }
+
+        return new SirenSliceModel<>(slice.getContent(), metadata, sliceMetadata, newArrayList(links), newArrayList(itemLinks),
+            itemValues, newArrayList(itemLinkTemplates));
+    }
+
+    private Link navigationLink(String href, int page, LinkRelation rel) {
+        String uri = UriComponentsBuilder.fromUriString(href) //
+            .replaceQueryParam(PAGE_PARAMETER, page) //
+            .replaceQueryParam(SIZE_PARAMETER, slice.getSize()) //
+            .build() //
+            .toUriString();
+        return Link.of(uri, rel);
+    }
+}
@@ -0,0 +1,157 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static de.ingogriebsch.spring.hateoas.siren.RepresentationModelUtils.isRepresentationModel;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link JsonSerializer} implementation which is able to serialize a {@link SirenSliceModel} into a Siren entity. The elements
+ * of the slice are converted into Siren entities one after the other while they are written, without wrapping them into
+ * models of their own.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenSliceModel
+ */
+class SirenSliceModelSerializer extends AbstractSirenSerializer<SirenSliceModel<?>>
+    implements SirenEntityConverter<SirenSliceModel<?>> {
+
+    private static final long serialVersionUID = -2412466326406384133L;
+
+    SirenSliceModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities) {
+        this(configuration, serializerFacilities, null);
+    }
+
+    SirenSliceModelSerializer(SirenRuntimeConfiguration configuration, SirenSerializerFacilities serializerFacilities,
+        @Nullable BeanProperty property) {
+        super(SirenSliceModel.class, configuration, serializerFacilities, property);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, @Nullable BeanProperty property) {
+        return new SirenSliceModelSerializer(configuration, serializerFacilities, property);
+    }
+
+    @Override
+    public void serialize(SirenSliceModel<?> model, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        serialize(model, this, gen, provider);
+    }
+
+    @Override
+    public SirenEntity toSirenEntity(SirenSliceModel<?> model, SirenSerializationContext context, JsonGenerator gen,
+        SerializerProvider provider) throws IOException {
+        SirenNavigables navigables = getLinkConverter().to(model.getLinks());
+
+        return SirenEntity.builder() //
+            .actions(navigables.getActions()) //
+            .classes(classes(model, context)) //
+            .entities(entities(model, context)) //
+            .links(navigables.getLinks()) //
+            .properties(model.getMetadata() != null ? model.getMetadata() : model.getSliceMetadata()) //
+            .rels(rels(model, context)) //
+            .title(title(PagedModel.class)) //
+            .build();
+    }
+
+    private List<Object> entities(SirenSliceModel<?> model, SirenSerializationContext context) {
+        List<Object> entities = newArrayList();
+        if (!model.getContent().isEmpty()) {
+            // The elements are converted through a cursor, so they are converted not before the slice is the current parent.
+            entities.add(new Items(model, context));
+        }
+        return entities;
+    }
+
+    @RequiredArgsConstructor
+    private static class Item {
+
+        private final List<String> classes;
+        private final List<LinkRelation> rels;
+        private final String title;
+    }
+
+    private class Items implements SirenEntityTreeWriter.Cursor {
+
+        private final SirenSliceModel<?> model;
+        private final SirenSerializationContext context;
+        private final Iterator<?> iterator;
+        private final Map<Class<?>, Item> items;
+
+        Items(SirenSliceModel<?> model, SirenSerializationContext context) {
+            this.model = model;
+            this.context = context;
+            iterator = model.getContent().iterator();
+            // Customized providers may evaluate the state of an element, so its item is only reused for further elements of the
+            // same type if the providers are based on the type.
+            items = areProvidersTypeBased() ? newHashMap() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            Object element = iterator.next();
+            if (element == null) {
+                throw new IllegalStateException("The content of a slice must not contain null values!");
+            }
+            if (isRepresentationModel(element.getClass())) {
+                return element;
+            }
+
+            Item item = items != null ? items.computeIfAbsent(element.getClass(), type -> item(element)) : item(element);
+            SirenNavigables navigables = model.navigables(element, getLinkConverter());
+
+            return SirenEntity.builder() //
+                .actions(navigables.getActions()) //
+                .classes(item.classes) //
+                .links(navigables.getLinks()) //
+                .properties(element) //
+                .rels(item.rels) //
+                .title(item.title) //
+                .build();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private Item item(Object element) {
+            // The element is wrapped so that the providers are able to evaluate it as usual.
+            EntityModel<?> representative = EntityModel.of(element);
+            return new Item(classes(representative, context), rels(representative, context), title(element.getClass()));
+        }
+    }
+}
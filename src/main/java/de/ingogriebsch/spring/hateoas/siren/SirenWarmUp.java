@@ -0,0 +1,150 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.format;
+
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.springframework.hateoas.IanaLinkRelations.SELF;
+import static org.springframework.util.ClassUtils.hasConstructor;
+
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.lang.Nullable;
+
+/**
+ * Warms up the Siren support for a set of types (usually the return types of the request mappings of a web stack). The
+ * {@link RepresentationModel}s are collected from the given types (and their generics, e.g. the model wrapped into a
+ * {@link org.springframework.http.ResponseEntity} or a {@code Mono}). For each of them the serializer and
+ * the deserializer is resolved, the title of the Siren entity is resolved and, if configured, a number of synthetic
+ * serializations and deserializations is executed. The warm-up is best effort, a type which can't be warmed up is skipped.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenConfiguration#withWarmUpEnabled(boolean)
+ */
+@RequiredArgsConstructor
+class SirenWarmUp {
+
+    private static final Log logger = LogFactory.getLog(SirenWarmUp.class);
+
+    @NonNull
+    private final ObjectMapper mapper;
+    @NonNull
+    private final MessageResolver messageResolver;
+    private final int iterations;
+
+    /**
+     * Warms up the Siren support for the {@link RepresentationModel}s contained in the given types.
+     *
+     * @param types the types the {@link RepresentationModel}s are collected from.
+     * @return the amount of {@link RepresentationModel} types that were warmed up.
+     */
+    int warmUp(@NonNull Stream<ResolvableType> types) {
+        Set<ResolvableType> models = newLinkedHashSet();
+        types.forEach(type -> collect(type, models, 0));
+
+        int warmedUp = 0;
+        for (ResolvableType model : models) {
+            try {
+                warmUp(model);
+                warmedUp++;
+            } catch (Exception e) {
+                // The warm-up is best effort, the type will be resolved with the first request.
+                if (logger.isDebugEnabled()) {
+                    logger.debug(format("Could not warm up type '%s'!", model), e);
+                }
+            }
+        }
+        return warmedUp;
+    }
+
+    private void warmUp(ResolvableType model) throws Exception {
+        Class<?> clazz = model.resolve();
+        JavaType type = mapper.getTypeFactory().constructType(model.getType());
+
+        // The root serializer is resolved through the generic type, the nested entities through their runtime class.
+        mapper.writerFor(type);
+        mapper.writerFor(clazz);
+        mapper.readerFor(type);
+        messageResolver.resolve(SirenEntity.TitleResolvable.of(clazz));
+
+        RepresentationModel<?> instance = iterations > 0 ? instantiate(model) : null;
+        if (instance != null) {
+            for (int i = 0; i < iterations; i++) {
+                mapper.readerFor(type).readValue(mapper.writeValueAsBytes(instance));
+            }
+        }
+    }
+
+    private static void collect(ResolvableType type, Set<ResolvableType> models, int depth) {
+        Class<?> clazz = type.resolve();
+        // Guards against recursive generics like Comparable<T extends Comparable<T>>.
+        if (clazz == null || depth > 8) {
+            return;
+        }
+
+        if (RepresentationModel.class.isAssignableFrom(clazz)) {
+            models.add(type);
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            collect(generic, models, depth + 1);
+        }
+    }
+
+    @Nullable
+    private static RepresentationModel<?> instantiate(ResolvableType model) {
+        Class<?> clazz = model.resolve();
+        Link self = Link.of("/", SELF);
+
+        if (PagedModel.class.equals(clazz)) {
+            return PagedModel.empty(self);
+        }
+        if (CollectionModel.class.equals(clazz)) {
+            return CollectionModel.empty(self);
+        }
+        if (EntityModel.class.equals(clazz)) {
+            Object content = instantiate(model.getGeneric(0).resolve());
+            return content != null ? EntityModel.of(content, self) : null;
+        }
+
+        Object instance = instantiate(clazz);
+        return instance != null ? ((RepresentationModel<?>) instance).add(self) : null;
+    }
+
+    @Nullable
+    private static Object instantiate(@Nullable Class<?> clazz) {
+        if (clazz == null || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()) || !hasConstructor(clazz)) {
+            return null;
+        }
+        return BeanUtils.instantiate(clazz, new Class<?>[0], new Object[0]);
+    }
+}
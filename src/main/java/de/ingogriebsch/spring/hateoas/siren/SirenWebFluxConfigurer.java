@@ -0,0 +1,87 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * A {@link WebFluxConfigurer} that registers the {@link SirenJackson2JsonEncoder} as a custom codec so that Siren entities are
+ * written directly into the {@link org.springframework.core.io.buffer.DataBuffer data buffers} of the response. If configured,
+ * the Siren support is warmed up for the return types of the request mappings once the context is refreshed.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenJackson2JsonEncoder
+ * @see SirenConfiguration#withWarmUpEnabled(boolean)
+ */
+@Configuration(proxyBeanMethods = false)
+class SirenWebFluxConfigurer implements WebFluxConfigurer, ApplicationListener<ContextRefreshedEvent> {
+
+    private final SirenMediaTypeConfiguration sirenMediaTypeConfiguration;
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    private volatile ObjectMapper mapper;
+
+    SirenWebFluxConfigurer(@NonNull SirenMediaTypeConfiguration sirenMediaTypeConfiguration,
+        @NonNull ObjectProvider<ObjectMapper> objectMapper) {
+        this.sirenMediaTypeConfiguration = sirenMediaTypeConfiguration;
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.web.reactive.config.WebFluxConfigurer#configureHttpMessageCodecs(org.springframework.http.codec.
+     * ServerCodecConfigurer)
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        mapper = sirenMediaTypeConfiguration.configureObjectMapper(objectMapper.getIfAvailable(ObjectMapper::new).copy());
+        SirenRuntimeConfiguration configuration = sirenMediaTypeConfiguration.getConfiguration();
+
+        configurer.customCodecs()
+            .register(new SirenJackson2JsonEncoder(mapper, configuration.getDataBufferChunkSize(), configuration.getMetrics()));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        ObjectMapper mapper = this.mapper;
+        // The mapper is only available if the web stack is actually configured.
+        if (mapper == null || !sirenMediaTypeConfiguration.getConfiguration().isWarmUpEnabled()) {
+            return;
+        }
+
+        Stream<ResolvableType> returnTypes =
+            event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values().stream() //
+                .flatMap(m -> m.getHandlerMethods().values().stream()) //
+                .map(h -> ResolvableType.forMethodParameter(h.getReturnType()));
+        sirenMediaTypeConfiguration.warmUp(mapper, returnTypes);
+        this.mapper = null;
+    }
+}
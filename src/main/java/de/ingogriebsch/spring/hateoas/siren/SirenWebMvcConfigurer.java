@@ -0,0 +1,93 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * A {@link WebMvcConfigurer} that registers the {@link SirenHttpMessageConverter} in front of the other converters if flushing
+ * the response early is configured, so that Siren entities are written (and flushed) directly through to the output stream of
+ * the response. If configured, the Siren support is warmed up for the return types of the request mappings once the context is
+ * refreshed.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenHttpMessageConverter
+ * @see SirenConfiguration#withFlushAfterEntities(int)
+ * @see SirenConfiguration#withFlushAfterBytes(int)
+ * @see SirenConfiguration#withWarmUpEnabled(boolean)
+ */
+@Configuration(proxyBeanMethods = false)
+class SirenWebMvcConfigurer implements WebMvcConfigurer, ApplicationListener<ContextRefreshedEvent> {
+
+    private final SirenMediaTypeConfiguration sirenMediaTypeConfiguration;
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    private volatile ObjectMapper mapper;
+
+    SirenWebMvcConfigurer(@NonNull SirenMediaTypeConfiguration sirenMediaTypeConfiguration,
+        @NonNull ObjectProvider<ObjectMapper> objectMapper) {
+        this.sirenMediaTypeConfiguration = sirenMediaTypeConfiguration;
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.web.servlet.config.annotation.WebMvcConfigurer#extendMessageConverters(java.util.List)
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        mapper = sirenMediaTypeConfiguration.configureObjectMapper(objectMapper.getIfAvailable(ObjectMapper::new).copy());
+        SirenRuntimeConfiguration configuration = sirenMediaTypeConfiguration.getConfiguration();
+
+        // The converter is only needed for flushing early, otherwise the converters of the application are left untouched.
+        if (configuration.getFlushAfterEntities() > 0 || configuration.getFlushAfterBytes() > 0) {
+            converters.add(0, new SirenHttpMessageConverter(mapper, configuration.getFlushAfterEntities(),
+                configuration.getFlushAfterBytes(), configuration.getMetrics()));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        ObjectMapper mapper = this.mapper;
+        // The mapper is only available if the web stack is actually configured.
+        if (mapper == null || !sirenMediaTypeConfiguration.getConfiguration().isWarmUpEnabled()) {
+            return;
+        }
+
+        Stream<ResolvableType> returnTypes =
+            event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values().stream() //
+                .flatMap(m -> m.getHandlerMethods().values().stream()) //
+                .map(h -> ResolvableType.forMethodParameter(h.getReturnType()));
+        sirenMediaTypeConfiguration.warmUp(mapper, returnTypes);
+        this.mapper = null;
+    }
+}
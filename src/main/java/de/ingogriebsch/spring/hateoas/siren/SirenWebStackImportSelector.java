@@ -0,0 +1,57 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.springframework.util.ClassUtils.isPresent;
+
+import java.util.List;
+
+import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.type.AnnotationMetadata;
+
+/**
+ * An {@link ImportSelector} that imports the Siren specific configurations of the web stacks that are available on the
+ * classpath.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenWebFluxConfigurer
+ * @see SirenWebMvcConfigurer
+ */
+class SirenWebStackImportSelector implements ImportSelector {
+
+    private static final String WEBFLUX_CONFIGURER = "org.springframework.web.reactive.config.WebFluxConfigurer";
+    private static final String WEBMVC_CONFIGURER = "org.springframework.web.servlet.config.annotation.WebMvcConfigurer";
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.context.annotation.ImportSelector#selectImports(org.springframework.core.type.AnnotationMetadata)
+     */
+    @Override
+    public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        List<String> imports = newArrayList();
+        if (isPresent(WEBFLUX_CONFIGURER, classLoader)) {
+            imports.add(SirenWebFluxConfigurer.class.getName());
+        }
+        if (isPresent(WEBMVC_CONFIGURER, classLoader)) {
+            imports.add(SirenWebMvcConfigurer.class.getName());
+        }
+        return imports.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,417 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.String.format;
+import static java.util.Arrays.copyOf;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.NonNull;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * A low-level writer which allows to produce Siren entities incrementally without building {@link RepresentationModel}s first
+ * (e.g. while iterating over a JDBC result set). The produced output is identical to the output of the serializers of this
+ * library, including the resolution of titles through the configured message resolver and the typing of action fields through
+ * the configured {@link SirenActionFieldTypeConverter}.
+ * <p>
+ * The parts of a Siren entity must be written in the order in which the serializers write them, namely {@literal class},
+ * {@literal rel}, {@literal properties}, {@literal entities}, {@literal links}, {@literal actions} and {@literal title}. Each
+ * part is optional. Empty parts are omitted the same way as the serializers do. A sub entity is written by calling
+ * {@link #startEntity()} between {@link #startEntities()} and {@link #endEntities()}.
+ * <p>
+ * The given {@link ObjectMapper} must be configured to handle Siren entities, e.g. through
+ * {@link SirenMediaTypeConfiguration#configureObjectMapper(ObjectMapper)}. Instances of this class are not thread-safe.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see <a href="https://github.com/kevinswiber/siren#entity" target="_blank">Siren Entity</a>
+ */
+public class SirenWriter implements Closeable, Flushable {
+
+    private static final int CLASSES = 0;
+    private static final int RELS = 1;
+    private static final int PROPERTIES = 2;
+    private static final int ENTITIES = 3;
+    private static final int LINKS = 4;
+    private static final int ACTIONS = 5;
+    private static final int TITLE = 6;
+    private static final String[] NAMES = { "class", "rel", "properties", "entities", "links", "actions", "title" };
+
+    private final JsonGenerator generator;
+    private final boolean generatorOwned;
+    private final ObjectWriter objectWriter;
+    private final SirenLinkConverter linkConverter;
+    private final SirenSerializerFacilities serializerFacilities;
+
+    // The frames are reused for each entity on the same level, so writing a sub entity does not allocate anything.
+    private Frame[] frames = new Frame[4];
+    private int depth = -1;
+    private boolean inEntities;
+
+    private SirenWriter(ObjectMapper objectMapper, JsonGenerator generator, boolean generatorOwned) {
+        this.generator = generator;
+        this.generatorOwned = generatorOwned;
+        objectWriter = objectMapper.writer().without(FLUSH_AFTER_WRITE_VALUE);
+        serializerFacilities = SirenHandlerInstantiator.from(objectMapper).getSerializerFacilities();
+        linkConverter = serializerFacilities.getLinkConverter();
+    }
+
+    /**
+     * Creates a new {@link SirenWriter} writing the Siren entity to the given {@literal outputStream}.
+     *
+     * @param objectMapper the mapper which is used to write the parts of the Siren entity. Must not be {@literal null}.
+     * @param outputStream the stream the Siren entity is written to. Is closed if the writer is closed. Must not be
+     *        {@literal null}.
+     * @return the created {@link SirenWriter} instance.
+     * @throws IOException if the generator could not be created.
+     */
+    public static SirenWriter of(@NonNull ObjectMapper objectMapper, @NonNull OutputStream outputStream) throws IOException {
+        // Fail before the generator is created, so that the given stream is not left half initialized.
+        SirenHandlerInstantiator.from(objectMapper);
+        return new SirenWriter(objectMapper, objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8), true);
+    }
+
+    /**
+     * Creates a new {@link SirenWriter} writing the Siren entity through the given {@literal generator}. The generator is not
+     * closed if the writer is closed.
+     *
+     * @param objectMapper the mapper which is used to write the parts of the Siren entity. Must not be {@literal null}.
+     * @param generator the generator the Siren entity is written through. Must not be {@literal null}.
+     * @return the created {@link SirenWriter} instance.
+     */
+    public static SirenWriter of(@NonNull ObjectMapper objectMapper, @NonNull JsonGenerator generator) {
+        return new SirenWriter(objectMapper, generator, false);
+    }
+
+    /**
+     * Starts a Siren entity. Starts the root entity if called the first time, a sub entity if called after
+     * {@link #startEntities()}.
+     *
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the entity could not be written.
+     * @throws IllegalStateException if an entity can not be started at the current position.
+     */
+    public SirenWriter startEntity() throws IOException {
+        if (depth >= 0) {
+            Frame frame = current();
+            if (!inEntities) {
+                throw new IllegalStateException("A sub entity can only be started after the entities are started!");
+            }
+            if (!frame.open) {
+                generator.writeArrayFieldStart(NAMES[ENTITIES]);
+                frame.open = true;
+            }
+        } else if (frames[0] != null && frames[0].done) {
+            throw new IllegalStateException("The root entity is already written!");
+        }
+
+        if (++depth == frames.length) {
+            frames = copyOf(frames, frames.length * 2);
+        }
+        if (frames[depth] == null) {
+            frames[depth] = new Frame();
+        }
+        frames[depth].reset();
+        inEntities = false;
+
+        generator.writeStartObject();
+        return this;
+    }
+
+    /**
+     * Ends the current Siren entity.
+     *
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the entity could not be written.
+     * @throws IllegalStateException if no entity is started or the entities of the current entity are not ended.
+     */
+    public SirenWriter endEntity() throws IOException {
+        Frame frame = current();
+        if (inEntities) {
+            throw new IllegalStateException("The entities need to be ended before the entity can be ended!");
+        }
+
+        closeArray(frame);
+        generator.writeEndObject();
+        frame.done = true;
+
+        inEntities = --depth >= 0;
+        return this;
+    }
+
+    /**
+     * Writes the given {@literal classes} of the current Siren entity.
+     *
+     * @param classes the classes of the current entity. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the classes could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#class" target="_blank">Siren Entity Class</a>
+     */
+    public SirenWriter classes(@NonNull String... classes) throws IOException {
+        moveTo(CLASSES);
+        if (classes.length > 0) {
+            generator.writeArrayFieldStart(NAMES[CLASSES]);
+            for (String clazz : classes) {
+                generator.writeString(clazz);
+            }
+            generator.writeEndArray();
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given {@literal rels} of the current Siren entity.
+     *
+     * @param rels the relations of the current entity to its parent. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the relations could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#rel" target="_blank">Siren Entity Rel</a>
+     */
+    public SirenWriter rels(@NonNull LinkRelation... rels) throws IOException {
+        moveTo(RELS);
+        if (rels.length > 0) {
+            generator.writeArrayFieldStart(NAMES[RELS]);
+            for (LinkRelation rel : rels) {
+                objectWriter.writeValue(generator, rel);
+            }
+            generator.writeEndArray();
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given {@literal properties} of the current Siren entity.
+     *
+     * @param properties the properties of the current entity. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the properties could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#properties" target="_blank">Siren Entity Properties</a>
+     */
+    public SirenWriter properties(@NonNull Object properties) throws IOException {
+        moveTo(PROPERTIES);
+        generator.writeFieldName(NAMES[PROPERTIES]);
+        objectWriter.writeValue(generator, properties);
+        return this;
+    }
+
+    /**
+     * Starts the sub entities of the current Siren entity. The sub entities are written through {@link #startEntity()} and
+     * {@link #endEntity()} afterwards.
+     *
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the entities could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#entities-1" target="_blank">Siren Entities</a>
+     */
+    public SirenWriter startEntities() throws IOException {
+        moveTo(ENTITIES);
+        inEntities = true;
+        return this;
+    }
+
+    /**
+     * Ends the sub entities of the current Siren entity.
+     *
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the entities could not be written.
+     * @throws IllegalStateException if the entities of the current entity are not started.
+     */
+    public SirenWriter endEntities() throws IOException {
+        if (!inEntities) {
+            throw new IllegalStateException("The entities of the current entity are not started!");
+        }
+
+        closeArray(current());
+        inEntities = false;
+        return this;
+    }
+
+    /**
+     * Writes the given {@literal link} as a link of the current Siren entity. The affordances of the link are not written as
+     * actions through this method but through {@link #action(Link)}.
+     *
+     * @param link the link of the current entity. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the link could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#links-1" target="_blank">Siren Entity Links</a>
+     */
+    public SirenWriter link(@NonNull Link link) throws IOException {
+        openArray(LINKS);
+        for (SirenLink sirenLink : linkConverter.convert(link).getLinks()) {
+            objectWriter.writeValue(generator, sirenLink);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the affordances of the given {@literal link} as actions of the current Siren entity. Affordances which are
+     * related to the {@literal GET} method are ignored the same way the serializers do.
+     *
+     * @param link the link whose affordances should be written as actions of the current entity. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the actions could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#actions-1" target="_blank">Siren Entity Actions</a>
+     */
+    public SirenWriter action(@NonNull Link link) throws IOException {
+        moveTo(ACTIONS);
+        for (SirenAction sirenAction : linkConverter.convert(link).getActions()) {
+            openArray(ACTIONS);
+            objectWriter.writeValue(generator, sirenAction);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given {@literal links} as links and their affordances as actions of the current Siren entity.
+     *
+     * @param links the links of the current entity. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the links or actions could not be written.
+     */
+    public SirenWriter linksAndActions(@NonNull Iterable<Link> links) throws IOException {
+        // The links are iterated (and converted) only once, the actions are collected until all links are written.
+        List<SirenAction> actions = null;
+        for (Link link : links) {
+            actions = actions != null ? actions : newArrayList();
+            SirenNavigables navigables = linkConverter.convert(link);
+            openArray(LINKS);
+            for (SirenLink sirenLink : navigables.getLinks()) {
+                objectWriter.writeValue(generator, sirenLink);
+            }
+            actions.addAll(navigables.getActions());
+        }
+
+        if (actions != null) {
+            moveTo(ACTIONS);
+            for (SirenAction sirenAction : actions) {
+                openArray(ACTIONS);
+                objectWriter.writeValue(generator, sirenAction);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given {@literal title} of the current Siren entity.
+     *
+     * @param title the title of the current entity. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the title could not be written.
+     * @see <a href="https://github.com/kevinswiber/siren#title" target="_blank">Siren Entity Title</a>
+     */
+    public SirenWriter title(@NonNull String title) throws IOException {
+        moveTo(TITLE);
+        generator.writeStringField(NAMES[TITLE], title);
+        return this;
+    }
+
+    /**
+     * Writes the title of the current Siren entity which is resolved for the given {@literal type} the same way the serializers
+     * resolve it for the type of a {@link RepresentationModel}. Nothing is written if no title is resolvable.
+     *
+     * @param type the type the title is resolved for. Must not be {@literal null}.
+     * @return the current {@link SirenWriter} instance.
+     * @throws IOException if the title could not be written.
+     */
+    public SirenWriter title(@NonNull Class<?> type) throws IOException {
+        String title = serializerFacilities.getMessageResolver().resolve(SirenEntity.TitleResolvable.of(type));
+        return title != null ? title(title) : this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * Closes the writer. The underlying generator is only closed if it is created by this writer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (generatorOwned) {
+            generator.close();
+        } else {
+            generator.flush();
+        }
+    }
+
+    private Frame current() {
+        if (depth < 0) {
+            throw new IllegalStateException("No entity is started!");
+        }
+        return frames[depth];
+    }
+
+    private void moveTo(int part) throws IOException {
+        Frame frame = current();
+        if (inEntities) {
+            throw new IllegalStateException(
+                format("The entities need to be ended before the '%s' of the entity can be written!", NAMES[part]));
+        }
+        if (part < frame.part || part == frame.part && part != LINKS && part != ACTIONS) {
+            throw new IllegalStateException(
+                format("The '%s' of the entity can not be written after the '%s'!", NAMES[part], NAMES[frame.part]));
+        }
+
+        if (part != frame.part) {
+            closeArray(frame);
+            frame.part = part;
+        }
+    }
+
+    private void openArray(int part) throws IOException {
+        moveTo(part);
+        Frame frame = current();
+        if (!frame.open) {
+            generator.writeArrayFieldStart(NAMES[part]);
+            frame.open = true;
+        }
+    }
+
+    private void closeArray(Frame frame) throws IOException {
+        if (frame.open) {
+            generator.writeEndArray();
+            frame.open = false;
+        }
+    }
+
+    private static class Frame {
+
+        private int part;
+        private boolean open;
+        private boolean done;
+
+        void reset() {
+            part = -1;
+            open = false;
+            done = false;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static de.ingogriebsch.spring.hateoas.siren.RepresentationModelUtils.wrap;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.google.common.collect.Streams;
+import de.ingogriebsch.spring.hateoas.siren.SirenModel.EmbeddedRepresentation;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Entities which are not held by the model they belong to but are pulled from a {@link Stream} (or an {@link Iterator})
+ * while the model is serialized. Each entity is wrapped into an {@link EmbeddedRepresentation} just before it is written, so
+ * the entities are never held in memory all at once.
+ * <p>
+ * Entities which are based on a {@link Stream} or an {@link Iterator} can only be serialized once. Entities which are based on
+ * a {@link Supplier} obtain a new {@link Stream} each time they are serialized.
+ *
+ * @author Ingo Griebsch
+ * @since 1.4.0
+ * @see SirenModelBuilder#entities(Stream)
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+@ToString(of = { "rel", "position" })
+class StreamedEntities {
+
+    private final Supplier<? extends Stream<?>> source;
+    private final boolean reusable;
+    @Nullable
+    private final CompletionStage<? extends Iterable<?>> stage;
+    @Nullable
+    private final LinkRelation rel;
+    // The amount of entities which were added to the model before these entities.
+    private final int position;
+    private final AtomicBoolean opened = new AtomicBoolean();
+
+    static StreamedEntities of(@NonNull Stream<?> entities, @Nullable LinkRelation rel, int position) {
+        return new StreamedEntities(() -> entities, false, null, rel, position);
+    }
+
+    static StreamedEntities of(@NonNull Iterator<?> entities, @Nullable LinkRelation rel, int position) {
+        return new StreamedEntities(() -> Streams.stream(entities), false, null, rel, position);
+    }
+
+    static StreamedEntities of(@NonNull Supplier<? extends Stream<?>> entities, @Nullable LinkRelation rel, int position) {
+        return new StreamedEntities(entities, true, null, rel, position);
+    }
+
+    static StreamedEntities of(@NonNull CompletionStage<? extends Iterable<?>> entities, @Nullable LinkRelation rel,
+        int position) {
+        // Joining the stage blocks if the stage is not completed yet, which is avoided by awaiting it before serializing.
+        // A failure of the stage surfaces as CompletionException, which the serializer rethrows as JsonMappingException.
+        Supplier<Stream<?>> source = () -> {
+            Iterable<?> completed = entities.toCompletableFuture().join();
+            return completed != null ? Streams.stream(completed) : null;
+        };
+        return new StreamedEntities(source, true, entities, rel, position);
+    }
+
+    /**
+     * @return the stage the entities depend on or {@literal null} if the entities do not depend on a stage.
+     * @see AsyncSirenModels
+     */
+    @Nullable
+    CompletionStage<? extends Iterable<?>> getStage() {
+        return stage;
+    }
+
+    /**
+     * Opens the underlying {@link Stream}. The returned {@link Cursor} must be closed after it was serialized.
+     *
+     * @return the {@link Cursor} which provides the entities one after the other.
+     * @throws IllegalStateException if the entities are not reusable and were already opened before.
+     */
+    Cursor open() {
+        if (!reusable && opened.getAndSet(true)) {
+            throw new IllegalStateException("Streamed entities which are not based on a supplier can only be serialized once!");
+        }
+
+        Stream<?> stream = source.get();
+        if (stream == null) {
+            throw new IllegalStateException("The supplier of streamed entities must not return null!");
+        }
+        return new Cursor(stream, stream.iterator());
+    }
+
+    /**
+     * A cursor on the opened entities which wraps the remaining entities one after the other.
+     */
+    @RequiredArgsConstructor(access = PRIVATE)
+    class Cursor implements SirenEntityTreeWriter.Cursor, Closeable {
+
+        private final Stream<?> stream;
+        private final Iterator<?> iterator;
+
+        boolean isEmpty() {
+            return !iterator.hasNext();
+        }
+
+        int getPosition() {
+            return position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public EmbeddedRepresentation next() {
+            Object entity = iterator.next();
+            if (entity == null) {
+                throw new IllegalStateException("Streamed entities must not contain null values!");
+            }
+            return rel != null ? new EmbeddedRepresentation(wrap(entity), rel) : new EmbeddedRepresentation(wrap(entity));
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+}
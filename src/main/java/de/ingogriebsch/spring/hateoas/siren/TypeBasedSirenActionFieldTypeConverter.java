@@ -17,7 +17,6 @@ package de.ingogriebsch.spring.hateoas.siren;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static de.ingogriebsch.spring.hateoas.siren.TypeMapping.typeMapping;
-import static lombok.AccessLevel.PACKAGE;
 import static org.springframework.hateoas.mediatype.html.HtmlInputType.DATE;
 import static org.springframework.hateoas.mediatype.html.HtmlInputType.DATETIME_LOCAL;
 import static org.springframework.hateoas.mediatype.html.HtmlInputType.FILE;
@@ -38,10 +37,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
-import lombok.Data;
-import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.AffordanceModel.PropertyMetadata;
 import org.springframework.hateoas.mediatype.html.HtmlInputType;
 import org.springframework.http.MediaType;
@@ -76,30 +72,31 @@ class TypeBasedSirenActionFieldTypeConverter implements SirenActionFieldTypeConv
         typeMapping(URI.class, URL) //
     );
 
-    private final List<TypeMapping> mappings;
+    private final TypeMapping[] mappings;
 
     TypeBasedSirenActionFieldTypeConverter() {
         this(null);
     }
 
     TypeBasedSirenActionFieldTypeConverter(List<TypeMapping> mappings) {
-        this.mappings = mappings != null ? mappings : newArrayList();
+        // The given mappings take precedence over the default ones, so both are merged into one table upfront.
+        List<TypeMapping> table = mappings != null ? newArrayList(mappings) : newArrayList();
+        table.addAll(DEFAULT_MAPPINGS);
+        this.mappings = table.toArray(new TypeMapping[0]);
     }
 
     @Override
     public Optional<HtmlInputType> execute(@NonNull PropertyMetadata fieldMetadata, @NonNull MediaType actionType) {
         Class<?> type = obtainType(fieldMetadata);
         HtmlInputType result = map(type, mappings);
-        result = result != null ? result : map(type, DEFAULT_MAPPINGS);
-        return Optional.ofNullable(result != null ? result : HtmlInputType.TEXT);
-
+        return Optional.of(result != null ? result : HtmlInputType.TEXT);
     }
 
     private static Class<?> obtainType(PropertyMetadata fieldMetadata) {
         return fieldMetadata.getType().getRawClass();
     }
 
-    private static HtmlInputType map(Class<?> type, List<TypeMapping> mappings) {
+    private static HtmlInputType map(Class<?> type, TypeMapping[] mappings) {
         for (TypeMapping mapping : mappings) {
             if (mapping.getSource().isAssignableFrom(type)) {
                 return mapping.getTarget();
@@ -108,16 +105,3 @@ class TypeBasedSirenActionFieldTypeConverter implements SirenActionFieldTypeConv
         return null;
     }
 }
-
-@Data
-@Getter(PACKAGE)
-@RequiredArgsConstructor(access = PACKAGE)
-class TypeMapping {
-
-    private final Class<?> source;
-    private final HtmlInputType target;
-
-    static TypeMapping typeMapping(Class<?> source, HtmlInputType target) {
-        return new TypeMapping(source, target);
-    }
-}
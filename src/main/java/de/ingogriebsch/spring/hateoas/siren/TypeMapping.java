@@ -0,0 +1,44 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static lombok.AccessLevel.PACKAGE;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.mediatype.html.HtmlInputType;
+
+/**
+ * Maps a type of a field onto the {@link HtmlInputType} which is used as the type of the corresponding Siren action field. A
+ * mapping also applies to the subtypes of the mapped type.
+ *
+ * @author Ingo Griebsch
+ * @since 1.0.0
+ * @see TypeBasedSirenActionFieldTypeConverter
+ */
+@Data
+@Getter(PACKAGE)
+@RequiredArgsConstructor(access = PACKAGE)
+class TypeMapping {
+
+    private final Class<?> source;
+    private final HtmlInputType target;
+
+    static TypeMapping typeMapping(Class<?> source, HtmlInputType target) {
+        return new TypeMapping(source, target);
+    }
+}
@@ -0,0 +1,171 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.IanaLinkRelations.NEXT;
+import static org.springframework.hateoas.IanaLinkRelations.PREV;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.CursorPagedModel.CursorMetadata;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+
+class CursorPagedModelTest {
+
+    private static final List<EntityModel<Person>> PERSONS =
+        List.of(EntityModel.of(new Person("Peter", 33)), EntityModel.of(new Person("Paul", 44)));
+
+    @Nested
+    class Create {
+
+        @Test
+        void should_throw_exception_if_size_is_negative() {
+            assertThatThrownBy(() -> new CursorMetadata(-1, null, null)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void should_throw_exception_if_total_elements_are_negative() {
+            assertThatThrownBy(() -> new CursorMetadata(20, -1L, null, null)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void should_add_the_navigation_links_of_the_available_cursors() {
+            CursorPagedModel<EntityModel<Person>> model = CursorPagedModel.of(PERSONS, new CursorMetadata(2, "b+2", "a/1")) //
+                .addNavigationLinks(Link.of("/persons?sort=name&cursor=a1"));
+
+            assertThat(model.getLinks()).containsExactly( //
+                Link.of("/persons?sort=name&cursor=a1"), //
+                Link.of("/persons?sort=name&cursor=b%2B2", NEXT), //
+                Link.of("/persons?sort=name&cursor=a%2F1", PREV) //
+            );
+        }
+
+        @Test
+        void should_only_add_the_self_link_if_no_cursor_is_available() {
+            CursorPagedModel<EntityModel<Person>> model = CursorPagedModel.of(PERSONS, new CursorMetadata(2, null, null)) //
+                .addNavigationLinks(Link.of("/persons?after={after}"), "after");
+
+            assertThat(model.getLinks()).containsExactly(Link.of("/persons?after={after}"));
+        }
+    }
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void should_write_the_cursor_metadata_as_properties() throws Exception {
+            CursorPagedModel<EntityModel<Person>> model = CursorPagedModel.of(PERSONS, new CursorMetadata(2, "b2", null)) //
+                .addNavigationLinks(Link.of("/persons"));
+
+            String actual = objectMapper().writeValueAsString(model);
+
+            assertThat(actual)
+                .isEqualTo("{\"class\":[\"paged\"],\"properties\":{\"size\":2,\"next\":\"b2\",\"prev\":null},\"entities\":[" //
+                        + "{\"class\":[\"entity\"],\"rel\":[\"item\"],\"properties\":{\"name\":\"Peter\",\"age\":33}}," //
+                        + "{\"class\":[\"entity\"],\"rel\":[\"item\"],\"properties\":{\"name\":\"Paul\",\"age\":44}}]," //
+                        + "\"links\":[{\"rel\":[\"self\"],\"href\":\"/persons\"},{\"rel\":[\"next\"],\"href\":\"/persons?cursor=b2\"}]}");
+        }
+
+        @Test
+        void should_write_the_total_elements_if_available() throws Exception {
+            CursorPagedModel<EntityModel<Person>> model = CursorPagedModel.of(List.of(), new CursorMetadata(2, 10L, null, "a1"));
+
+            String actual = objectMapper().writeValueAsString(model);
+
+            assertThat(actual).isEqualTo(
+                "{\"class\":[\"paged\"],\"properties\":{\"size\":2,\"totalElements\":10,\"next\":null,\"prev\":\"a1\"}}");
+        }
+    }
+
+    @Nested
+    class Deserialize {
+
+        @Test
+        void should_read_a_cursor_paged_model_if_requested() throws Exception {
+            CursorPagedModel<EntityModel<Person>> expected =
+                CursorPagedModel.of(PERSONS, new CursorMetadata(2, 10L, null, null)).addNavigationLinks(Link.of("/persons"));
+            String source = objectMapper().writeValueAsString(expected);
+
+            CursorPagedModel<EntityModel<Person>> actual =
+                objectMapper().readValue(source, new TypeReference<CursorPagedModel<EntityModel<Person>>>() {
+                });
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_read_a_cursor_paged_model_if_a_paged_model_with_cursors_is_requested() throws Exception {
+            CursorPagedModel<EntityModel<Person>> expected =
+                CursorPagedModel.of(PERSONS, new CursorMetadata(2, "b2", "a1")).addNavigationLinks(Link.of("/persons"));
+            String source = objectMapper().writeValueAsString(expected);
+
+            PagedModel<EntityModel<Person>> actual =
+                objectMapper().readValue(source, new TypeReference<PagedModel<EntityModel<Person>>>() {
+                });
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.getNextLink()).hasValue(Link.of("/persons?cursor=b2", NEXT));
+        }
+
+        @Test
+        void should_read_a_cursor_paged_model_if_a_paged_model_without_cursors_is_requested() throws Exception {
+            CursorPagedModel<EntityModel<Person>> expected =
+                CursorPagedModel.of(PERSONS, new CursorMetadata(2, null, null)).addNavigationLinks(Link.of("/persons"));
+            String source = objectMapper().writeValueAsString(expected);
+
+            PagedModel<EntityModel<Person>> actual =
+                objectMapper().readValue(source, new TypeReference<PagedModel<EntityModel<Person>>>() {
+                });
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_read_a_paged_model_if_the_properties_contain_page_metadata() throws Exception {
+            PagedModel<EntityModel<Person>> expected = PagedModel.of(PERSONS, new PageMetadata(2, 0, 2, 1));
+            String source = objectMapper().writeValueAsString(expected);
+
+            PagedModel<EntityModel<Person>> actual =
+                objectMapper().readValue(source, new TypeReference<PagedModel<EntityModel<Person>>>() {
+                });
+
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
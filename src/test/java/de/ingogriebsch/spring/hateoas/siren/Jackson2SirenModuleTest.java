@@ -21,9 +21,11 @@ import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newTreeMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.hateoas.IanaLinkRelations.ABOUT;
 import static org.springframework.hateoas.IanaLinkRelations.HELP;
 import static org.springframework.hateoas.IanaLinkRelations.LICENSE;
+import static org.springframework.hateoas.IanaLinkRelations.NEXT;
 import static org.springframework.hateoas.IanaLinkRelations.SELF;
 import static org.springframework.hateoas.UriTemplate.of;
 import static org.springframework.hateoas.mediatype.Affordances.of;
@@ -38,9 +40,13 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import de.ingogriebsch.spring.hateoas.siren.support.Capital;
@@ -56,6 +62,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.PagedModel.PageMetadata;
 import org.springframework.hateoas.RepresentationModel;
@@ -720,6 +727,121 @@ class Jackson2SirenModuleTest {
                 assertThat(actual).isEqualTo(expected);
             }
 
+            @Test
+            void containing_deferred_link() throws Exception {
+                RepresentationModel<?> source =
+                    SirenModelBuilder.sirenModel().linksAndActions(ABOUT, () -> Link.of("/about", ABOUT)).build();
+                String expected = readResource("siren-model/containing_link.json");
+
+                String actual = write(source);
+                assertThat(actual).isEqualTo(expected);
+            }
+
+            @Test
+            void containing_deferred_links_in_the_order_they_were_added() throws Exception {
+                RepresentationModel<?> source = SirenModelBuilder.sirenModel() //
+                    .linksAndActions(Link.of("/self")) //
+                    .linksAndActions(ABOUT, () -> Link.of("/about", ABOUT)) //
+                    .linksAndActions(Link.of("/help", HELP)) //
+                    .linksAndActions(() -> Links.of(Link.of("/license", LICENSE), Link.of("/other-self"))) //
+                    .linksAndActions(Link.of("/next", NEXT)) //
+                    .build();
+                RepresentationModel<?> expected = SirenModelBuilder.sirenModel() //
+                    .linksAndActions(Link.of("/about", ABOUT), Link.of("/help", HELP), Link.of("/license", LICENSE),
+                        Link.of("/other-self"), Link.of("/next", NEXT)) //
+                    .build();
+
+                String actual = write(source);
+                assertThat(actual).isEqualTo(write(expected));
+            }
+
+            @Test
+            void containing_streamed_representation_models_as_entities() throws Exception {
+                RepresentationModel<?> source = SirenModelBuilder.sirenModel().classes("representation")
+                    .entities(Stream.of(new PersonModel("Peter", 33))).build();
+                String expected = readResource("siren-model/containing_representation_model_as_entities.json");
+
+                String actual = write(source);
+                assertThat(actual).isEqualTo(expected);
+            }
+
+            @Test
+            void containing_streamed_entities_between_entities() throws Exception {
+                RepresentationModel<?> source = SirenModelBuilder.sirenModel().entities("child", new PersonModel("Peter", 33))
+                    .entities("child", Stream.of(new Person("Paul", 44), new Person("Mary", 55)).iterator())
+                    .entities("child", new PersonModel("Pete", 66)).build();
+                RepresentationModel<?> expected = SirenModelBuilder.sirenModel().entities("child", new PersonModel("Peter", 33))
+                    .entities("child", new Person("Paul", 44), new Person("Mary", 55))
+                    .entities("child", new PersonModel("Pete", 66)).build();
+
+                String actual = write(source);
+                assertThat(actual).isEqualTo(write(expected));
+            }
+
+            @Test
+            void containing_empty_streamed_entities() throws Exception {
+                RepresentationModel<?> source =
+                    SirenModelBuilder.sirenModel().linksAndActions(Link.of("/about", ABOUT)).entities(Stream.empty()).build();
+                String expected = readResource("siren-model/containing_link.json");
+
+                String actual = write(source);
+                assertThat(actual).isEqualTo(expected);
+            }
+
+            @Test
+            void containing_supplied_streamed_entities_more_than_once() throws Exception {
+                AtomicInteger closed = new AtomicInteger();
+                RepresentationModel<?> source = SirenModelBuilder.sirenModel().classes("representation")
+                    .entities(() -> Stream.of(new PersonModel("Peter", 33)).onClose(closed::incrementAndGet)).build();
+                String expected = readResource("siren-model/containing_representation_model_as_entities.json");
+
+                assertThat(write(source)).isEqualTo(expected);
+                assertThat(write(source)).isEqualTo(expected);
+                assertThat(closed).hasValue(2);
+            }
+
+            @Test
+            void containing_streamed_entities_more_than_once() throws Exception {
+                RepresentationModel<?> source =
+                    SirenModelBuilder.sirenModel().entities(Stream.of(new PersonModel("Peter", 33))).build();
+                write(source);
+
+                assertThatThrownBy(() -> write(source)).hasRootCauseInstanceOf(IllegalStateException.class);
+            }
+
+            @Test
+            void containing_completed_properties_and_entities() throws Exception {
+                RepresentationModel<?> source = SirenModelBuilder.sirenModel().classes("representation")
+                    .properties(CompletableFuture.completedFuture(new Person("Peter", 33)))
+                    .entities("child", CompletableFuture.completedFuture(List.of(new PersonModel("Paul", 44)))).build();
+                RepresentationModel<?> expected = SirenModelBuilder.sirenModel().classes("representation")
+                    .properties(new Person("Peter", 33)).entities("child", new PersonModel("Paul", 44)).build();
+
+                String actual = write(source);
+                assertThat(actual).isEqualTo(write(expected));
+            }
+
+            @Test
+            void containing_failed_properties() throws Exception {
+                IllegalStateException failure = new IllegalStateException("failed");
+                RepresentationModel<?> source =
+                    SirenModelBuilder.sirenModel().properties(CompletableFuture.failedFuture(failure)).build();
+
+                assertThatThrownBy(() -> write(source)).isInstanceOf(JsonMappingException.class).hasCause(failure);
+            }
+
+            @Test
+            void containing_failed_entities() throws Exception {
+                AtomicInteger closed = new AtomicInteger();
+                IllegalStateException failure = new IllegalStateException("failed");
+                RepresentationModel<?> source = SirenModelBuilder.sirenModel()
+                    .entities(() -> Stream.of(new PersonModel("Peter", 33)).onClose(closed::incrementAndGet))
+                    .entities("child", CompletableFuture.<List<PersonModel>> failedFuture(failure)).build();
+
+                assertThatThrownBy(() -> write(source)).isInstanceOf(JsonMappingException.class).hasCause(failure);
+                assertThat(closed).hasValue(1);
+            }
+
             @Test
             void containing_properties() throws Exception {
                 RepresentationModel<?> source =
@@ -0,0 +1,193 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import de.ingogriebsch.spring.hateoas.siren.support.StaticMessageResolver;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+
+class LazyEntitiesTest {
+
+    @Nested
+    class Get {
+
+        @Test
+        void should_bind_only_the_accessed_entities() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<Person> persons = persons(10);
+
+            LazyEntities entities = new LazyEntities(buffers(objectMapper, persons), objectMapper.readerFor(Person.class));
+
+            assertThat(entities).hasSize(10);
+            assertThat(entities.boundCount()).isZero();
+            assertThat(entities.get(3)).isEqualTo(persons.get(3));
+            assertThat(entities.get(3)).isSameAs(entities.get(3));
+            assertThat(entities.boundCount()).isEqualTo(1);
+        }
+
+        @Test
+        void should_throw_exception_if_entity_cannot_be_bound() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<TokenBuffer> buffers = buffers(objectMapper, List.of(new Person("Peter", 33), "Paul"));
+
+            LazyEntities entities = new LazyEntities(buffers, objectMapper.readerFor(Person.class));
+
+            assertThat(entities.get(0)).isEqualTo(new Person("Peter", 33));
+            assertThatThrownBy(() -> entities.get(1)).isInstanceOf(RuntimeJsonMappingException.class)
+                .hasCauseInstanceOf(JsonMappingException.class);
+        }
+
+        private List<TokenBuffer> buffers(ObjectMapper objectMapper, List<?> values) throws Exception {
+            List<TokenBuffer> buffers =
+                range(0, values.size()).mapToObj(i -> new TokenBuffer(objectMapper, false)).collect(toList());
+            for (int i = 0; i < values.size(); i++) {
+                objectMapper.writeValue(buffers.get(i), values.get(i));
+            }
+            return buffers;
+        }
+    }
+
+    @Nested
+    class Deserialize {
+
+        private final TypeReference<CollectionModel<EntityModel<Person>>> type =
+            new TypeReference<CollectionModel<EntityModel<Person>>>() {
+            };
+
+        @Test
+        void should_bind_entities_not_before_they_are_accessed() throws Exception {
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model(100));
+
+            CollectionModel<EntityModel<Person>> actual = objectMapper(lazy()).readValue(source, type);
+
+            assertThat(actual).isInstanceOf(LazyCollectionModel.class);
+            assertThat(actual.getLinks()).containsExactly(Link.of("/persons"));
+            assertThat(actual.getContent()).hasSize(100);
+            assertThat(((LazyEntities) ((LazyCollectionModel<?>) actual).getContent()).boundCount()).isZero();
+        }
+
+        @Test
+        void should_read_the_same_content_as_the_eager_deserialization() throws Exception {
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model(100));
+
+            CollectionModel<EntityModel<Person>> expected = objectMapper(new SirenConfiguration()).readValue(source, type);
+            CollectionModel<EntityModel<Person>> actual = objectMapper(lazy()).readValue(source, type);
+
+            assertThat(actual.getContent()).containsExactlyElementsOf(expected.getContent());
+            assertThat(actual.getLinks()).isEqualTo(expected.getLinks());
+        }
+
+        @Test
+        void should_write_the_same_siren_entity_as_the_eager_deserialized_model() throws Exception {
+            ObjectMapper objectMapper = objectMapper(lazy());
+            String source = objectMapper.writeValueAsString(model(10));
+
+            CollectionModel<EntityModel<Person>> actual = objectMapper.readValue(source, type);
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(source);
+        }
+
+        @Test
+        void should_keep_the_generic_element_type() throws Exception {
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model(10));
+
+            CollectionModel<EntityModel<Person>> actual = objectMapper(lazy()).readValue(source, type);
+
+            assertThat(actual.getResolvableType().getGeneric(0).resolve()).isEqualTo(EntityModel.class);
+            assertThat(actual.getResolvableType().getGeneric(0, 0).resolve()).isEqualTo(Person.class);
+        }
+
+        @Test
+        void should_write_the_title_and_properties_of_a_plain_collection_model() throws Exception {
+            MessageResolver messageResolver = StaticMessageResolver.of("_entity.CollectionModel.title", "persons");
+            String source = objectMapper(messageResolver, new SirenConfiguration()).writeValueAsString(model(10));
+
+            ObjectMapper objectMapper = objectMapper(messageResolver, lazy());
+            CollectionModel<EntityModel<Person>> actual = objectMapper.readValue(source, type);
+
+            assertThat(source).contains("\"title\":\"persons\"");
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(source);
+        }
+
+        @Test
+        void should_record_the_requested_type_instead_of_the_lazy_model() throws Exception {
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model(10));
+            List<Class<?>> deserialized = new ArrayList<>();
+            SirenConfiguration configuration = lazy().withMetrics(new SirenMetrics() {
+
+                @Override
+                public void deserialized(Class<?> type, long start) {
+                    deserialized.add(type);
+                }
+            });
+
+            objectMapper(configuration).readValue(source, type);
+
+            assertThat(deserialized).containsExactly(CollectionModel.class);
+        }
+
+        private SirenConfiguration lazy() {
+            return new SirenConfiguration().withLazyEntityBindingEnabled(true);
+        }
+
+        private CollectionModel<EntityModel<Person>> model(int size) {
+            List<EntityModel<Person>> content = persons(size).stream() //
+                .map(p -> EntityModel.of(p, Link.of("/persons/" + p.getAge()))) //
+                .collect(toList());
+            return CollectionModel.of(content, Link.of("/persons"));
+        }
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration) {
+        return objectMapper(DEFAULTS_ONLY, configuration);
+    }
+
+    private static ObjectMapper objectMapper(MessageResolver messageResolver, SirenConfiguration configuration) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            messageResolver, //
+            configuration, //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static List<Person> persons(int size) {
+        return range(0, size).mapToObj(i -> new Person("Person " + i, i)).collect(toList());
+    }
+}
@@ -0,0 +1,125 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.IanaLinkRelations.ABOUT;
+import static org.springframework.hateoas.IanaLinkRelations.NEXT;
+import static org.springframework.hateoas.IanaLinkRelations.SELF;
+import static org.springframework.hateoas.Links.MergeMode.REPLACE_BY_REL;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
+
+class LinksAccumulatorTest {
+
+    @Nested
+    class Add {
+
+        @Test
+        void should_return_the_same_links_as_merging_them_by_rel() {
+            List<Links> batches = List.of( //
+                Links.of(Link.of("/self", SELF), Link.of("/about", ABOUT)), //
+                Links.of(Link.of("/next", NEXT)), //
+                Links.of(Link.of("/other-self", SELF), Link.of("/another-self", SELF)), //
+                Links.of(Link.of("/about", LinkRelation.of("ABOUT"))), //
+                Links.of(Link.of("/next", NEXT)) //
+            );
+
+            LinksAccumulator accumulator = new LinksAccumulator();
+            Links expected = Links.of();
+            for (Links batch : batches) {
+                accumulator.add(batch);
+                expected = expected.merge(REPLACE_BY_REL, batch);
+            }
+
+            assertThat(accumulator.getLinks()).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        void should_replace_deferred_links_having_the_same_rel() {
+            LinksAccumulator accumulator = new LinksAccumulator();
+            accumulator.add(DeferredLinks.of(SELF, () -> Link.of("/deferred-self", SELF)));
+            accumulator.add(DeferredLinks.of(ABOUT, () -> Link.of("/deferred-about", ABOUT)));
+            accumulator.add(Links.of(Link.of("/self", SELF)));
+
+            assertThat(accumulator.getLinks()).containsExactly(Link.of("/self", SELF));
+            assertThat(accumulator.getDeferredLinks()).hasSize(1);
+            assertThat(accumulator.getDeferredLinks().get(0).getRel()).isEqualTo(ABOUT);
+        }
+
+        @Test
+        void should_replace_links_having_the_same_rel_as_deferred_links() {
+            LinksAccumulator accumulator = new LinksAccumulator();
+            accumulator.add(Links.of(Link.of("/self", SELF), Link.of("/about", ABOUT)));
+            accumulator.add(DeferredLinks.of(SELF, () -> Link.of("/deferred-self", SELF)));
+
+            assertThat(accumulator.getLinks()).containsExactly(Link.of("/about", ABOUT));
+            assertThat(accumulator.getDeferredLinks()).hasSize(1);
+        }
+
+        @Test
+        void should_replace_links_having_the_same_rel_as_link_templates() {
+            SirenLinkTemplate template = SirenLinkTemplate.of(Link.of("/persons/{id}", SELF));
+            LinksAccumulator accumulator = new LinksAccumulator();
+            accumulator.add(Links.of(Link.of("/self", SELF), Link.of("/about", ABOUT)));
+            accumulator.add(SirenLinkTemplate.Expansion.of(template, new Object[] { 1 }));
+
+            assertThat(accumulator.getLinks()).containsExactly(Link.of("/about", ABOUT));
+            assertThat(accumulator.getLinkTemplates()).hasSize(1);
+        }
+
+        @Test
+        void should_replace_link_templates_having_the_same_rel() {
+            SirenLinkTemplate template = SirenLinkTemplate.of(Link.of("/persons/{id}", SELF));
+            LinksAccumulator accumulator = new LinksAccumulator();
+            accumulator.add(SirenLinkTemplate.Expansion.of(template, new Object[] { 1 }));
+            accumulator.add(SirenLinkTemplate.Expansion.of(template, new Object[] { 2 }));
+            accumulator.add(Links.of(Link.of("/self", SELF)));
+
+            assertThat(accumulator.getLinks()).containsExactly(Link.of("/self", SELF));
+            assertThat(accumulator.getLinkTemplates()).isEmpty();
+        }
+
+        @Test
+        void should_keep_deferred_links_without_rel() {
+            LinksAccumulator accumulator = new LinksAccumulator();
+            accumulator.add(DeferredLinks.of(() -> Links.of(Link.of("/self", SELF))));
+            accumulator.add(Links.of(Link.of("/other-self", SELF)));
+
+            assertThat(accumulator.getLinks()).containsExactly(Link.of("/other-self", SELF));
+            assertThat(accumulator.getDeferredLinks()).hasSize(1);
+        }
+
+        @Test
+        void should_place_deferred_links_among_the_remaining_links() {
+            LinksAccumulator accumulator = new LinksAccumulator();
+            accumulator.add(Links.of(Link.of("/self", SELF)));
+            accumulator.add(DeferredLinks.of(ABOUT, () -> Link.of("/deferred-about", ABOUT)));
+            accumulator.add(Links.of(Link.of("/next", NEXT)));
+            accumulator.add(Links.of(Link.of("/other-self", SELF)));
+            accumulator.add(DeferredLinks.of(() -> Links.of(Link.of("/deferred-self", SELF))));
+
+            assertThat(accumulator.getLinks()).containsExactly(Link.of("/next", NEXT), Link.of("/other-self", SELF));
+            assertThat(accumulator.getDeferredLinks()).extracting(DeferredLinks::getPosition).containsExactly(0, 2);
+        }
+    }
+}
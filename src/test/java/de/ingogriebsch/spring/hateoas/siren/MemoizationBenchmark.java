@@ -0,0 +1,116 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static de.ingogriebsch.spring.hateoas.siren.SirenModelBuilder.sirenModel;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Benchmark comparing the serialization of entities which are contained several times with and without the memoization of
+ * repeated entities, depending on how often each entity occurs. Run it through its {@link #main(String[]) main} method (after
+ * compiling the test sources).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class MemoizationBenchmark {
+
+    private static final int SIZE = 240;
+
+    @Param({ "2", "3", "4", "10" })
+    private int occurrences;
+
+    private ObjectMapper plain;
+    private ObjectMapper memoizing;
+    private RepresentationModel<?> model;
+
+    @Setup
+    public void setup() {
+        plain = objectMapper(new SirenConfiguration());
+        memoizing = objectMapper(new SirenConfiguration().withRepeatedEntityMemoizationEnabled(true));
+
+        List<RepresentationModel<?>> countries = range(0, SIZE / occurrences).mapToObj(MemoizationBenchmark::country) //
+            .collect(toList());
+        model = CollectionModel.of(range(0, SIZE) //
+            .mapToObj(i -> sirenModel().properties(new Person("Person " + i, i)) //
+                .entities("country", countries.get(i % countries.size())) //
+                .linksAndActions(Link.of("/persons/" + i)) //
+                .build()) //
+            .collect(toList()), Link.of("/persons"));
+    }
+
+    @Benchmark
+    public byte[] plain() throws Exception {
+        return plain.writeValueAsBytes(model);
+    }
+
+    @Benchmark
+    public byte[] memoizing() throws Exception {
+        return memoizing.writeValueAsBytes(model);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(MemoizationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static RepresentationModel<?> country(int i) {
+        return sirenModel().classes("country").properties(new Person("Country " + i, i)) //
+            .entities("capital",
+                sirenModel().properties(new Person("Capital " + i, i)).linksAndActions(Link.of("/capitals/" + i)).build()) //
+            .linksAndActions(Link.of("/countries/" + i), Link.of("/countries/" + i + "/persons", "persons")) //
+            .build();
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            configuration, //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
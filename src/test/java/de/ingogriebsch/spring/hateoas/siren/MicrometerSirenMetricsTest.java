@@ -0,0 +1,141 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.CACHE_HITS;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.CACHE_MISSES;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.DESERIALIZATION;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.SERIALIZATION;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.SERIALIZATION_ACTIONS;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.SERIALIZATION_BYTES;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.SERIALIZATION_ENTITIES;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.SERIALIZATION_LINKS;
+import static de.ingogriebsch.spring.hateoas.siren.MicrometerSirenMetrics.SERIALIZATION_PHASE;
+import static de.ingogriebsch.spring.hateoas.siren.SirenModelBuilder.sirenModel;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class MicrometerSirenMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void should_record_the_serialization_of_the_root_model() throws Exception {
+            objectMapper().writeValueAsString(model(3));
+
+            assertThat(registry.get(SERIALIZATION).tag("type", "CollectionModel").timer().count()).isEqualTo(1);
+            assertThat(registry.find(SERIALIZATION).tag("type", "EntityModel").timer()).isNull();
+        }
+
+        @Test
+        void should_record_the_amount_of_entities_links_and_actions() throws Exception {
+            objectMapper().writeValueAsString(model(3));
+
+            assertThat(registry.get(SERIALIZATION_ENTITIES).summary().totalAmount()).isEqualTo(3);
+            assertThat(registry.get(SERIALIZATION_LINKS).summary().totalAmount()).isEqualTo(4);
+            assertThat(registry.get(SERIALIZATION_ACTIONS).summary().totalAmount()).isEqualTo(0);
+        }
+
+        @Test
+        void should_record_the_phases() throws Exception {
+            objectMapper().writeValueAsString(model(3));
+
+            assertThat(registry.get(SERIALIZATION_PHASE).tag("phase", "link-conversion").timer().count()).isEqualTo(4);
+            assertThat(registry.get(SERIALIZATION_PHASE).tag("phase", "title-resolution").timer().count()).isEqualTo(4);
+            assertThat(registry.get(SERIALIZATION_PHASE).tag("phase", "writing").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        void should_record_the_bytes_written() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+            new SirenHttpMessageConverter(objectMapper, 0, 0, MicrometerSirenMetrics.of(registry)).write(model(3), SIREN_JSON,
+                message);
+
+            assertThat(registry.get(SERIALIZATION_BYTES).tag("type", "CollectionModel").summary().totalAmount())
+                .isEqualTo(message.getBodyAsBytes().length);
+        }
+
+        @Test
+        void should_record_hits_and_misses_of_link_templates() throws Exception {
+            SirenLinkTemplate template = SirenLinkTemplate.of(Link.of("/persons/{id}"));
+            List<Object> entities =
+                range(0, 3).mapToObj(i -> sirenModel().linksAndActions(template, i).build()).collect(toList());
+
+            objectMapper().writeValueAsString(sirenModel().entities(entities).build());
+
+            assertThat(registry.get(CACHE_MISSES).tag("cache", "link-templates").counter().count()).isEqualTo(1);
+            assertThat(registry.get(CACHE_HITS).tag("cache", "link-templates").counter().count()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    class Deserialize {
+
+        @Test
+        void should_record_the_deserialization_of_the_root_model() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            String source = objectMapper.writeValueAsString(model(3));
+
+            objectMapper.readValue(source, new TypeReference<CollectionModel<EntityModel<Person>>>() {
+            });
+
+            assertThat(registry.get(DESERIALIZATION).tag("type", "CollectionModel").timer().count()).isEqualTo(1);
+            assertThat(registry.find(DESERIALIZATION).tag("type", "EntityModel").timer()).isNull();
+        }
+    }
+
+    private ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration().withMetrics(MicrometerSirenMetrics.of(registry)), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static CollectionModel<EntityModel<Person>> model(int size) {
+        List<EntityModel<Person>> entities = range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i), Link.of("/persons/" + i))) //
+            .collect(toList());
+        return CollectionModel.of(entities, Link.of("/persons"));
+    }
+}
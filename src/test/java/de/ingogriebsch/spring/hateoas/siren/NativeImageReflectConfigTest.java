@@ -0,0 +1,202 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.io.support.SpringFactoriesLoader.loadFactoryNames;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.AffordanceModelFactory;
+
+class NativeImageReflectConfigTest {
+
+    private static final String REFLECT_CONFIG =
+        "META-INF/native-image/de.ingogriebsch.hateoas/spring-hateoas-siren/reflect-config.json";
+    private static final String PACKAGE = NativeImageReflectConfigTest.class.getPackageName();
+
+    private Map<String, Entry> entries;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        List<Entry> entries = new ObjectMapper().readValue(new ClassPathResource(REFLECT_CONFIG).getInputStream(),
+            new TypeReference<List<Entry>>() {
+            });
+        this.entries = entries.stream().collect(toMap(Entry::getName, Function.identity()));
+    }
+
+    @Nested
+    class Entries {
+
+        @Test
+        void should_refer_to_existing_classes_and_constructors() throws Exception {
+            for (Entry entry : entries.values()) {
+                Class<?> clazz = Class.forName(entry.getName());
+                for (Method method : entry.getMethods()) {
+                    Class<?>[] types = new Class<?>[method.getParameterTypes().size()];
+                    for (int i = 0; i < types.length; i++) {
+                        types[i] = Class.forName(method.getParameterTypes().get(i));
+                    }
+                    assertThat(clazz.getDeclaredConstructor(types)).isNotNull();
+                }
+            }
+        }
+    }
+
+    @Nested
+    class Coverage {
+
+        @Test
+        void should_cover_all_serializers_and_deserializers() {
+            List<Class<?>> classes = scan(new AssignableTypeFilter(JsonSerializer.class));
+            classes.addAll(scan(new AssignableTypeFilter(JsonDeserializer.class)));
+
+            assertThat(classes).isNotEmpty().allSatisfy(c -> assertThat(entries).hasEntrySatisfying(c.getName(),
+                e -> assertThat(e.isAllDeclaredConstructors()).isTrue()));
+        }
+
+        @Test
+        void should_cover_all_mixins_and_the_serializers_they_refer_to() {
+            ObjectMapper mapper = new ObjectMapper().registerModule(new Jackson2SirenModule());
+
+            for (Class<?> target : List.of(RepresentationModel.class, EntityModel.class, CollectionModel.class, PagedModel.class,
+                SirenModel.class, SirenModel.EmbeddedRepresentation.class)) {
+                Class<?> mixIn = mapper.findMixInClassFor(target);
+                assertThat(entries).hasEntrySatisfying(mixIn.getName(), e -> assertFullyIntrospectable(e));
+
+                JsonSerialize serialize = mixIn.getAnnotation(JsonSerialize.class);
+                assertThat(entries).containsKey(serialize.using().getName());
+                JsonDeserialize deserialize = mixIn.getAnnotation(JsonDeserialize.class);
+                if (deserialize != null) {
+                    assertThat(entries).containsKey(deserialize.using().getName());
+                }
+            }
+        }
+
+        @Test
+        void should_cover_all_classes_bound_through_jackson() {
+            List<Class<?>> classes = scan(new AnnotationTypeFilter(JsonPropertyOrder.class));
+
+            assertThat(classes).isNotEmpty()
+                .allSatisfy(c -> assertThat(entries).hasEntrySatisfying(c.getName(), e -> assertFullyIntrospectable(e)));
+        }
+
+        @Test
+        void should_cover_the_constructors_used_by_the_model_factories() {
+            assertThat(entries).hasEntrySatisfying(RepresentationModel.class.getName(),
+                e -> assertThat(e.getMethods()).contains(constructor()));
+            assertThat(entries).hasEntrySatisfying(EntityModel.class.getName(),
+                e -> assertThat(e.getMethods()).contains(constructor("java.lang.Object", "java.lang.Iterable")));
+            assertThat(entries).hasEntrySatisfying(CollectionModel.class.getName(), e -> assertThat(e.getMethods())
+                .contains(constructor("java.lang.Iterable", "java.lang.Iterable", "org.springframework.core.ResolvableType")));
+            assertThat(entries).hasEntrySatisfying(PagedModel.class.getName(), e -> assertThat(e.getMethods())
+                .contains(constructor("java.util.Collection", PagedModel.PageMetadata.class.getName(), "java.lang.Iterable")));
+            assertThat(entries).hasEntrySatisfying(CursorPagedModel.class.getName(), e -> assertThat(e.getMethods()).contains(
+                constructor("java.util.Collection", CursorPagedModel.CursorMetadata.class.getName(), "java.lang.Iterable")));
+        }
+
+        @Test
+        void should_cover_the_classes_instantiated_by_name() {
+            List<String> names = loadFactoryNames(AffordanceModelFactory.class, getClass().getClassLoader()).stream()
+                .filter(n -> n.startsWith(PACKAGE)).collect(toList());
+            names.add(SirenMediaTypeConfiguration.class.getName());
+            names.add(SirenWebStackImportSelector.class.getName());
+            names.addAll(Arrays.asList(new SirenWebStackImportSelector().selectImports(null)));
+
+            assertThat(names).allSatisfy(
+                n -> assertThat(entries).hasEntrySatisfying(n, e -> assertThat(e.isAllDeclaredConstructors()).isTrue()));
+        }
+
+        private void assertFullyIntrospectable(Entry entry) {
+            assertThat(entry.isAllDeclaredConstructors()).isTrue();
+            assertThat(entry.isAllDeclaredFields()).isTrue();
+            assertThat(entry.isAllDeclaredMethods()).isTrue();
+        }
+
+        private Method constructor(String... parameterTypes) {
+            Method method = new Method();
+            method.setName("<init>");
+            method.setParameterTypes(List.of(parameterTypes));
+            return method;
+        }
+    }
+
+    private static List<Class<?>> scan(TypeFilter filter) {
+        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+        provider.addIncludeFilter(filter);
+
+        return provider.findCandidateComponents(PACKAGE).stream() //
+            .map(BeanDefinition::getBeanClassName) //
+            .map(NativeImageReflectConfigTest::forName) //
+            .filter(c -> c.getName().startsWith(PACKAGE) && !c.getName().contains("Test")) //
+            .filter(c -> !Modifier.isAbstract(c.getModifiers())) //
+            .collect(toList());
+    }
+
+    private static Class<?> forName(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Data
+    static class Entry {
+
+        private String name;
+        private boolean allDeclaredConstructors;
+        private boolean allDeclaredFields;
+        private boolean allDeclaredMethods;
+        private boolean allPublicMethods;
+        private List<Method> methods = List.of();
+    }
+
+    @Data
+    static class Method {
+
+        private String name;
+        private List<String> parameterTypes = List.of();
+    }
+}
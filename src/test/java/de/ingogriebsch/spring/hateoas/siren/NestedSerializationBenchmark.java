@@ -0,0 +1,112 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Benchmark comparing the serialization of entities nested into each other with the serialization of the same amount of
+ * entities side by side, so the difference is the overhead of the nesting per level.
+ * Run it through its {@link #main(String[]) main} method (after compiling the test sources).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class NestedSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int levels;
+
+    private ObjectMapper objectMapper;
+    private RepresentationModel<?> nested;
+    private RepresentationModel<?> flat;
+
+    @Setup
+    public void setup() {
+        objectMapper = objectMapper();
+
+        RepresentationModel<?> model = entity(levels);
+        for (int i = 0; i < levels; i++) {
+            model = CollectionModel.of(List.of(model), Link.of("/levels/" + i));
+        }
+        nested = model;
+
+        List<RepresentationModel<?>> content = range(0, levels) //
+            .mapToObj(i -> CollectionModel.empty(Link.of("/levels/" + i))) //
+            .collect(toList());
+        content.add(entity(levels));
+        flat = CollectionModel.of(content, Link.of("/levels"));
+    }
+
+    @Benchmark
+    public byte[] nested() throws Exception {
+        return objectMapper.writeValueAsBytes(nested);
+    }
+
+    @Benchmark
+    public byte[] flat() throws Exception {
+        return objectMapper.writeValueAsBytes(flat);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(NestedSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static EntityModel<Person> entity(int age) {
+        return EntityModel.of(new Person("Person " + age, age), Link.of("/persons/" + age));
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.JavaType;
+import de.ingogriebsch.spring.hateoas.siren.CursorPagedModel.CursorMetadata;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
@@ -64,4 +65,36 @@ class PagedModelFactoryTest {
         assertThat(model.getLinks()).isNotNull();
         assertThat(model.getLinks().toList()).isEqualTo(links);
     }
+
+    @Test
+    void createCursorPaged_should_return_cursor_paged_model() {
+        PagedModelFactory factory = new PagedModelFactory() {
+        };
+
+        JavaType type = defaultInstance().constructParametricType(PagedModel.class, String.class);
+        Iterable<Link> links = newArrayList(Link.of("href1"), Link.of("href2"));
+        List<Object> content = newArrayList("content");
+        CursorMetadata metadata = new CursorMetadata(20, "next", null);
+        PagedModel<?> model = factory.createCursorPaged(type, links, content, metadata);
+
+        assertThat(model).isInstanceOf(CursorPagedModel.class);
+        assertThat(((CursorPagedModel<?>) model).getCursorMetadata()).isEqualTo(metadata);
+        assertThat(model.getMetadata()).isNull();
+        assertThat(newArrayList(model.getContent())).isEqualTo(content);
+        assertThat(model.getLinks().toList()).isEqualTo(links);
+    }
+
+    @Test
+    void createCursorPaged_should_throw_exception_if_type_is_not_matching() {
+        PagedModelFactory factory = new PagedModelFactory() {
+        };
+
+        JavaType type = defaultInstance().constructSimpleType(String.class, null);
+        List<Link> links = newArrayList();
+        List<Object> content = newArrayList();
+        CursorMetadata metadata = new CursorMetadata(20, null, null);
+
+        assertThatThrownBy(() -> factory.createCursorPaged(type, links, content, metadata))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,201 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+
+class ParallelEntitiesBinderTest {
+
+    private final AtomicInteger workers = new AtomicInteger();
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void beforeEach() {
+        pool = new ForkJoinPool(4, p -> {
+            workers.incrementAndGet();
+            return defaultForkJoinWorkerThreadFactory.newThread(p);
+        }, null, false);
+    }
+
+    @AfterEach
+    void afterEach() {
+        pool.shutdown();
+    }
+
+    @Nested
+    class Bind {
+
+        @Test
+        void should_return_entities_in_the_order_of_the_buffers() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<Person> persons = persons(100);
+
+            List<Object> actual =
+                new ParallelEntitiesBinder(pool).bind(buffers(objectMapper, persons), objectMapper.readerFor(Person.class));
+
+            assertThat(actual).containsExactlyElementsOf(persons);
+        }
+
+        @Test
+        void should_rethrow_exception_thrown_while_binding() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<TokenBuffer> buffers = buffers(objectMapper, List.of(new Person("Peter", 33), "Paul"));
+
+            assertThatThrownBy(() -> new ParallelEntitiesBinder(pool).bind(buffers, objectMapper.readerFor(Person.class)))
+                .isInstanceOf(MismatchedInputException.class);
+        }
+
+        private List<TokenBuffer> buffers(ObjectMapper objectMapper, List<?> values) throws Exception {
+            List<TokenBuffer> buffers =
+                range(0, values.size()).mapToObj(i -> new TokenBuffer(objectMapper, false)).collect(toList());
+            for (int i = 0; i < values.size(); i++) {
+                objectMapper.writeValue(buffers.get(i), values.get(i));
+            }
+            return buffers;
+        }
+    }
+
+    @Nested
+    class Deserialize {
+
+        @Test
+        void should_read_the_same_collection_model_as_the_sequential_deserialization() throws Exception {
+            CollectionModel<EntityModel<Person>> model = CollectionModel.of(entities(1000), Link.of("/persons"));
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            TypeReference<CollectionModel<EntityModel<Person>>> type = new TypeReference<CollectionModel<EntityModel<Person>>>() {
+            };
+
+            CollectionModel<EntityModel<Person>> expected = objectMapper(new SirenConfiguration()).readValue(source, type);
+            CollectionModel<EntityModel<Person>> actual = objectMapper(parallel(10)).readValue(source, type);
+
+            assertThat(workers).hasPositiveValue();
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.getContent()).containsExactlyElementsOf(expected.getContent());
+        }
+
+        @Test
+        void should_read_the_same_paged_model_as_the_sequential_deserialization() throws Exception {
+            PagedModel<EntityModel<Person>> model =
+                PagedModel.of(entities(1000), new PageMetadata(1000, 0, 1000), Link.of("/persons"));
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration());
+            JavaType type = objectMapper.getTypeFactory().constructParametricType(PagedModel.class,
+                objectMapper.getTypeFactory().constructParametricType(EntityModel.class, Person.class));
+
+            PagedModel<EntityModel<Person>> expected = objectMapper.readValue(source, type);
+            PagedModel<EntityModel<Person>> actual = objectMapper(parallel(10)).readValue(source, type);
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.getContent()).containsExactlyElementsOf(expected.getContent());
+        }
+
+        @Test
+        void should_read_the_same_collection_model_if_threshold_is_not_reached() throws Exception {
+            CollectionModel<EntityModel<Person>> model = CollectionModel.of(entities(5), Link.of("/persons"));
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            TypeReference<CollectionModel<EntityModel<Person>>> type = new TypeReference<CollectionModel<EntityModel<Person>>>() {
+            };
+
+            CollectionModel<EntityModel<Person>> expected = objectMapper(new SirenConfiguration()).readValue(source, type);
+            CollectionModel<EntityModel<Person>> actual = objectMapper(parallel(10)).readValue(source, type);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_read_the_same_collection_model_if_read_through_object_reader() throws Exception {
+            CollectionModel<EntityModel<Person>> model = CollectionModel.of(entities(100), Link.of("/persons"));
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            TypeReference<CollectionModel<EntityModel<Person>>> type = new TypeReference<CollectionModel<EntityModel<Person>>>() {
+            };
+
+            CollectionModel<EntityModel<Person>> expected = objectMapper(new SirenConfiguration()).readValue(source, type);
+            CollectionModel<EntityModel<Person>> actual = objectMapper(parallel(10)).readerFor(type).readValue(source);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_only_bind_the_entities_of_the_root_in_parallel() throws Exception {
+            CollectionModel<CollectionModel<EntityModel<Person>>> model = CollectionModel.of(List.of( //
+                CollectionModel.of(entities(100), Link.of("/persons?page=0")), //
+                CollectionModel.of(entities(100), Link.of("/persons?page=1"))), Link.of("/pages"));
+            String source = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            TypeReference<CollectionModel<CollectionModel<EntityModel<Person>>>> type =
+                new TypeReference<CollectionModel<CollectionModel<EntityModel<Person>>>>() {
+                };
+
+            CollectionModel<CollectionModel<EntityModel<Person>>> expected =
+                objectMapper(new SirenConfiguration()).readValue(source, type);
+            CollectionModel<CollectionModel<EntityModel<Person>>> actual = objectMapper(parallel(10)).readValue(source, type);
+
+            assertThat(workers).hasValue(0);
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        private SirenConfiguration parallel(int threshold) {
+            return new SirenConfiguration().withParallelDeserializationThreshold(threshold).withParallelDeserializationPool(pool);
+        }
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            configuration, //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static List<Person> persons(int size) {
+        return range(0, size).mapToObj(i -> new Person("Person " + i, i)).collect(toList());
+    }
+
+    private static List<EntityModel<Person>> entities(int size) {
+        return persons(size).stream() //
+            .map(p -> EntityModel.of(p, Link.of("/persons/" + p.getAge()))) //
+            .collect(toList());
+    }
+}
@@ -0,0 +1,209 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static com.fasterxml.jackson.core.json.JsonWriteFeature.ESCAPE_NON_ASCII;
+import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+
+class ParallelEntitiesRendererTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void beforeEach() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void afterEach() {
+        pool.shutdown();
+    }
+
+    @Nested
+    class Render {
+
+        @Test
+        void should_return_the_rendered_entities_in_the_order_of_the_entities() throws Exception {
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration());
+            List<EntityModel<Person>> entities = entities(100);
+
+            List<Object> rendered = new ParallelEntitiesRenderer(pool).render(entities, objectMapper.writer());
+
+            String expected = objectMapper.writeValueAsString(entities);
+            String actual = objectMapper.writeValueAsString(rendered);
+            assertThat(rendered).hasSameSizeAs(entities);
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_rethrow_exception_thrown_while_rendering() {
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration());
+            List<Object> entities = List.of(new Person("Peter", 33), new Failing());
+
+            assertThatThrownBy(() -> new ParallelEntitiesRenderer(pool).render(entities, objectMapper.writer()))
+                .isInstanceOf(JsonMappingException.class);
+        }
+    }
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void should_write_the_same_collection_model_as_the_sequential_serialization() throws Exception {
+            CollectionModel<EntityModel<Person>> model = CollectionModel.of(entities(1000), Link.of("/persons"));
+
+            String expected = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            String actual = objectMapper(parallel()).writeValueAsString(model);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_write_the_same_paged_model_as_the_sequential_serialization() throws Exception {
+            PagedModel<EntityModel<Person>> model =
+                PagedModel.of(entities(1000), new PageMetadata(1000, 0, 1000), Link.of("/persons"));
+
+            String expected = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            String actual = objectMapper(parallel()).writeValueAsString(model);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_write_the_same_model_as_the_sequential_serialization_if_output_is_pretty_printed() throws Exception {
+            CollectionModel<EntityModel<Person>> model = CollectionModel.of(entities(100), Link.of("/persons"));
+
+            String expected = objectMapper(new SirenConfiguration()).enable(INDENT_OUTPUT).writeValueAsString(model);
+            String actual = objectMapper(parallel()).enable(INDENT_OUTPUT).writeValueAsString(model);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_write_the_same_model_as_the_sequential_serialization_if_generator_features_are_enabled() throws Exception {
+            CollectionModel<EntityModel<Person>> model =
+                CollectionModel.of(List.of(EntityModel.of(new Person("J\u00fcrgen", 33))), Link.of("/persons"));
+
+            String expected = objectMapper(new SirenConfiguration()).writer().with(ESCAPE_NON_ASCII).writeValueAsString(model);
+            String actual = objectMapper(parallel(1)).writer().with(ESCAPE_NON_ASCII).writeValueAsString(model);
+
+            assertThat(actual).contains("J\\u00FCrgen").isEqualTo(expected);
+        }
+
+        @Test
+        void should_write_the_same_model_as_the_sequential_serialization_if_a_filter_is_active() throws Exception {
+            List<EntityModel<FilteredPerson>> entities = range(0, 100) //
+                .mapToObj(i -> EntityModel.of(new FilteredPerson("Person " + i, i), Link.of("/persons/" + i))) //
+                .collect(toList());
+            CollectionModel<EntityModel<FilteredPerson>> model = CollectionModel.of(entities, Link.of("/persons"));
+            FilterProvider filters =
+                new SimpleFilterProvider().addFilter(FilteredPerson.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept("name"));
+
+            String expected = objectMapper(new SirenConfiguration()).writer(filters).writeValueAsString(model);
+            String actual = objectMapper(parallel()).writer(filters).writeValueAsString(model);
+
+            assertThat(actual).doesNotContain("\"age\"").isEqualTo(expected);
+        }
+
+        private SirenConfiguration parallel() {
+            return parallel(10);
+        }
+
+        private SirenConfiguration parallel(int threshold) {
+            return new SirenConfiguration().withParallelSerializationThreshold(threshold).withParallelSerializationPool(pool);
+        }
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            configuration, //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static List<EntityModel<Person>> entities(int size) {
+        return range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i), Link.of("/persons/" + i))) //
+            .collect(toList());
+    }
+
+    @Getter
+    @JsonFilter(FilteredPerson.FILTER)
+    @RequiredArgsConstructor
+    private static class FilteredPerson {
+
+        private static final String FILTER = "filteredPerson";
+
+        private final String name;
+        private final int age;
+    }
+
+    @JsonSerialize(using = FailingSerializer.class)
+    private static class Failing {
+    }
+
+    private static class FailingSerializer extends StdSerializer<Failing> {
+
+        private static final long serialVersionUID = 1L;
+
+        FailingSerializer() {
+            super(Failing.class);
+        }
+
+        @Override
+        public void serialize(Failing value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            throw JsonMappingException.from(gen, "Failing!");
+        }
+    }
+}
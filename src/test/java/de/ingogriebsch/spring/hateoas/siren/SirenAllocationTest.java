@@ -0,0 +1,193 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Capital;
+import de.ingogriebsch.spring.hateoas.siren.support.Country;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import de.ingogriebsch.spring.hateoas.siren.support.PersonModel;
+import de.ingogriebsch.spring.hateoas.siren.support.State;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+
+/**
+ * Asserts upper bounds of the bytes which are allocated per serialization and deserialization of some fixed fixtures and of the
+ * retained size of the deserialized models. The bounds contain some headroom above the measured values so that they only fail
+ * on real regressions (e.g. in {@link SirenLinkConverter}, {@link PropertiesFacility} or the builders) and not on the noise of
+ * different JVMs.
+ */
+class SirenAllocationTest {
+
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 200;
+
+    private final ObjectMapper objectMapper = objectMapper();
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void entity_model_should_not_exceed_the_allocation_bound() {
+            EntityModel<Person> model = person(0);
+
+            assertThat(allocatedBytes(() -> objectMapper.writeValueAsString(model))).isLessThan(10_000L);
+        }
+
+        @Test
+        void representation_model_should_not_exceed_the_allocation_bound() {
+            PersonModel model = personModel();
+
+            assertThat(allocatedBytes(() -> objectMapper.writeValueAsString(model))).isLessThan(15_000L);
+        }
+
+        @Test
+        void collection_model_should_not_exceed_the_allocation_bound() {
+            Country model = country();
+
+            assertThat(allocatedBytes(() -> objectMapper.writeValueAsString(model))).isLessThan(50_000L);
+        }
+
+        @Test
+        void paged_model_should_not_exceed_the_allocation_bound() {
+            PagedModel<EntityModel<Person>> model = pagedModel(20);
+
+            assertThat(allocatedBytes(() -> objectMapper.writeValueAsString(model))).isLessThan(150_000L);
+        }
+    }
+
+    @Nested
+    class Deserialize {
+
+        @Test
+        void entity_model_should_not_exceed_the_allocation_and_retained_size_bound() throws Exception {
+            JavaType type = objectMapper.getTypeFactory().constructParametricType(EntityModel.class, Person.class);
+            String source = objectMapper.writeValueAsString(person(0));
+
+            assertThat(allocatedBytes(() -> objectMapper.readValue(source, type))).isLessThan(8_000L);
+            assertThat(retainedSize(objectMapper.readValue(source, type))).isLessThan(800L);
+        }
+
+        @Test
+        void representation_model_should_not_exceed_the_allocation_and_retained_size_bound() throws Exception {
+            String source = objectMapper.writeValueAsString(personModel());
+
+            assertThat(allocatedBytes(() -> objectMapper.readValue(source, PersonModel.class))).isLessThan(10_000L);
+            assertThat(retainedSize(objectMapper.readValue(source, PersonModel.class))).isLessThan(1_100L);
+        }
+
+        @Test
+        void collection_model_should_not_exceed_the_allocation_and_retained_size_bound() throws Exception {
+            String source = objectMapper.writeValueAsString(country());
+
+            assertThat(allocatedBytes(() -> objectMapper.readValue(source, Country.class))).isLessThan(40_000L);
+            assertThat(retainedSize(objectMapper.readValue(source, Country.class))).isLessThan(1_800L);
+        }
+
+        @Test
+        void paged_model_should_not_exceed_the_allocation_and_retained_size_bound() throws Exception {
+            JavaType type = objectMapper.getTypeFactory().constructParametricType(PagedModel.class,
+                objectMapper.getTypeFactory().constructParametricType(EntityModel.class, Person.class));
+            String source = objectMapper.writeValueAsString(pagedModel(20));
+
+            assertThat(allocatedBytes(() -> objectMapper.readValue(source, type))).isLessThan(130_000L);
+            assertThat(retainedSize(objectMapper.readValue(source, type))).isLessThan(14_000L);
+        }
+    }
+
+    private static long allocatedBytes(Action action) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                action.run();
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                action.run();
+            }
+            return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long retainedSize(Object model) {
+        return GraphLayout.parseInstance(model).totalSize();
+    }
+
+    private static EntityModel<Person> person(int index) {
+        return EntityModel.of(new Person("Person " + index, index), Link.of("/persons/" + index));
+    }
+
+    private static PersonModel personModel() {
+        PersonModel model = new PersonModel("Peter", 33);
+        model.add(Link.of("/persons/1"), Link.of("/persons", "all"));
+        return model;
+    }
+
+    private static Country country() {
+        List<State> states = newArrayList( //
+            new State("California", new Capital("Sacramento"), Link.of("/states/ca")), //
+            new State("Pennsylvania", new Capital("Philadelphia"), Link.of("/states/pa")) //
+        );
+        return new Country("America", states, Link.of("/countries/us"));
+    }
+
+    private static PagedModel<EntityModel<Person>> pagedModel(int size) {
+        List<EntityModel<Person>> content = range(0, size).mapToObj(SirenAllocationTest::person).collect(toList());
+        return PagedModel.of(content, new PageMetadata(size, 0, size * 10L), Link.of("/persons?page=0"),
+            Link.of("/persons?page=1", "next"));
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration().withEntityAndCollectionModelSubclassingEnabled(true), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    @FunctionalInterface
+    private interface Action {
+
+        void run() throws Exception;
+    }
+}
@@ -2,9 +2,12 @@ package de.ingogriebsch.spring.hateoas.siren;
 
 import static de.ingogriebsch.spring.hateoas.siren.TypeMapping.typeMapping;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.hateoas.mediatype.html.HtmlInputType.NUMBER;
 import static org.springframework.hateoas.mediatype.html.HtmlInputType.TEXT;
 
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +25,41 @@ class SirenConfigurationTest {
         assertThat(new SirenConfiguration().getActionFieldTypeMappings()).isEmpty();
     }
 
+    @Test
+    void ctor_should_define_default_for_dataBufferChunkSize() {
+        assertThat(new SirenConfiguration().getDataBufferChunkSize()).isEqualTo(8192);
+    }
+
+    @Test
+    void ctor_should_define_default_for_flushAfterEntities() {
+        assertThat(new SirenConfiguration().getFlushAfterEntities()).isZero();
+    }
+
+    @Test
+    void ctor_should_define_default_for_flushAfterBytes() {
+        assertThat(new SirenConfiguration().getFlushAfterBytes()).isZero();
+    }
+
+    @Test
+    void ctor_should_define_default_for_parallelSerializationThreshold() {
+        assertThat(new SirenConfiguration().getParallelSerializationThreshold()).isZero();
+    }
+
+    @Test
+    void ctor_should_define_default_for_parallelSerializationPool() {
+        assertThat(new SirenConfiguration().getParallelSerializationPool()).isSameAs(ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void ctor_should_define_default_for_parallelDeserializationThreshold() {
+        assertThat(new SirenConfiguration().getParallelDeserializationThreshold()).isZero();
+    }
+
+    @Test
+    void ctor_should_define_default_for_parallelDeserializationPool() {
+        assertThat(new SirenConfiguration().getParallelDeserializationPool()).isSameAs(ForkJoinPool.commonPool());
+    }
+
     @Test
     void withEntityAndCollectionModelSubclassingEnabled_should_return_set_value() {
         SirenConfiguration configuration = new SirenConfiguration();
@@ -90,4 +128,199 @@ class SirenConfigurationTest {
 
         assertThat(configuration.getObjectMapperCustomizer()).isEqualTo(objectMapperCustomizer);
     }
+
+    @Test
+    void withDataBufferChunkSize_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withDataBufferChunkSize(1024);
+
+        assertThat(configuration.getDataBufferChunkSize()).isEqualTo(1024);
+    }
+
+    @Test
+    void withDataBufferChunkSize_should_throw_exception_if_chunk_size_is_not_positive() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withDataBufferChunkSize(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withFlushAfterEntities_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withFlushAfterEntities(10);
+
+        assertThat(configuration.getFlushAfterEntities()).isEqualTo(10);
+    }
+
+    @Test
+    void withFlushAfterEntities_should_throw_exception_if_entities_is_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withFlushAfterEntities(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withFlushAfterBytes_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withFlushAfterBytes(4096);
+
+        assertThat(configuration.getFlushAfterBytes()).isEqualTo(4096);
+    }
+
+    @Test
+    void withFlushAfterBytes_should_throw_exception_if_bytes_is_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withFlushAfterBytes(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withParallelSerializationThreshold_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withParallelSerializationThreshold(1000);
+
+        assertThat(configuration.getParallelSerializationThreshold()).isEqualTo(1000);
+    }
+
+    @Test
+    void withParallelSerializationThreshold_should_throw_exception_if_threshold_is_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withParallelSerializationThreshold(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withParallelSerializationPool_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            configuration.withParallelSerializationPool(pool);
+            assertThat(configuration.getParallelSerializationPool()).isSameAs(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void withParallelDeserializationThreshold_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withParallelDeserializationThreshold(1000);
+
+        assertThat(configuration.getParallelDeserializationThreshold()).isEqualTo(1000);
+    }
+
+    @Test
+    void withParallelDeserializationThreshold_should_throw_exception_if_threshold_is_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withParallelDeserializationThreshold(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withParallelDeserializationPool_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            configuration.withParallelDeserializationPool(pool);
+            assertThat(configuration.getParallelDeserializationPool()).isSameAs(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void withLazyEntityBindingEnabled_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withLazyEntityBindingEnabled(true);
+
+        assertThat(configuration.isLazyEntityBindingEnabled()).isTrue();
+    }
+
+    @Test
+    void withRepeatedEntityMemoizationEnabled_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withRepeatedEntityMemoizationEnabled(true);
+
+        assertThat(configuration.isRepeatedEntityMemoizationEnabled()).isTrue();
+    }
+
+    @Test
+    void withMetrics_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+        SirenMetrics metrics = new SirenMetrics() {
+        };
+
+        configuration.withMetrics(metrics);
+
+        assertThat(configuration.getMetrics()).isSameAs(metrics);
+    }
+
+    @Test
+    void withWarmUpEnabled_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withWarmUpEnabled(true);
+
+        assertThat(configuration.isWarmUpEnabled()).isTrue();
+    }
+
+    @Test
+    void withWarmUpIterations_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withWarmUpIterations(100);
+
+        assertThat(configuration.getWarmUpIterations()).isEqualTo(100);
+    }
+
+    @Test
+    void withWarmUpIterations_should_throw_exception_if_iterations_are_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withWarmUpIterations(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withTitleCacheSize_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withTitleCacheSize(100);
+
+        assertThat(configuration.getTitleCacheSize()).isEqualTo(100);
+    }
+
+    @Test
+    void withTitleCacheSize_should_throw_exception_if_size_is_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withTitleCacheSize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withTitleCacheExpiry_should_return_set_value() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        configuration.withTitleCacheExpiry(Duration.ofMinutes(5));
+
+        assertThat(configuration.getTitleCacheExpiry()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void withTitleCacheExpiry_should_throw_exception_if_expiry_is_negative() {
+        SirenConfiguration configuration = new SirenConfiguration();
+
+        assertThatThrownBy(() -> configuration.withTitleCacheExpiry(Duration.ofMinutes(-5)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,205 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static de.ingogriebsch.spring.hateoas.siren.SirenModelBuilder.sirenModel;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+
+class SirenEntityTreeWriterTest {
+
+    @Nested
+    class Write {
+
+        @Test
+        void should_write_deeply_nested_collection_models() throws Exception {
+            RepresentationModel<?> model = EntityModel.of(new Person("Peter", 33), Link.of("/persons/1"));
+            for (int i = 0; i < 5000; i++) {
+                model = CollectionModel.of(List.of(model), Link.of("/levels/" + i));
+            }
+
+            String actual = objectMapper().writeValueAsString(model);
+
+            assertThat(actual).startsWith("{\"class\":[\"collection\"],\"entities\":[{\"class\":[\"collection\"]");
+            assertThat(occurrences(actual, "\"entities\":[")).isEqualTo(5000);
+            assertThat(occurrences(actual, "\"name\":\"Peter\"")).isEqualTo(1);
+        }
+
+        @Test
+        void should_write_deeply_nested_siren_models() throws Exception {
+            RepresentationModel<?> model = sirenModel().properties(new Person("Peter", 33)).build();
+            for (int i = 0; i < 5000; i++) {
+                model = sirenModel().entities("child", model).linksAndActions(Link.of("/levels/" + i)).build();
+            }
+
+            String actual = objectMapper().writeValueAsString(model);
+
+            assertThat(occurrences(actual, "\"entities\":[")).isEqualTo(5000);
+            assertThat(occurrences(actual, "\"rel\":[\"child\"]")).isEqualTo(5000);
+            assertThat(actual).endsWith("\"links\":[{\"rel\":[\"self\"],\"href\":\"/levels/4999\"}]}");
+        }
+
+        @Test
+        void should_close_streamed_entities_if_writing_fails() {
+            AtomicBoolean closed = new AtomicBoolean();
+            Stream<Person> entities = Stream.of("Peter", "Paul").map(name -> {
+                if ("Paul".equals(name)) {
+                    throw new IllegalStateException();
+                }
+                return new Person(name, 33);
+            }).onClose(() -> closed.set(true));
+            RepresentationModel<?> model = sirenModel().entities(sirenModel().entities(entities).build()).build();
+
+            assertThatThrownBy(() -> objectMapper().writeValueAsString(model)).isInstanceOf(JsonProcessingException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+            assertThat(closed).isTrue();
+        }
+
+        @Test
+        void should_close_streamed_entities_if_writing_succeeds() throws Exception {
+            AtomicBoolean closed = new AtomicBoolean();
+            Stream<Person> entities = Stream.of(new Person("Peter", 33)).onClose(() -> closed.set(true));
+            RepresentationModel<?> model = sirenModel().entities(sirenModel().entities(entities).build()).build();
+
+            objectMapper().writeValueAsString(model);
+
+            assertThat(closed).isTrue();
+        }
+    }
+
+    @Nested
+    class Memoize {
+
+        @Test
+        void should_write_the_same_as_without_memoization() throws Exception {
+            EntityModel<Person> peter = EntityModel.of(new Person("Peter", 33), Link.of("/persons/1"));
+            RepresentationModel<?> model = sirenModel() //
+                .entities("first", peter) //
+                .entities(CollectionModel.of(List.of(peter, peter), Link.of("/persons"))) //
+                .entities("last", sirenModel().entities(peter).build()) //
+                .build();
+
+            String expected = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+            String actual = objectMapper(memoizing()).writeValueAsString(model);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void should_serialize_a_repeated_entity_only_until_it_is_rendered() throws Exception {
+            Counting counting = new Counting();
+            EntityModel<Counting> entity = EntityModel.of(counting, Link.of("/countings/1"));
+            CollectionModel<EntityModel<Counting>> model = CollectionModel.of(List.of(entity, entity, entity, entity, entity));
+
+            objectMapper(memoizing()).writeValueAsString(model);
+
+            assertThat(counting.getInvocations()).isEqualTo(2);
+        }
+
+        @Test
+        void should_not_memoize_if_a_provider_depends_on_the_context() throws Exception {
+            Counting counting = new Counting();
+            EntityModel<Counting> entity = EntityModel.of(counting, Link.of("/countings/1"));
+            CollectionModel<EntityModel<Counting>> model = CollectionModel.of(List.of(entity, entity, entity, entity, entity));
+            SirenEntityClassProvider classProvider = new SirenEntityClassProvider() {
+
+                @Override
+                public List<String> getWithContext(RepresentationModel<?> model, SirenSerializationContext context) {
+                    return List.of("depth-" + context.getAncestors().size());
+                }
+            };
+
+            objectMapper(memoizing(), classProvider).writeValueAsString(model);
+
+            assertThat(counting.getInvocations()).isEqualTo(5);
+        }
+
+        @Test
+        void should_not_memoize_if_output_is_pretty_printed() throws Exception {
+            Counting counting = new Counting();
+            EntityModel<Counting> entity = EntityModel.of(counting, Link.of("/countings/1"));
+            CollectionModel<EntityModel<Counting>> model = CollectionModel.of(List.of(entity, entity, entity, entity, entity));
+
+            objectMapper(memoizing()).writerWithDefaultPrettyPrinter().writeValueAsString(model);
+
+            assertThat(counting.getInvocations()).isEqualTo(5);
+        }
+
+        private SirenConfiguration memoizing() {
+            return new SirenConfiguration().withRepeatedEntityMemoizationEnabled(true);
+        }
+    }
+
+    private static int occurrences(String source, String value) {
+        int count = 0;
+        for (int i = source.indexOf(value); i >= 0; i = source.indexOf(value, i + value.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static ObjectMapper objectMapper() {
+        return objectMapper(new SirenConfiguration());
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration) {
+        return objectMapper(configuration, SirenEntityClassProvider.DEFAULT_INSTANCE);
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration, SirenEntityClassProvider classProvider) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            configuration, //
+            classProvider, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static class Counting {
+
+        private int invocations;
+
+        @SuppressWarnings("unused")
+        public String getName() {
+            invocations++;
+            return "counting";
+        }
+
+        @JsonIgnore
+        int getInvocations() {
+            return invocations;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+class SirenFlightRecorderEventsTest {
+
+    private static final String SERIALIZE = "de.ingogriebsch.spring.hateoas.siren.SirenSerialize";
+    private static final String DESERIALIZE = "de.ingogriebsch.spring.hateoas.siren.SirenDeserialize";
+    private static final String LINK_CONVERSION = "de.ingogriebsch.spring.hateoas.siren.SirenLinkConversion";
+    private static final String TITLE_RESOLUTION = "de.ingogriebsch.spring.hateoas.siren.SirenTitleResolution";
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void should_emit_an_event_for_the_root_model() throws Exception {
+            List<RecordedEvent> events = record(() -> objectMapper().writeValueAsString(model(3)), SERIALIZE);
+
+            assertThat(events).hasSize(1);
+            RecordedEvent event = events.get(0);
+            assertThat(event.getClass("modelClass").getName()).isEqualTo(CollectionModel.class.getName());
+            assertThat(event.getInt("entities")).isEqualTo(3);
+            assertThat(event.getInt("links")).isEqualTo(4);
+            assertThat(event.getInt("actions")).isEqualTo(0);
+        }
+
+        @Test
+        void should_emit_an_event_for_each_link_conversion_and_title_resolution() throws Exception {
+            List<RecordedEvent> events =
+                record(() -> objectMapper().writeValueAsString(model(3)), LINK_CONVERSION, TITLE_RESOLUTION);
+
+            assertThat(events.stream().filter(e -> e.getEventType().getName().equals(LINK_CONVERSION))).hasSize(4);
+            assertThat(events.stream().filter(e -> e.getEventType().getName().equals(TITLE_RESOLUTION))).hasSize(4)
+                .allMatch(e -> !e.getBoolean("resolved"));
+        }
+    }
+
+    @Nested
+    class Deserialize {
+
+        @Test
+        void should_emit_an_event_for_the_root_model() throws Exception {
+            String source = objectMapper().writeValueAsString(model(3));
+
+            List<RecordedEvent> events = record(
+                () -> objectMapper().readValue(source.getBytes(), new TypeReference<CollectionModel<EntityModel<Person>>>() {
+                }), DESERIALIZE);
+
+            assertThat(events).hasSize(1);
+            RecordedEvent event = events.get(0);
+            assertThat(event.getClass("modelClass").getName()).isEqualTo(CollectionModel.class.getName());
+            assertThat(event.getInt("entities")).isEqualTo(3);
+            assertThat(event.getInt("links")).isEqualTo(1);
+            assertThat(event.getLong("size")).isEqualTo(source.getBytes().length);
+        }
+    }
+
+    @Nested
+    class Defaults {
+
+        @Test
+        void should_not_emit_events_if_not_enabled_explicitly() throws Exception {
+            List<RecordedEvent> events;
+            try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+                recording.start();
+                String source = objectMapper().writeValueAsString(model(3));
+                objectMapper().readValue(source, new TypeReference<CollectionModel<EntityModel<Person>>>() {
+                });
+                recording.stop();
+                events = events(recording);
+            }
+
+            assertThat(events).noneMatch(e -> e.getEventType().getName().startsWith("de.ingogriebsch.spring.hateoas.siren."));
+        }
+
+        @Test
+        void should_not_create_events_if_not_enabled() {
+            assertThat(SirenSerializeEvent.beginIfEnabled()).isNull();
+            assertThat(SirenDeserializeEvent.beginIfEnabled()).isNull();
+            assertThat(SirenLinkConversionEvent.beginIfEnabled()).isNull();
+            assertThat(SirenTitleResolutionEvent.beginIfEnabled()).isNull();
+        }
+    }
+
+    private List<RecordedEvent> record(Action action, String... names) throws Exception {
+        try (Recording recording = new Recording()) {
+            for (String name : names) {
+                recording.enable(name);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            // Other recordings running in the same JVM may contribute further events to the dump.
+            List<String> enabled = List.of(names);
+            return events(recording).stream().filter(e -> enabled.contains(e.getEventType().getName())).collect(toList());
+        }
+    }
+
+    private List<RecordedEvent> events(Recording recording) throws Exception {
+        Path file = Files.createTempFile(directory, "siren", ".jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static CollectionModel<EntityModel<Person>> model(int size) {
+        List<EntityModel<Person>> content = range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i), Link.of("/persons/" + i))) //
+            .collect(toList());
+        return CollectionModel.of(content, Link.of("/persons"));
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    @FunctionalInterface
+    private interface Action {
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,200 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import lombok.Getter;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+class SirenHttpMessageConverterTest {
+
+    @Nested
+    class CanRead {
+
+        @Test
+        void should_return_false() {
+            SirenHttpMessageConverter converter = new SirenHttpMessageConverter(objectMapper(), 0, 0);
+
+            assertThat(converter.canRead(EntityModel.class, SIREN_JSON)).isFalse();
+        }
+    }
+
+    @Nested
+    class CanWrite {
+
+        @Test
+        void should_return_true_if_representation_model_and_siren_is_requested() {
+            SirenHttpMessageConverter converter = new SirenHttpMessageConverter(objectMapper(), 0, 0);
+
+            assertThat(converter.canWrite(EntityModel.class, SIREN_JSON)).isTrue();
+        }
+
+        @Test
+        void should_return_false_if_not_a_representation_model() {
+            SirenHttpMessageConverter converter = new SirenHttpMessageConverter(objectMapper(), 0, 0);
+
+            assertThat(converter.canWrite(Person.class, SIREN_JSON)).isFalse();
+        }
+
+        @Test
+        void should_return_false_if_siren_is_not_requested() {
+            SirenHttpMessageConverter converter = new SirenHttpMessageConverter(objectMapper(), 0, 0);
+
+            assertThat(converter.canWrite(EntityModel.class, APPLICATION_JSON)).isFalse();
+            assertThat(converter.canWrite(EntityModel.class, null)).isFalse();
+        }
+    }
+
+    @Nested
+    class Write {
+
+        @Test
+        void should_write_the_same_bytes_as_the_default_converter() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            CollectionModel<EntityModel<Person>> model = model(10);
+
+            FlushCountingOutputMessage expected = new FlushCountingOutputMessage();
+            new MappingJackson2HttpMessageConverter(objectMapper).write(model, SIREN_JSON, expected);
+
+            FlushCountingOutputMessage actual = new FlushCountingOutputMessage();
+            new SirenHttpMessageConverter(objectMapper, 3, 64).write(model, SIREN_JSON, actual);
+
+            assertThat(actual.getBodyAsString()).isEqualTo(expected.getBodyAsString());
+        }
+
+        @Test
+        void should_flush_after_the_configured_amount_of_entities() throws Exception {
+            CollectionModel<EntityModel<Person>> model = model(10);
+
+            int flushes = flushes(new SirenHttpMessageConverter(objectMapper(), 3, 0), model);
+            int defaultFlushes = flushes(new SirenHttpMessageConverter(objectMapper(), 0, 0), model);
+
+            assertThat(flushes - defaultFlushes).isEqualTo(3);
+        }
+
+        @Test
+        void should_flush_after_the_configured_amount_of_bytes() throws Exception {
+            CollectionModel<EntityModel<Person>> model = model(1000);
+
+            int flushes = flushes(new SirenHttpMessageConverter(objectMapper(), 0, 1024), model);
+            int defaultFlushes = flushes(new SirenHttpMessageConverter(objectMapper(), 0, 0), model);
+
+            assertThat(flushes).isGreaterThan(defaultFlushes);
+        }
+
+        @Test
+        void should_flush_after_the_configured_amount_of_entities_if_serialized_in_parallel() throws Exception {
+            CollectionModel<EntityModel<Person>> model = model(10);
+            ForkJoinPool pool = new ForkJoinPool(2);
+            try {
+                SirenConfiguration configuration =
+                    new SirenConfiguration().withParallelSerializationThreshold(5).withParallelSerializationPool(pool);
+
+                int flushes = flushes(new SirenHttpMessageConverter(objectMapper(configuration), 3, 0), model);
+                int defaultFlushes = flushes(new SirenHttpMessageConverter(objectMapper(configuration), 0, 0), model);
+
+                assertThat(flushes - defaultFlushes).isEqualTo(3);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        void should_flush_after_the_configured_amount_of_entities_if_repeated_entities_are_memoized() throws Exception {
+            EntityModel<Person> person = EntityModel.of(new Person("Peter", 33), Link.of("/persons/1"));
+            CollectionModel<EntityModel<Person>> model = CollectionModel.of(Collections.nCopies(10, person));
+            SirenConfiguration configuration = new SirenConfiguration().withRepeatedEntityMemoizationEnabled(true);
+
+            int flushes = flushes(new SirenHttpMessageConverter(objectMapper(configuration), 3, 0), model);
+            int defaultFlushes = flushes(new SirenHttpMessageConverter(objectMapper(configuration), 0, 0), model);
+
+            assertThat(flushes - defaultFlushes).isEqualTo(3);
+        }
+
+        private int flushes(SirenHttpMessageConverter converter, Object model) throws Exception {
+            FlushCountingOutputMessage outputMessage = new FlushCountingOutputMessage();
+            converter.write(model, SIREN_JSON, outputMessage);
+            return outputMessage.getBody().getFlushes();
+        }
+    }
+
+    private static ObjectMapper objectMapper() {
+        return objectMapper(new SirenConfiguration());
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration sirenConfiguration) {
+        SirenMediaTypeConfiguration configuration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            sirenConfiguration, //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return configuration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static CollectionModel<EntityModel<Person>> model(int size) {
+        List<EntityModel<Person>> content = range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i), Link.of("/persons/" + i))) //
+            .collect(toList());
+        return CollectionModel.of(content, Link.of("/persons"));
+    }
+
+    @Getter
+    private static class FlushCountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final FlushCountingOutputStream body = new FlushCountingOutputStream();
+
+        String getBodyAsString() {
+            return new String(body.toByteArray(), UTF_8);
+        }
+    }
+
+    @Getter
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferWrapper;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SirenJackson2JsonEncoderTest {
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Nested
+    class CanEncode {
+
+        @Test
+        void should_return_true_if_representation_model_and_siren_is_requested() {
+            SirenJackson2JsonEncoder encoder = new SirenJackson2JsonEncoder(objectMapper(), 8192);
+
+            assertThat(encoder.canEncode(ResolvableType.forClass(EntityModel.class), SIREN_JSON)).isTrue();
+        }
+
+        @Test
+        void should_return_false_if_not_a_representation_model() {
+            SirenJackson2JsonEncoder encoder = new SirenJackson2JsonEncoder(objectMapper(), 8192);
+
+            assertThat(encoder.canEncode(ResolvableType.forClass(Person.class), SIREN_JSON)).isFalse();
+        }
+
+        @Test
+        void should_return_false_if_siren_is_not_requested() {
+            SirenJackson2JsonEncoder encoder = new SirenJackson2JsonEncoder(objectMapper(), 8192);
+
+            assertThat(encoder.canEncode(ResolvableType.forClass(EntityModel.class), APPLICATION_JSON)).isFalse();
+        }
+    }
+
+    @Nested
+    class EncodeValue {
+
+        @Test
+        void should_write_the_same_bytes_as_the_default_encoder() {
+            ObjectMapper objectMapper = objectMapper();
+            CollectionModel<EntityModel<Person>> model = model(3);
+            ResolvableType type = ResolvableType.forInstance(model);
+
+            DataBuffer expected =
+                new Jackson2JsonEncoder(objectMapper, SIREN_JSON).encodeValue(model, bufferFactory, type, SIREN_JSON, null);
+            DataBuffer actual =
+                new SirenJackson2JsonEncoder(objectMapper, 8192).encodeValue(model, bufferFactory, type, SIREN_JSON, null);
+
+            assertThat(actual.toString(UTF_8)).isEqualTo(expected.toString(UTF_8));
+        }
+
+        @Test
+        void should_write_the_same_bytes_if_the_entity_spans_multiple_chunks() {
+            ObjectMapper objectMapper = objectMapper();
+            CollectionModel<EntityModel<Person>> model = model(100);
+            ResolvableType type = ResolvableType.forInstance(model);
+
+            DataBuffer expected =
+                new Jackson2JsonEncoder(objectMapper, SIREN_JSON).encodeValue(model, bufferFactory, type, SIREN_JSON, null);
+            DataBuffer actual =
+                new SirenJackson2JsonEncoder(objectMapper, 16).encodeValue(model, bufferFactory, type, SIREN_JSON, null);
+
+            assertThat(expected.readableByteCount()).isGreaterThan(16);
+            assertThat(actual.toString(UTF_8)).isEqualTo(expected.toString(UTF_8));
+        }
+
+        @Test
+        void should_release_the_written_buffers_if_a_serializer_fails() {
+            ObjectMapper objectMapper =
+                objectMapper().registerModule(new SimpleModule().addSerializer(Person.class, new StdSerializer<>(Person.class) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public void serialize(Person value, JsonGenerator gen, SerializerProvider provider) {
+                        throw new IllegalStateException("Failing serializer");
+                    }
+                }));
+            CollectionModel<EntityModel<Person>> model = model(100);
+            LeakTrackingDataBufferFactory bufferFactory = new LeakTrackingDataBufferFactory(Integer.MAX_VALUE);
+
+            assertThatThrownBy(() -> new SirenJackson2JsonEncoder(objectMapper, 16).encodeValue(model, bufferFactory,
+                ResolvableType.forInstance(model), SIREN_JSON, null)).isInstanceOf(RuntimeException.class);
+
+            assertThat(bufferFactory.allocated).isNotEmpty().noneMatch(LeakTrackingDataBuffer::isAllocated);
+        }
+
+        @Test
+        void should_release_the_written_buffers_if_a_buffer_can_not_be_allocated() {
+            CollectionModel<EntityModel<Person>> model = model(3);
+            LeakTrackingDataBufferFactory bufferFactory = new LeakTrackingDataBufferFactory(3);
+
+            assertThatThrownBy(() -> new SirenJackson2JsonEncoder(objectMapper(), 16).encodeValue(model, bufferFactory,
+                ResolvableType.forInstance(model), SIREN_JSON, null)).isInstanceOf(DataBufferLimitException.class);
+
+            assertThat(bufferFactory.allocated).hasSize(3).noneMatch(LeakTrackingDataBuffer::isAllocated);
+        }
+    }
+
+    @Nested
+    class Encode {
+
+        @Test
+        void should_defer_encoding_until_properties_and_entities_are_completed() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            CompletableFuture<Person> properties = new CompletableFuture<>();
+            CompletableFuture<List<Person>> entities = new CompletableFuture<>();
+            RepresentationModel<?> model = SirenModelBuilder.sirenModel().properties(properties).entities(entities).build();
+            RepresentationModel<?> expected = SirenModelBuilder.sirenModel().properties(new Person("Peter", 33))
+                .entities(new Person("Paul", 44), new Person("Mary", 55)).build();
+
+            Flux<DataBuffer> encoded = new SirenJackson2JsonEncoder(objectMapper, 8192).encode(Mono.just(model), bufferFactory,
+                ResolvableType.forClass(RepresentationModel.class), SIREN_JSON, null);
+
+            StepVerifier.create(encoded.map(b -> b.toString(UTF_8))) //
+                .expectSubscription() //
+                .then(() -> entities.complete(List.of(new Person("Paul", 44), new Person("Mary", 55)))) //
+                .expectNoEvent(Duration.ofMillis(50)) //
+                .then(() -> properties.complete(new Person("Peter", 33))) //
+                .expectNext(objectMapper.writeValueAsString(expected)) //
+                .verifyComplete();
+        }
+
+        @Test
+        void should_await_stages_of_completed_entities() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            CompletableFuture<Person> properties = new CompletableFuture<>();
+            CompletableFuture<List<RepresentationModel<?>>> entities = new CompletableFuture<>();
+            RepresentationModel<?> model = SirenModelBuilder.sirenModel().entities(entities).build();
+
+            Flux<DataBuffer> encoded = new SirenJackson2JsonEncoder(objectMapper, 8192).encode(Mono.just(model), bufferFactory,
+                ResolvableType.forClass(RepresentationModel.class), SIREN_JSON, null);
+
+            StepVerifier.create(encoded.map(b -> b.toString(UTF_8))) //
+                .expectSubscription() //
+                .then(() -> entities.complete(List.of(SirenModelBuilder.sirenModel().properties(properties).build()))) //
+                .expectNoEvent(Duration.ofMillis(50)) //
+                .then(() -> properties.complete(new Person("Peter", 33))) //
+                .expectNextMatches(json -> json.contains("Peter")) //
+                .verifyComplete();
+        }
+
+        @Test
+        void should_await_stages_of_models_nested_into_other_representation_models() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            CompletableFuture<Person> properties = new CompletableFuture<>();
+            RepresentationModel<?> model = CollectionModel.of(List.of(EntityModel.of(SirenModelBuilder.sirenModel() //
+                .entities(SirenModelBuilder.sirenModel().properties(properties).build()).build())));
+
+            Flux<DataBuffer> encoded = new SirenJackson2JsonEncoder(objectMapper, 8192).encode(Mono.just(model), bufferFactory,
+                ResolvableType.forClass(RepresentationModel.class), SIREN_JSON, null);
+
+            StepVerifier.create(encoded.map(b -> b.toString(UTF_8))) //
+                .expectSubscription() //
+                .expectNoEvent(Duration.ofMillis(50)) //
+                .then(() -> properties.complete(new Person("Peter", 33))) //
+                .expectNextMatches(json -> json.contains("Peter")) //
+                .verifyComplete();
+        }
+
+        @Test
+        void should_signal_error_if_a_stage_completes_exceptionally() {
+            CompletableFuture<Person> properties = new CompletableFuture<>();
+            RepresentationModel<?> model = SirenModelBuilder.sirenModel().properties(properties).build();
+
+            Flux<DataBuffer> encoded = new SirenJackson2JsonEncoder(objectMapper(), 8192).encode(Mono.just(model), bufferFactory,
+                ResolvableType.forClass(RepresentationModel.class), SIREN_JSON, null);
+
+            StepVerifier.create(encoded) //
+                .expectSubscription() //
+                .then(() -> properties.completeExceptionally(new IllegalStateException())) //
+                .verifyError(IllegalStateException.class);
+        }
+    }
+
+    private static class LeakTrackingDataBufferFactory implements DataBufferFactory {
+
+        private final DataBufferFactory delegate = new DefaultDataBufferFactory();
+        private final List<LeakTrackingDataBuffer> allocated = new ArrayList<>();
+        private final int limit;
+
+        LeakTrackingDataBufferFactory(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public DataBuffer allocateBuffer() {
+            return track(delegate.allocateBuffer());
+        }
+
+        @Override
+        public DataBuffer allocateBuffer(int initialCapacity) {
+            return track(delegate.allocateBuffer(initialCapacity));
+        }
+
+        @Override
+        public DataBuffer wrap(ByteBuffer byteBuffer) {
+            return delegate.wrap(byteBuffer);
+        }
+
+        @Override
+        public DataBuffer wrap(byte[] bytes) {
+            return delegate.wrap(bytes);
+        }
+
+        @Override
+        public DataBuffer join(List<? extends DataBuffer> dataBuffers) {
+            return delegate.join(dataBuffers.stream().map(b -> ((LeakTrackingDataBuffer) b).dataBuffer()).collect(toList()));
+        }
+
+        private DataBuffer track(DataBuffer buffer) {
+            if (allocated.size() == limit) {
+                throw new DataBufferLimitException("Exceeded limit of " + limit + " buffers");
+            }
+            LeakTrackingDataBuffer tracked = new LeakTrackingDataBuffer(buffer);
+            allocated.add(tracked);
+            return tracked;
+        }
+    }
+
+    private static class LeakTrackingDataBuffer extends DataBufferWrapper implements PooledDataBuffer {
+
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        LeakTrackingDataBuffer(DataBuffer delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean isAllocated() {
+            return references.get() > 0;
+        }
+
+        @Override
+        public PooledDataBuffer retain() {
+            references.incrementAndGet();
+            return this;
+        }
+
+        @Override
+        public PooledDataBuffer touch(Object hint) {
+            return this;
+        }
+
+        @Override
+        public boolean release() {
+            return references.decrementAndGet() == 0;
+        }
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration configuration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return configuration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static CollectionModel<EntityModel<Person>> model(int size) {
+        List<EntityModel<Person>> content = range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i), Link.of("/persons/" + i))) //
+            .collect(toList());
+        return CollectionModel.of(content, Link.of("/persons"));
+    }
+}
@@ -0,0 +1,214 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static de.ingogriebsch.spring.hateoas.siren.SirenModelBuilder.sirenModel;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.afford;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import de.ingogriebsch.spring.hateoas.siren.support.StaticMessageResolver;
+import de.ingogriebsch.spring.hateoas.siren.support.WebMvcPersonController;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+
+class SirenLinkTemplateTest {
+
+    private static final WebMvcPersonController CONTROLLER = methodOn(WebMvcPersonController.class);
+
+    @Nested
+    class LinksAndActions {
+
+        @Test
+        void should_produce_the_same_output_as_links_built_for_each_entity() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+            SirenLinkTemplate template = template();
+
+            RepresentationModel<?> expected = sirenModel().entities(range(0, 10) //
+                .mapToObj(i -> sirenModel().properties(person(i)).linksAndActions(link(i)).build()) //
+                .collect(toList())).build();
+            RepresentationModel<?> actual = sirenModel().entities(range(0, 10) //
+                .mapToObj(i -> sirenModel().properties(person(i)).linksAndActions(template, i).build()) //
+                .collect(toList())).build();
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_expand_template_with_parameters() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+
+            RepresentationModel<?> expected = sirenModel().linksAndActions(link(7)).build();
+            RepresentationModel<?> actual = sirenModel().linksAndActions(template(), Map.of("id", 7)).build();
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_convert_template_for_each_object_mapper() throws Exception {
+            SirenLinkTemplate template = template();
+            ObjectMapper first = objectMapper(DEFAULTS_ONLY);
+            ObjectMapper second = objectMapper(StaticMessageResolver.of("title"));
+
+            RepresentationModel<?> expected = sirenModel().linksAndActions(link(1)).build();
+            RepresentationModel<?> actual = sirenModel().linksAndActions(template, 1).build();
+
+            assertThat(first.writeValueAsString(actual)).isEqualTo(first.writeValueAsString(expected));
+            assertThat(second.writeValueAsString(actual)).isEqualTo(second.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_convert_template_for_each_locale() throws Exception {
+            SirenLinkTemplate template = template();
+            ObjectMapper objectMapper = objectMapper(resolvable -> LocaleContextHolder.getLocale().getLanguage());
+
+            RepresentationModel<?> expected = sirenModel().linksAndActions(link(1)).build();
+            RepresentationModel<?> actual = sirenModel().linksAndActions(template, 1).build();
+
+            try {
+                LocaleContextHolder.setLocale(GERMAN);
+                assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected))
+                    .contains("\"title\":\"de\"");
+
+                LocaleContextHolder.setLocale(ENGLISH);
+                assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected))
+                    .contains("\"title\":\"en\"").doesNotContain("\"title\":\"de\"");
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        }
+    }
+
+    @Nested
+    class MergeByRel {
+
+        @Test
+        void should_replace_links_added_before_having_the_same_rel() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+
+            RepresentationModel<?> expected = sirenModel().linksAndActions(link(1)).build();
+            RepresentationModel<?> actual =
+                sirenModel().linksAndActions(Link.of("/other")).linksAndActions(template(), 1).build();
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_be_replaced_by_links_added_afterwards_having_the_same_rel() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+
+            RepresentationModel<?> expected = sirenModel().linksAndActions(Link.of("/other")).build();
+            RepresentationModel<?> actual =
+                sirenModel().linksAndActions(template(), 1).linksAndActions(Link.of("/other")).build();
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_be_replaced_by_supplied_links_having_the_same_rel() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+
+            RepresentationModel<?> expected = sirenModel().linksAndActions(Link.of("/other")).build();
+            RepresentationModel<?> actual =
+                sirenModel().linksAndActions(() -> Links.of(Link.of("/other"))).linksAndActions(template(), 1).build();
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+    }
+
+    @Nested
+    class Assembler {
+
+        @Test
+        void should_add_expanded_links_and_actions_to_each_entity() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+            List<Person> persons = range(0, 10).mapToObj(SirenLinkTemplateTest::person).collect(toList());
+
+            CollectionModel<RepresentationModel<?>> expected = CollectionModel.of(persons.stream() //
+                .map(p -> sirenModel().properties(p).linksAndActions(link(p.getAge())).build()) //
+                .collect(toList()));
+            CollectionModel<RepresentationModel<?>> actual =
+                SirenLinkTemplateAssembler.<Person> of(p -> new Object[] { p.getAge() }, template()).toCollectionModel(persons);
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_allow_to_customize_the_model() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+            SirenLinkTemplateAssembler<Person> assembler =
+                new SirenLinkTemplateAssembler<Person>(p -> new Object[] { p.getAge() }, template()) {
+
+                    @Override
+                    protected void customize(SirenModelBuilder builder, Person entity) {
+                        builder.classes("person").title(entity.getName());
+                    }
+                };
+
+            RepresentationModel<?> expected =
+                sirenModel().classes("person").title("Person 3").properties(person(3)).linksAndActions(link(3)).build();
+            RepresentationModel<?> actual = assembler.toModel(person(3));
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+    }
+
+    private static SirenLinkTemplate template() {
+        return SirenLinkTemplate.of(linkTo(CONTROLLER.findOne(null)).withSelfRel() //
+            .andAffordance(afford(CONTROLLER.update(null, null))) //
+            .andAffordance(afford(CONTROLLER.patch(null, null))));
+    }
+
+    private static Link link(int id) {
+        return linkTo(CONTROLLER.findOne(id)).withSelfRel() //
+            .andAffordance(afford(CONTROLLER.update(id, null))) //
+            .andAffordance(afford(CONTROLLER.patch(id, null)));
+    }
+
+    private static Person person(int i) {
+        return new Person("Person " + i, i);
+    }
+
+    private static ObjectMapper objectMapper(MessageResolver messageResolver) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            messageResolver, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
@@ -24,11 +24,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
 
 import java.text.DateFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 
 class SirenMediaTypeConfigurationTest {
 
@@ -94,4 +100,68 @@ class SirenMediaTypeConfigurationTest {
             assertThat(objectMapper.getDateFormat()).isEqualTo(flag);
         }
     }
+
+    @Nested
+    class TitleCache {
+
+        @Test
+        void should_cache_resolved_titles_if_title_cache_is_enabled() throws Exception {
+            AtomicInteger resolutions = new AtomicInteger();
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration().withTitleCacheSize(16), resolutions);
+
+            objectMapper.writeValueAsString(EntityModel.of(new Person("Peter", 33), Link.of("/persons/1")));
+            int afterFirst = resolutions.get();
+            objectMapper.writeValueAsString(EntityModel.of(new Person("Paul", 44), Link.of("/persons/2")));
+
+            assertThat(afterFirst).isPositive();
+            assertThat(resolutions).hasValue(afterFirst);
+        }
+
+        @Test
+        void should_not_cache_resolved_titles_if_title_cache_is_not_enabled() throws Exception {
+            AtomicInteger resolutions = new AtomicInteger();
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration().withWarmUpEnabled(true), resolutions);
+
+            objectMapper.writeValueAsString(EntityModel.of(new Person("Peter", 33), Link.of("/persons/1")));
+            int afterFirst = resolutions.get();
+            objectMapper.writeValueAsString(EntityModel.of(new Person("Paul", 44), Link.of("/persons/2")));
+
+            assertThat(resolutions).hasValue(afterFirst * 2);
+        }
+
+        @Test
+        void should_evict_cached_titles_if_title_cache_size_is_reached() throws Exception {
+            AtomicInteger resolutions = new AtomicInteger();
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration().withTitleCacheSize(1), resolutions);
+
+            try {
+                LocaleContextHolder.setLocale(Locale.GERMAN);
+                objectMapper.writeValueAsString(EntityModel.of(new Person("Peter", 33), Link.of("/persons/1")));
+                int afterFirst = resolutions.get();
+                LocaleContextHolder.setLocale(Locale.FRENCH);
+                objectMapper.writeValueAsString(EntityModel.of(new Person("Peter", 33), Link.of("/persons/1")));
+                LocaleContextHolder.setLocale(Locale.GERMAN);
+                objectMapper.writeValueAsString(EntityModel.of(new Person("Peter", 33), Link.of("/persons/1")));
+
+                assertThat(resolutions).hasValue(afterFirst * 3);
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        }
+
+        private ObjectMapper objectMapper(SirenConfiguration sirenConfiguration, AtomicInteger resolutions) {
+            SirenMediaTypeConfiguration configuration = SirenMediaTypeConfiguration.of( //
+                resolvable -> {
+                    resolutions.incrementAndGet();
+                    return null;
+                }, //
+                sirenConfiguration, //
+                SirenEntityClassProvider.DEFAULT_INSTANCE, //
+                SirenEntityRelProvider.DEFAULT_INSTANCE, //
+                new TypeBasedSirenActionFieldTypeConverter(), //
+                RepresentationModelFactories.DEFAULT_INSTANCE //
+            );
+            return configuration.configureObjectMapper(new ObjectMapper());
+        }
+    }
 }
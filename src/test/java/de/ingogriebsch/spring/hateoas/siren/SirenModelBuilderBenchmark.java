@@ -0,0 +1,87 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.springframework.hateoas.Links.MergeMode.REPLACE_BY_REL;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Benchmark comparing the accumulation of links one by one through the {@link SirenModelBuilder} with merging them one by one
+ * into {@link Links} (which is how the builder accumulated links before). Run it through its {@link #main(String[]) main}
+ * method (after compiling the test sources).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class SirenModelBuilderBenchmark {
+
+    @Param({ "10", "60", "500" })
+    private int size;
+
+    private List<Link> links;
+
+    @Setup
+    public void setup() {
+        links = range(0, size).mapToObj(i -> Link.of("/links/" + i, "rel-" + i)).collect(toList());
+    }
+
+    @Benchmark
+    public RepresentationModel<?> builder() {
+        SirenModelBuilder builder = SirenModelBuilder.sirenModel();
+        for (Link link : links) {
+            builder.linksAndActions(link);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public Links merge() {
+        Links result = Links.of();
+        for (Link link : links) {
+            result = result.merge(REPLACE_BY_REL, Links.of(link));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(SirenModelBuilderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
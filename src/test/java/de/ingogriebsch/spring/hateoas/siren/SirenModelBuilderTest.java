@@ -12,7 +12,11 @@ import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.springframework.hateoas.IanaLinkRelations.SELF;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import de.ingogriebsch.spring.hateoas.siren.SirenModel.EmbeddedRepresentation;
 import de.ingogriebsch.spring.hateoas.siren.support.Capital;
@@ -23,6 +27,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
 import org.springframework.hateoas.RepresentationModel;
 
 class SirenModelBuilderTest {
@@ -214,6 +219,46 @@ class SirenModelBuilderTest {
             }
         }
 
+        @Nested
+        class WithStreamedEntities {
+
+            @Test
+            void should_not_consume_stream_while_building() {
+                AtomicInteger pulled = new AtomicInteger();
+                Stream<Person> entities =
+                    Stream.of(new Person("Peter", 33), new Person("Paul", 44)).peek(p -> pulled.incrementAndGet());
+
+                RepresentationModel<?> model = SirenModelBuilder.sirenModel().entities("rel", entities).build();
+
+                assertThat(pulled).hasValue(0);
+                assertThat(model).asInstanceOf(type(SirenModel.class)).satisfies(m -> {
+                    assertThat(m.getEntities()).isEmpty();
+                    assertThat(m.getStreamedEntities()).hasSize(1);
+                });
+            }
+
+            @Test
+            void should_not_call_supplier_while_building() {
+                AtomicInteger calls = new AtomicInteger();
+                Supplier<Stream<Person>> entities = () -> {
+                    calls.incrementAndGet();
+                    return Stream.of(new Person("Peter", 33));
+                };
+
+                RepresentationModel<?> model = SirenModelBuilder.sirenModel().entities(entities).build();
+
+                assertThat(calls).hasValue(0);
+                assertThat(model).asInstanceOf(type(SirenModel.class))
+                    .extracting(SirenModel::getStreamedEntities, list(StreamedEntities.class)).hasSize(1);
+            }
+
+            @Test
+            void should_throw_exception_if_iterator_was_null() {
+                SirenModelBuilder builder = SirenModelBuilder.sirenModel();
+                assertThatThrownBy(() -> builder.entities((Iterator<?>) null)).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
         @Nested
         class WithLinksAndActions {
 
@@ -260,6 +305,66 @@ class SirenModelBuilderTest {
             }
         }
 
+        @Nested
+        class WithDeferredLinksAndActions {
+
+            @Test
+            void should_not_call_supplier_while_building() {
+                AtomicInteger calls = new AtomicInteger();
+                RepresentationModel<?> model = SirenModelBuilder.sirenModel().linksAndActions(SELF, () -> {
+                    calls.incrementAndGet();
+                    return Link.of("/persons/1");
+                }).build();
+
+                assertThat(calls).hasValue(0);
+                assertThat(model).asInstanceOf(type(SirenModel.class))
+                    .extracting(SirenModel::getDeferredLinks, list(DeferredLinks.class)).singleElement()
+                    .extracting(DeferredLinks::resolve).isEqualTo(Links.of(Link.of("/persons/1")));
+                assertThat(calls).hasValue(1);
+            }
+
+            @Test
+            void should_drop_supplier_if_link_with_same_rel_was_added_afterwards() {
+                Link link = Link.of("/persons/2");
+                RepresentationModel<?> model = SirenModelBuilder.sirenModel().linksAndActions(SELF, () -> {
+                    throw new IllegalStateException("Must not be called!");
+                }).linksAndActions(link).build();
+
+                assertThat(model).asInstanceOf(type(SirenModel.class))
+                    .extracting(SirenModel::getDeferredLinks, list(DeferredLinks.class)).isEmpty();
+                assertThat(model.getLinks()).containsExactly(link);
+            }
+
+            @Test
+            void should_replace_link_with_same_rel_that_was_added_before() {
+                RepresentationModel<?> model = SirenModelBuilder.sirenModel().linksAndActions(Link.of("/persons/2"))
+                    .linksAndActions(SELF.value(), () -> Link.of("/persons/1")).build();
+
+                assertThat(model.getLinks()).isEmpty();
+                assertThat(model).asInstanceOf(type(SirenModel.class))
+                    .extracting(SirenModel::getDeferredLinks, list(DeferredLinks.class)).hasSize(1);
+            }
+
+            @Test
+            void should_throw_exception_if_supplied_link_has_different_rel() {
+                RepresentationModel<?> model =
+                    SirenModelBuilder.sirenModel().linksAndActions(SELF, () -> Link.of("/persons", "persons")).build();
+
+                DeferredLinks deferredLinks = ((SirenModel) model).getDeferredLinks().get(0);
+                assertThatThrownBy(deferredLinks::resolve).isInstanceOf(IllegalStateException.class);
+            }
+
+            @Test
+            void should_keep_supplier_of_links() {
+                RepresentationModel<?> model =
+                    SirenModelBuilder.sirenModel().linksAndActions(() -> Links.of(Link.of("/persons/1"))).build();
+
+                assertThat(model).asInstanceOf(type(SirenModel.class))
+                    .extracting(SirenModel::getDeferredLinks, list(DeferredLinks.class)).singleElement()
+                    .extracting(DeferredLinks::resolve).isEqualTo(Links.of(Link.of("/persons/1")));
+            }
+        }
+
         @Nested
         class WithProperties {
 
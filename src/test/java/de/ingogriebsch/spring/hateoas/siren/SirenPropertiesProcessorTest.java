@@ -0,0 +1,370 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+
+class SirenPropertiesProcessorTest {
+
+    @Nested
+    class Generate {
+
+        @Test
+        void should_generate_accessor_for_annotated_class() {
+            assertThat(SirenPropertiesAccessors.get(Product.class))
+                .isInstanceOf(SirenPropertiesProcessorTest_Product_SirenPropertiesAccessor.class);
+        }
+
+        @Test
+        void should_not_return_accessor_for_class_which_is_not_annotated() {
+            assertThat(SirenPropertiesAccessors.get(Person.class)).isNull();
+        }
+
+        @Test
+        void should_read_properties_in_declaration_order() {
+            Product product = product();
+
+            Map<String, Object> properties = new SirenPropertiesProcessorTest_Product_SirenPropertiesAccessor().read(product);
+
+            assertThat(properties).containsExactly( //
+                entry("name", "Chair"), //
+                entry("amount", 3), //
+                entry("price", 49L), //
+                entry("available", true), //
+                entry("desc", "A simple chair") //
+            );
+        }
+
+        @Test
+        void should_write_properties_and_convert_numbers() {
+            Product product = new Product();
+
+            new SirenPropertiesProcessorTest_Product_SirenPropertiesAccessor().write(product,
+                Map.of("name", "Table", "amount", 2L, "price", 99, "available", true, "desc", "A table", "unknown", "value"));
+
+            assertThat(product.getName()).isEqualTo("Table");
+            assertThat(product.getAmount()).isEqualTo(2);
+            assertThat(product.getPrice()).isEqualTo(99L);
+            assertThat(product.isAvailable()).isTrue();
+            assertThat(product.getDescription()).isEqualTo("A table");
+        }
+
+        @Test
+        void should_generate_native_image_configuration_for_accessor() throws Exception {
+            String accessor = SirenPropertiesProcessorTest_Product_SirenPropertiesAccessor.class.getName();
+            String resource = String.format("META-INF/native-image/%s/%s/reflect-config.json",
+                SirenPropertiesProcessor.NATIVE_IMAGE_DIRECTORY, accessor);
+
+            try (InputStream stream = getClass().getClassLoader().getResourceAsStream(resource)) {
+                assertThat(stream).isNotNull();
+                assertThat(new ObjectMapper().readTree(stream).findValuesAsText("name")).containsExactly(accessor, "<init>");
+            }
+        }
+
+        @Test
+        void should_report_error_if_annotated_class_is_abstract(@TempDir Path directory) throws Exception {
+            Path source = directory.resolve("Abstract.java");
+            Files.write(source, ("@" + SirenProperties.class.getName() + " public abstract class Abstract {}").getBytes(UTF_8));
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+                List<String> options = List.of("-classpath", System.getProperty("java.class.path"), "-processor",
+                    SirenPropertiesProcessor.class.getName(), "-d", directory.toString());
+                Boolean result = compiler
+                    .getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjects(source.toFile()))
+                    .call();
+
+                assertThat(result).isFalse();
+                assertThat(diagnostics.getDiagnostics().stream().filter(d -> d.getKind() == ERROR).map(d -> d.getMessage(null))
+                    .collect(toList())).containsExactly("@SirenProperties is only supported on public concrete classes!");
+            }
+        }
+    }
+
+    @Nested
+    class Integration {
+
+        @Test
+        void should_extract_the_same_properties_as_the_reflective_path() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+            Product product = product();
+
+            Map<String, Object> expected = objectMapper.convertValue(product, new TypeReference<Map<String, Object>>() {
+            });
+            expected.remove("links");
+            Map<String, Object> actual = new PropertiesFacility(objectMapper).extract(product);
+
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_use_the_accessor_if_the_mapper_writes_the_same_properties() {
+            Map<String, Object> actual = new PropertiesFacility(new ObjectMapper()).extract(product());
+
+            // The reflective path would convert the price to an Integer.
+            assertThat(actual.get("price")).isInstanceOf(Long.class);
+        }
+
+        @Test
+        void should_extract_the_same_properties_as_the_reflective_path_if_the_class_customizes_them() {
+            ObjectMapper objectMapper = new ObjectMapper();
+            Note note = new Note();
+            note.setTitle("Chair");
+            note.setAmount(3);
+
+            assertThat(SirenPropertiesAccessors.get(Note.class)).isNotNull();
+            assertThat(new PropertiesFacility(objectMapper).extract(note))
+                .containsExactlyEntriesOf(reflective(objectMapper, note)).doesNotContainKeys("text", "hidden")
+                .containsEntry("amount", "3");
+        }
+
+        @Test
+        void should_extract_the_same_properties_as_the_reflective_path_if_the_mapper_customizes_them() {
+            ObjectMapper objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE)
+                .addMixIn(Product.class, ProductMixIn.class);
+            Product product = product();
+
+            assertThat(new PropertiesFacility(objectMapper).extract(product))
+                .containsExactlyEntriesOf(reflective(objectMapper, product)).doesNotContainKey("Name");
+        }
+
+        @Test
+        void should_use_the_reflective_path_if_the_mapper_skips_properties() {
+            ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(Include.NON_NULL);
+            Product product = new Product();
+            product.setName("Chair");
+
+            Map<String, Object> actual = new PropertiesFacility(objectMapper).extract(product);
+
+            assertThat(actual).containsOnly(entry("name", "Chair"), entry("amount", 0), entry("available", false));
+        }
+
+        @Test
+        void should_apply_properties_through_the_accessor() {
+            Product product = BeanUtils.applyProperties(new Product(), Map.of("name", "Chair", "amount", 3));
+
+            assertThat(product.getName()).isEqualTo("Chair");
+            assertThat(product.getAmount()).isEqualTo(3);
+        }
+
+        @Test
+        void should_serialize_and_deserialize_the_same_model_as_the_reflective_path() throws Exception {
+            Product product = product();
+            product.add(Link.of("/products/1"));
+            ObjectMapper objectMapper = objectMapper();
+
+            String json = objectMapper.writeValueAsString(product);
+            Product actual = objectMapper.readValue(json, Product.class);
+
+            assertThat(json).isEqualTo(objectMapper.writeValueAsString(reflective(product)));
+            assertThat(actual.getName()).isEqualTo(product.getName());
+            assertThat(actual.getAmount()).isEqualTo(product.getAmount());
+            assertThat(actual.getPrice()).isEqualTo(product.getPrice());
+            assertThat(actual.getDescription()).isEqualTo(product.getDescription());
+            assertThat(actual.getSecret()).isNull();
+            assertThat(actual.getLinks()).isEqualTo(product.getLinks());
+        }
+
+        private Map<String, Object> reflective(ObjectMapper objectMapper, Object object) {
+            Map<String, Object> properties = objectMapper.convertValue(object, new TypeReference<Map<String, Object>>() {
+            });
+            properties.keySet().removeIf(key -> key.equalsIgnoreCase("links"));
+            return properties;
+        }
+
+        private ReflectiveProduct reflective(Product product) {
+            ReflectiveProduct reflective = new ReflectiveProduct();
+            reflective.setName(product.getName());
+            reflective.setAmount(product.getAmount());
+            reflective.setPrice(product.getPrice());
+            reflective.setAvailable(product.isAvailable());
+            reflective.setDescription(product.getDescription());
+            reflective.setSecret(product.getSecret());
+            return reflective.add(product.getLinks());
+        }
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setName("Chair");
+        product.setAmount(3);
+        product.setPrice(49L);
+        product.setAvailable(true);
+        product.setDescription("A simple chair");
+        product.setSecret("secret");
+        return product;
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration().withEntityAndCollectionModelSubclassingEnabled(true), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    @SirenProperties
+    public static class Product extends ReflectiveProduct {
+    }
+
+    @JsonIgnoreProperties("Name")
+    abstract static class ProductMixIn {
+    }
+
+    @SirenProperties
+    @JsonInclude(Include.NON_NULL)
+    @JsonIgnoreProperties("hidden")
+    public static class Note {
+
+        private String title;
+        private String text;
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private int amount;
+        private String hidden;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount(int amount) {
+            this.amount = amount;
+        }
+
+        public String getHidden() {
+            return hidden;
+        }
+
+        public void setHidden(String hidden) {
+            this.hidden = hidden;
+        }
+    }
+
+    public static class ReflectiveProduct extends RepresentationModel<ReflectiveProduct> {
+
+        private String name;
+        private int amount;
+        private Long price;
+        private boolean available;
+        @JsonProperty("desc")
+        private String description;
+        @JsonIgnore
+        private String secret;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount(int amount) {
+            this.amount = amount;
+        }
+
+        public Long getPrice() {
+            return price;
+        }
+
+        public void setPrice(Long price) {
+            this.price = price;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+
+class SirenReaderTest {
+
+    private final ObjectMapper objectMapper = objectMapper();
+
+    @Nested
+    class Of {
+
+        @Test
+        void should_throw_exception_if_object_mapper_is_not_configured_for_siren() {
+            assertThatThrownBy(() -> SirenReader.of(new ObjectMapper(), Person.class, new StringReader("{}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void should_throw_exception_if_source_does_not_contain_an_object() {
+            assertThatThrownBy(() -> SirenReader.of(objectMapper, Person.class, new StringReader("[]")))
+                .isInstanceOf(IOException.class);
+        }
+
+        @Test
+        void should_close_the_source_if_its_beginning_can_not_be_read() {
+            AtomicBoolean closed = new AtomicBoolean();
+            StringReader source = new StringReader("invalid") {
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                    super.close();
+                }
+            };
+
+            assertThatThrownBy(() -> SirenReader.of(objectMapper, Person.class, source)).isInstanceOf(IOException.class);
+            assertThat(closed).isTrue();
+        }
+
+        @Test
+        void should_read_from_input_stream() throws Exception {
+            String source = objectMapper.writeValueAsString(model(3));
+
+            try (SirenReader<EntityModel<Person>> reader =
+                SirenReader.of(objectMapper, entityType(), new ByteArrayInputStream(source.getBytes(UTF_8)))) {
+                assertThat(newArrayList(reader)).containsExactlyElementsOf(model(3).getContent());
+            }
+        }
+
+        @Test
+        void should_read_from_path(@TempDir Path directory) throws Exception {
+            Path path = Files.writeString(directory.resolve("persons.json"), objectMapper.writeValueAsString(model(3)));
+
+            try (SirenReader<EntityModel<Person>> reader = SirenReader.of(objectMapper, entityType(), path)) {
+                assertThat(newArrayList(reader)).containsExactlyElementsOf(model(3).getContent());
+            }
+        }
+    }
+
+    @Nested
+    class Iterate {
+
+        @Test
+        void should_return_the_entities_in_their_order() throws Exception {
+            String source = objectMapper.writeValueAsString(model(100));
+
+            try (SirenReader<EntityModel<Person>> reader = SirenReader.of(objectMapper, entityType(), new StringReader(source))) {
+                assertThat(newArrayList(reader)).containsExactlyElementsOf(model(100).getContent());
+            }
+        }
+
+        @Test
+        void should_return_no_entities_if_siren_entity_does_not_contain_entities() throws Exception {
+            String source = objectMapper.writeValueAsString(CollectionModel.empty(Link.of("/persons")));
+
+            try (SirenReader<EntityModel<Person>> reader = SirenReader.of(objectMapper, entityType(), new StringReader(source))) {
+                assertThat(reader.hasNext()).isFalse();
+                assertThatThrownBy(reader::next).isInstanceOf(NoSuchElementException.class);
+                assertThat(reader.getLinks()).containsExactly(Link.of("/persons"));
+            }
+        }
+
+        @Test
+        void should_expose_properties_and_links_as_they_are_encountered() throws Exception {
+            String source = objectMapper.writeValueAsString(model(3));
+
+            try (SirenReader<EntityModel<Person>> reader = SirenReader.of(objectMapper, entityType(), new StringReader(source))) {
+                reader.next();
+                assertThat(reader.getProperties()).containsEntry("size", 3).containsEntry("totalElements", 3);
+                assertThat(reader.getLinks()).isEmpty();
+
+                reader.next();
+                reader.next();
+                assertThat(reader.hasNext()).isFalse();
+                assertThat(reader.getLinks()).containsExactly(Link.of("/persons"));
+            }
+        }
+
+        @Test
+        void should_expose_links_after_skipping_the_remaining_entities() throws Exception {
+            String source = objectMapper.writeValueAsString(model(100));
+
+            try (SirenReader<EntityModel<Person>> reader = SirenReader.of(objectMapper, entityType(), new StringReader(source))) {
+                reader.next();
+
+                assertThat(reader.skipRemaining().hasNext()).isFalse();
+                assertThat(reader.getLinks()).containsExactly(Link.of("/persons"));
+            }
+        }
+    }
+
+    private JavaType entityType() {
+        return objectMapper.getTypeFactory().constructParametricType(EntityModel.class, Person.class);
+    }
+
+    private static PagedModel<EntityModel<Person>> model(int size) {
+        List<EntityModel<Person>> content = range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i), Link.of("/persons/" + i))) //
+            .collect(toList());
+        return PagedModel.of(content, new PageMetadata(size, 0, size), Link.of("/persons"));
+    }
+
+    private static ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
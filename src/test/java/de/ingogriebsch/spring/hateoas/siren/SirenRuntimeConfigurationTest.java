@@ -0,0 +1,114 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static de.ingogriebsch.spring.hateoas.siren.TypeMapping.typeMapping;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.html.HtmlInputType.NUMBER;
+import static org.springframework.hateoas.mediatype.html.HtmlInputType.TEXT;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class SirenRuntimeConfigurationTest {
+
+    @Test
+    void of_should_throw_exception_if_input_is_null() {
+        assertThatThrownBy(() -> SirenRuntimeConfiguration.of(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void of_should_take_over_the_settings_of_the_configuration() {
+        Consumer<ObjectMapper> objectMapperCustomizer = objectMapper -> {
+        };
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            SirenConfiguration configuration = new SirenConfiguration() //
+                .withEntityAndCollectionModelSubclassingEnabled(true) //
+                .withActionFieldTypeMappging(String.class, NUMBER) //
+                .withObjectMapperCustomizer(objectMapperCustomizer) //
+                .withDataBufferChunkSize(1024) //
+                .withFlushAfterEntities(10) //
+                .withFlushAfterBytes(4096) //
+                .withParallelSerializationThreshold(100) //
+                .withParallelSerializationPool(pool) //
+                .withParallelDeserializationThreshold(200) //
+                .withParallelDeserializationPool(pool) //
+                .withLazyEntityBindingEnabled(true) //
+                .withRepeatedEntityMemoizationEnabled(true) //
+                .withWarmUpEnabled(true) //
+                .withWarmUpIterations(5) //
+                .withTitleCacheSize(100) //
+                .withTitleCacheExpiry(Duration.ofMinutes(5));
+
+            SirenRuntimeConfiguration runtimeConfiguration = SirenRuntimeConfiguration.of(configuration);
+
+            assertThat(runtimeConfiguration.isEntityAndCollectionModelSubclassingEnabled()).isTrue();
+            assertThat(runtimeConfiguration.getActionFieldTypeMappings()).containsExactly(typeMapping(String.class, NUMBER));
+            assertThat(runtimeConfiguration.getObjectMapperCustomizer()).isSameAs(objectMapperCustomizer);
+            assertThat(runtimeConfiguration.getDataBufferChunkSize()).isEqualTo(1024);
+            assertThat(runtimeConfiguration.getFlushAfterEntities()).isEqualTo(10);
+            assertThat(runtimeConfiguration.getFlushAfterBytes()).isEqualTo(4096);
+            assertThat(runtimeConfiguration.isParallelSerializationEnabled()).isTrue();
+            assertThat(runtimeConfiguration.getParallelSerializationThreshold()).isEqualTo(100);
+            assertThat(runtimeConfiguration.getParallelSerializationPool()).isSameAs(pool);
+            assertThat(runtimeConfiguration.isParallelDeserializationEnabled()).isTrue();
+            assertThat(runtimeConfiguration.getParallelDeserializationThreshold()).isEqualTo(200);
+            assertThat(runtimeConfiguration.getParallelDeserializationPool()).isSameAs(pool);
+            assertThat(runtimeConfiguration.isLazyEntityBindingEnabled()).isTrue();
+            assertThat(runtimeConfiguration.isRepeatedEntityMemoizationEnabled()).isTrue();
+            assertThat(runtimeConfiguration.getMetrics()).isSameAs(configuration.getMetrics());
+            assertThat(runtimeConfiguration.isWarmUpEnabled()).isTrue();
+            assertThat(runtimeConfiguration.getWarmUpIterations()).isEqualTo(5);
+            assertThat(runtimeConfiguration.getTitleCacheSize()).isEqualTo(100);
+            assertThat(runtimeConfiguration.getTitleCacheExpiry()).isEqualTo(Duration.ofMinutes(5));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void of_should_disable_the_parallel_processing_if_no_threshold_is_configured() {
+        SirenRuntimeConfiguration runtimeConfiguration = SirenRuntimeConfiguration.of(new SirenConfiguration());
+
+        assertThat(runtimeConfiguration.isParallelSerializationEnabled()).isFalse();
+        assertThat(runtimeConfiguration.isParallelDeserializationEnabled()).isFalse();
+    }
+
+    @Test
+    void of_should_not_reflect_changes_applied_to_the_configuration_afterwards() {
+        SirenConfiguration configuration = new SirenConfiguration().withActionFieldTypeMappging(String.class, NUMBER);
+        SirenRuntimeConfiguration runtimeConfiguration = SirenRuntimeConfiguration.of(configuration);
+
+        configuration.withActionFieldTypeMappging(Integer.class, TEXT).withEntityAndCollectionModelSubclassingEnabled(true);
+
+        assertThat(runtimeConfiguration.getActionFieldTypeMappings()).containsExactly(typeMapping(String.class, NUMBER));
+        assertThat(runtimeConfiguration.isEntityAndCollectionModelSubclassingEnabled()).isFalse();
+    }
+
+    @Test
+    void getActionFieldTypeMappings_should_return_unmodifiable_list() {
+        SirenRuntimeConfiguration runtimeConfiguration = SirenRuntimeConfiguration.of(new SirenConfiguration());
+
+        assertThatThrownBy(() -> runtimeConfiguration.getActionFieldTypeMappings().add(typeMapping(String.class, TEXT)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
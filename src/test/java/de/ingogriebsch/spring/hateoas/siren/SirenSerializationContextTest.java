@@ -0,0 +1,158 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
+
+class SirenSerializationContextTest {
+
+    @Nested
+    class PushAndPop {
+
+        @Test
+        void should_return_ancestors_starting_with_the_root() {
+            SirenSerializationContext context = context();
+            RepresentationModel<?> root = new RepresentationModel<>();
+            RepresentationModel<?> child = new RepresentationModel<>();
+
+            context.push(root);
+            context.push(child);
+
+            assertThat(context.getAncestors()).containsExactly(root, child);
+            assertThat(context.getParent()).isSameAs(child);
+            assertThat(context.getDepth()).isEqualTo(2);
+
+            context.pop();
+            assertThat(context.getAncestors()).containsExactly(root);
+            assertThat(context.getParent()).isSameAs(root);
+        }
+
+        @Test
+        void should_grow_beyond_its_initial_capacity() {
+            SirenSerializationContext context = context();
+            List<RepresentationModel<?>> models = range(0, 100).mapToObj(i -> new RepresentationModel<>()).collect(toList());
+
+            models.forEach(context::push);
+
+            assertThat(context.getAncestors()).containsExactlyElementsOf(models);
+        }
+
+        @Test
+        void should_not_have_a_parent_if_empty() {
+            SirenSerializationContext context = context();
+
+            assertThat(context.getAncestors()).isEmpty();
+            assertThat(context.getParent()).isNull();
+            assertThat(context.getDepth()).isZero();
+        }
+    }
+
+    @Nested
+    class Snapshot {
+
+        @Test
+        void should_contain_the_given_parent_and_reject_changes() {
+            SirenSerializationContext context = context();
+            RepresentationModel<?> root = new RepresentationModel<>();
+            RepresentationModel<?> parent = new RepresentationModel<>();
+            context.push(root);
+
+            SirenSerializationContext snapshot = context.snapshot(parent);
+
+            assertThat(snapshot.getAncestors()).containsExactly(root, parent);
+            assertThat(context.getAncestors()).containsExactly(root);
+            assertThatThrownBy(() -> snapshot.push(parent)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void should_provide_the_ancestors_to_the_rel_provider() throws Exception {
+            Set<Integer> depths = ConcurrentHashMap.newKeySet();
+            SirenEntityRelProvider relProvider = new SirenEntityRelProvider() {
+
+                @Override
+                public List<LinkRelation> getWithContext(RepresentationModel<?> model, SirenSerializationContext context) {
+                    depths.add(context.getDepth());
+                    return List.of(LinkRelation.of("depth-" + context.getDepth()));
+                }
+            };
+
+            CollectionModel<?> model =
+                CollectionModel.of(List.of(CollectionModel.of(List.of(EntityModel.of(new Person("Peter", 33))))));
+            String actual = objectMapper(new SirenConfiguration(), relProvider).writeValueAsString(model);
+
+            assertThat(depths).containsExactlyInAnyOrder(0, 1, 2);
+            assertThat(actual).contains("\"depth-0\"", "\"depth-1\"", "\"depth-2\"");
+        }
+
+        @Test
+        void should_provide_the_ancestors_to_the_rel_provider_if_entities_are_rendered_in_parallel() throws Exception {
+            Set<Integer> depths = ConcurrentHashMap.newKeySet();
+            SirenEntityRelProvider relProvider = new SirenEntityRelProvider() {
+
+                @Override
+                public List<LinkRelation> getWithContext(RepresentationModel<?> model, SirenSerializationContext context) {
+                    depths.add(context.getDepth());
+                    return SirenEntityRelProvider.super.getWithContext(model, context);
+                }
+            };
+
+            List<EntityModel<Person>> content =
+                range(0, 100).mapToObj(i -> EntityModel.of(new Person("Person " + i, i))).collect(toList());
+            SirenConfiguration configuration = new SirenConfiguration().withParallelSerializationThreshold(10);
+            objectMapper(configuration, relProvider).writeValueAsString(CollectionModel.of(content));
+
+            assertThat(depths).containsExactlyInAnyOrder(0, 1);
+        }
+    }
+
+    private static SirenSerializationContext context() {
+        return SirenSerializationContext.of(new ObjectMapper().getSerializerProviderInstance());
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration, SirenEntityRelProvider relProvider) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            configuration, //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            relProvider, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
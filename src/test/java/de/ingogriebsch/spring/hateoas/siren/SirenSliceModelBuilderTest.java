@@ -0,0 +1,242 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.stream.Collectors.toList;
+
+import static de.ingogriebsch.spring.hateoas.siren.SirenSliceModelBuilder.sirenSliceModel;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.hateoas.IanaLinkRelations.FIRST;
+import static org.springframework.hateoas.IanaLinkRelations.LAST;
+import static org.springframework.hateoas.IanaLinkRelations.NEXT;
+import static org.springframework.hateoas.IanaLinkRelations.PREV;
+import static org.springframework.hateoas.IanaLinkRelations.SELF;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+import static org.springframework.http.HttpMethod.DELETE;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.Affordances;
+
+class SirenSliceModelBuilderTest {
+
+    private static final List<Person> PERSONS = List.of(new Person("Peter", 33), new Person("Paul", 44));
+
+    @Nested
+    class Build {
+
+        @Test
+        void should_throw_exception_if_slice_is_null() {
+            assertThatThrownBy(() -> sirenSliceModel(null)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void should_expose_the_content_and_metadata_of_a_page() {
+            PagedModel<Person> model = sirenSliceModel(new PageImpl<>(PERSONS, PageRequest.of(1, 2), 10)).build();
+
+            assertThat(model.getContent()).containsExactlyElementsOf(PERSONS);
+            assertThat(model.getMetadata()).isEqualTo(new PageMetadata(2, 1, 10, 5));
+        }
+
+        @Test
+        void should_expose_the_size_and_number_of_a_slice() {
+            SirenSliceModel<Person> model =
+                (SirenSliceModel<Person>) sirenSliceModel(new SliceImpl<>(PERSONS, PageRequest.of(1, 2), true)).build();
+
+            assertThat(model.getMetadata()).isNull();
+            assertThat(model.getSliceMetadata()).containsExactly(entry("size", 2), entry("number", 1));
+        }
+
+        @Test
+        void should_add_all_navigation_links_of_a_page_in_the_middle() {
+            PagedModel<Person> model = sirenSliceModel(new PageImpl<>(PERSONS, PageRequest.of(2, 2), 10)) //
+                .navigationLinks(Link.of("/persons?sort=name&page=2&size=2")) //
+                .build();
+
+            assertThat(model.getLinks()).containsExactly( //
+                Link.of("/persons?sort=name&page=2&size=2"), //
+                Link.of("/persons?sort=name&page=0&size=2", FIRST), //
+                Link.of("/persons?sort=name&page=1&size=2", PREV), //
+                Link.of("/persons?sort=name&page=3&size=2", NEXT), //
+                Link.of("/persons?sort=name&page=4&size=2", LAST) //
+            );
+        }
+
+        @Test
+        void should_only_add_the_navigation_links_which_are_available() {
+            PagedModel<Person> first = sirenSliceModel(new PageImpl<>(PERSONS, PageRequest.of(0, 2), 4)) //
+                .navigationLinks(Link.of("/persons")) //
+                .build();
+            PagedModel<Person> slice = sirenSliceModel(new SliceImpl<>(PERSONS, PageRequest.of(1, 2), false)) //
+                .navigationLinks(Link.of("/persons")) //
+                .build();
+
+            assertThat(first.getLinks().stream().map(Link::getRel).collect(toList())).containsExactly(SELF, NEXT, LAST);
+            assertThat(slice.getLinks().stream().map(Link::getRel).collect(toList())).containsExactly(SELF, FIRST, PREV);
+        }
+
+        @Test
+        void should_throw_exception_if_templates_are_expanded_through_different_functions() {
+            SirenSliceModelBuilder<Person> builder = sirenSliceModel(new PageImpl<>(PERSONS)) //
+                .itemLinksAndActions(p -> new Object[] { p.getName() }, SirenLinkTemplate.of(Link.of("/persons/{name}")));
+
+            assertThatThrownBy(
+                () -> builder.itemLinksAndActions(p -> new Object[] { p.getAge() }, SirenLinkTemplate.of(Link.of("/ages/{age}"))))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    class Serialize {
+
+        @Test
+        void should_write_the_same_siren_entity_as_a_paged_model_of_entity_models() throws Exception {
+            Function<Person, Links> links = p -> Links.of(Affordances.of(Link.of("/persons/" + p.getName())) //
+                .afford(DELETE).withName("delete") //
+                .toLink());
+            PageImpl<Person> page = new PageImpl<>(PERSONS, PageRequest.of(0, 2), 4);
+
+            PagedModel<Person> actual = sirenSliceModel(page) //
+                .itemLinksAndActions(links) //
+                .navigationLinks(Link.of("/persons")) //
+                .build();
+            PagedModel<EntityModel<Person>> expected = PagedModel.of( //
+                PERSONS.stream().map(p -> EntityModel.of(p, links.apply(p))).collect(toList()), //
+                new PageMetadata(2, 0, 4, 2), //
+                actual.getLinks());
+
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration());
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_write_the_links_and_actions_of_the_item_templates() throws Exception {
+            SirenLinkTemplate template = SirenLinkTemplate.of(Affordances.of(Link.of("/persons/{name}")) //
+                .afford(DELETE).withName("delete") //
+                .toLink());
+
+            PagedModel<Person> actual = sirenSliceModel(new PageImpl<>(PERSONS)) //
+                .itemLinksAndActions(p -> new Object[] { p.getName() }, template) //
+                .build();
+            PagedModel<EntityModel<Person>> expected = PagedModel.of( //
+                PERSONS.stream().map(p -> EntityModel.of(p, Affordances.of(Link.of("/persons/" + p.getName())) //
+                    .afford(DELETE).withName("delete") //
+                    .toLink())).collect(toList()), //
+                new PageMetadata(2, 0, 2, 1));
+
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration());
+            assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+
+        @Test
+        void should_evaluate_customized_providers_for_each_item() throws Exception {
+            SirenEntityClassProvider classProvider = new SirenEntityClassProvider() {
+
+                @Override
+                public List<String> get(RepresentationModel<?> model) {
+                    Object content = model instanceof EntityModel ? ((EntityModel<?>) model).getContent() : null;
+                    return content instanceof Person ? List.of("person-" + ((Person) content).getName()) : List.of("paged");
+                }
+            };
+            SirenEntityRelProvider relProvider = new SirenEntityRelProvider() {
+
+                @Override
+                public List<LinkRelation> get(RepresentationModel<?> model, RepresentationModel<?> parent) {
+                    Object content = model instanceof EntityModel ? ((EntityModel<?>) model).getContent() : null;
+                    return content instanceof Person ? List.of(LinkRelation.of(((Person) content).getName())) : List.of();
+                }
+            };
+
+            PagedModel<Person> actual = sirenSliceModel(new PageImpl<>(PERSONS)).build();
+            PagedModel<EntityModel<Person>> expected = PagedModel.of( //
+                PERSONS.stream().map(EntityModel::of).collect(toList()), //
+                new PageMetadata(2, 0, 2, 1));
+
+            ObjectMapper objectMapper = objectMapper(new SirenConfiguration(), classProvider, relProvider);
+            String json = objectMapper.writeValueAsString(actual);
+            assertThat(json).isEqualTo(objectMapper.writeValueAsString(expected));
+            assertThat(json).contains("\"class\":[\"person-Peter\"]", "\"class\":[\"person-Paul\"]", "\"rel\":[\"Paul\"]");
+        }
+
+        @Test
+        void should_write_the_size_and_number_of_a_slice_as_properties() throws Exception {
+            PagedModel<Person> model = sirenSliceModel(new SliceImpl<Person>(List.of(), PageRequest.of(3, 20), false)).build();
+
+            String actual = objectMapper(new SirenConfiguration()).writeValueAsString(model);
+
+            assertThat(actual).isEqualTo("{\"class\":[\"paged\"],\"properties\":{\"size\":20,\"number\":3}}");
+        }
+
+        @Test
+        void should_record_the_items_in_the_metrics() throws Exception {
+            CountingMetrics metrics = new CountingMetrics();
+            PagedModel<Person> model = sirenSliceModel(new PageImpl<>(PERSONS)) //
+                .itemLinksAndActions(p -> Links.of(Link.of("/persons/" + p.getName()))) //
+                .build();
+
+            objectMapper(new SirenConfiguration().withMetrics(metrics)).writeValueAsString(model);
+
+            assertThat(metrics.entities).isEqualTo(2);
+            assertThat(metrics.links).isEqualTo(2);
+        }
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration) {
+        return objectMapper(configuration, SirenEntityClassProvider.DEFAULT_INSTANCE, SirenEntityRelProvider.DEFAULT_INSTANCE);
+    }
+
+    private static ObjectMapper objectMapper(SirenConfiguration configuration, SirenEntityClassProvider classProvider,
+        SirenEntityRelProvider relProvider) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            configuration, //
+            classProvider, //
+            relProvider, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+
+    private static class CountingMetrics implements SirenMetrics {
+
+        private int entities;
+        private int links;
+
+        @Override
+        public void serialized(Class<?> type, long start, int entities, int links, int actions) {
+            this.entities = entities;
+            this.links = links;
+        }
+    }
+}
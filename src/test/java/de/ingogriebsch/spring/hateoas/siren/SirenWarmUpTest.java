@@ -0,0 +1,165 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.ResolvableType.forClass;
+import static org.springframework.core.ResolvableType.forClassWithGenerics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import reactor.core.publisher.Mono;
+
+class SirenWarmUpTest {
+
+    private final List<MessageSourceResolvable> resolved = newArrayList();
+    private final MessageResolver messageResolver = resolvable -> {
+        resolved.add(resolvable);
+        return null;
+    };
+
+    @Nested
+    class WarmUp {
+
+        @Test
+        void should_warm_up_the_models_contained_in_the_given_types() {
+            ResolvableType collection =
+                forClassWithGenerics(CollectionModel.class, forClassWithGenerics(EntityModel.class, Person.class));
+
+            int actual = new SirenWarmUp(objectMapper(), messageResolver, 0)
+                .warmUp(Stream.of(forClassWithGenerics(ResponseEntity.class, collection)));
+
+            assertThat(actual).isEqualTo(2);
+            assertThat(resolved).containsExactly(SirenEntity.TitleResolvable.of(CollectionModel.class),
+                SirenEntity.TitleResolvable.of(EntityModel.class));
+        }
+
+        @Test
+        void should_warm_up_the_models_wrapped_into_a_publisher() {
+            ResolvableType entity = forClassWithGenerics(EntityModel.class, Person.class);
+
+            int actual =
+                new SirenWarmUp(objectMapper(), messageResolver, 0).warmUp(Stream.of(forClassWithGenerics(Mono.class, entity)));
+
+            assertThat(actual).isEqualTo(1);
+        }
+
+        @Test
+        void should_ignore_types_not_containing_models() {
+            int actual = new SirenWarmUp(objectMapper(), messageResolver, 0)
+                .warmUp(Stream.of(forClass(String.class), forClassWithGenerics(List.class, Person.class)));
+
+            assertThat(actual).isZero();
+            assertThat(resolved).isEmpty();
+        }
+
+        @Test
+        void should_serialize_synthetic_instances_if_iterations_are_configured() {
+            ResolvableType entity = forClassWithGenerics(EntityModel.class, Person.class);
+
+            new SirenWarmUp(objectMapper(), messageResolver, 3).warmUp(Stream.of(entity));
+
+            assertThat(resolved).filteredOn(SirenLink.TitleResolvable.class::isInstance).hasSize(3);
+        }
+    }
+
+    @Nested
+    class OnContextRefresh {
+
+        @Test
+        void should_warm_up_the_return_types_of_the_request_mappings_if_enabled() {
+            AtomicInteger misses = new AtomicInteger();
+            WarmUpConfig.configuration =
+                new SirenConfiguration().withWarmUpEnabled(true).withTitleCacheSize(16).withMetrics(new SirenMetrics() {
+
+                    @Override
+                    public void miss(String cache) {
+                        misses.incrementAndGet();
+                    }
+                });
+
+            try (AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext()) {
+                context.setServletContext(new MockServletContext());
+                context.register(SirenWebMvcIntegrationTest.TestConfig.class, WarmUpConfig.class);
+                context.refresh();
+            }
+
+            assertThat(misses).hasPositiveValue();
+        }
+
+        @Test
+        void should_not_warm_up_if_not_enabled() {
+            AtomicInteger misses = new AtomicInteger();
+            WarmUpConfig.configuration = new SirenConfiguration().withTitleCacheSize(16).withMetrics(new SirenMetrics() {
+
+                @Override
+                public void miss(String cache) {
+                    misses.incrementAndGet();
+                }
+            });
+
+            try (AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext()) {
+                context.setServletContext(new MockServletContext());
+                context.register(SirenWebMvcIntegrationTest.TestConfig.class, WarmUpConfig.class);
+                context.refresh();
+            }
+
+            assertThat(misses).hasValue(0);
+        }
+    }
+
+    @Configuration
+    @Import(SirenWebMvcConfigurer.class)
+    static class WarmUpConfig {
+
+        static SirenConfiguration configuration;
+
+        @Bean
+        SirenConfiguration sirenConfiguration() {
+            return configuration;
+        }
+    }
+
+    private ObjectMapper objectMapper() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            messageResolver, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
@@ -0,0 +1,47 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+
+class SirenWebFluxConfigurerTest {
+
+    @Test
+    void should_register_the_encoder_as_custom_codec() {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            DEFAULTS_ONLY, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+
+        new SirenWebFluxConfigurer(sirenMediaTypeConfiguration,
+            new DefaultListableBeanFactory().getBeanProvider(ObjectMapper.class)).configureHttpMessageCodecs(codecConfigurer);
+
+        assertThat(codecConfigurer.getWriters()).filteredOn(EncoderHttpMessageWriter.class::isInstance)
+            .map(w -> ((EncoderHttpMessageWriter<?>) w).getEncoder()).hasAtLeastOneElementOfType(SirenJackson2JsonEncoder.class);
+    }
+}
@@ -0,0 +1,74 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import de.ingogriebsch.spring.hateoas.siren.support.LoadHarness;
+import de.ingogriebsch.spring.hateoas.siren.support.LoadHarness.Report;
+import de.ingogriebsch.spring.hateoas.siren.support.WebFluxPersonController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Load harness which drives the controller of the {@link SirenWebFluxIntegrationTest} with many concurrent clients through
+ * {@link WebTestClient}. Only executed if the system property {@literal siren.load} is set to {@literal true}, see
+ * {@link LoadHarness#configured()} for further options.
+ */
+@ContextConfiguration(classes = SirenWebFluxIntegrationTest.TestConfig.class)
+@EnabledIfSystemProperty(named = "siren.load", matches = "true")
+@ExtendWith(SpringExtension.class)
+@WebAppConfiguration
+class SirenWebFluxLoadTest {
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @BeforeEach
+    void beforeEach() {
+        WebFluxPersonController.reset();
+    }
+
+    @Test
+    void findAll() throws Exception {
+        assertNoErrors(LoadHarness.runAll(LoadHarness.configured(), "WebFlux findAll", () -> perform("/persons")));
+    }
+
+    @Test
+    void findOne() throws Exception {
+        assertNoErrors(LoadHarness.runAll(LoadHarness.configured(), "WebFlux findOne", () -> perform("/persons/0")));
+    }
+
+    private void perform(String uri) {
+        testClient.get().uri("http://localhost" + uri).accept(SIREN_JSON).exchange() //
+            .expectStatus().isOk() //
+            .expectBody(String.class).returnResult();
+    }
+
+    private static void assertNoErrors(List<Report> reports) {
+        assertThat(reports).allSatisfy(r -> assertThat(r.getFailures()).isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+class SirenWebMvcConfigurerTest {
+
+    @Test
+    void should_not_register_the_converter_if_flushing_early_is_not_configured() {
+        assertThat(messageConverters(new SirenConfiguration())).noneMatch(SirenHttpMessageConverter.class::isInstance);
+    }
+
+    @Test
+    void should_register_the_converter_in_front_of_the_others_if_flushing_after_entities_is_configured() {
+        assertThat(messageConverters(new SirenConfiguration().withFlushAfterEntities(10)).get(0))
+            .isInstanceOf(SirenHttpMessageConverter.class);
+    }
+
+    @Test
+    void should_register_the_converter_in_front_of_the_others_if_flushing_after_bytes_is_configured() {
+        assertThat(messageConverters(new SirenConfiguration().withFlushAfterBytes(1024)).get(0))
+            .isInstanceOf(SirenHttpMessageConverter.class);
+    }
+
+    private static List<HttpMessageConverter<?>> messageConverters(SirenConfiguration configuration) {
+        ConfigurerConfig.configuration = configuration;
+
+        try (AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext()) {
+            context.setServletContext(new MockServletContext());
+            context.register(SirenWebMvcIntegrationTest.TestConfig.class, ConfigurerConfig.class);
+            context.refresh();
+
+            return context.getBean(RequestMappingHandlerAdapter.class).getMessageConverters();
+        }
+    }
+
+    @Configuration
+    @Import(SirenWebMvcConfigurer.class)
+    static class ConfigurerConfig {
+
+        static SirenConfiguration configuration;
+
+        @Bean
+        SirenConfiguration sirenConfiguration() {
+            return configuration;
+        }
+    }
+}
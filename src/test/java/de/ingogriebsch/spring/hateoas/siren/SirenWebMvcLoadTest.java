@@ -0,0 +1,79 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import java.util.List;
+
+import de.ingogriebsch.spring.hateoas.siren.support.LoadHarness;
+import de.ingogriebsch.spring.hateoas.siren.support.LoadHarness.Report;
+import de.ingogriebsch.spring.hateoas.siren.support.WebMvcPersonController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Load harness which drives the controller of the {@link SirenWebMvcIntegrationTest} with many concurrent clients through
+ * {@link MockMvc}. Only executed if the system property {@literal siren.load} is set to {@literal true}, see
+ * {@link LoadHarness#configured()} for further options.
+ */
+@ContextConfiguration(classes = SirenWebMvcIntegrationTest.TestConfig.class)
+@EnabledIfSystemProperty(named = "siren.load", matches = "true")
+@ExtendWith(SpringExtension.class)
+@WebAppConfiguration
+class SirenWebMvcLoadTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = webAppContextSetup(context).build();
+        WebMvcPersonController.reset();
+    }
+
+    @Test
+    void findAll() throws Exception {
+        assertNoErrors(LoadHarness.runAll(LoadHarness.configured(), "WebMvc findAll", () -> perform("/persons")));
+    }
+
+    @Test
+    void findOne() throws Exception {
+        assertNoErrors(LoadHarness.runAll(LoadHarness.configured(), "WebMvc findOne", () -> perform("/persons/0")));
+    }
+
+    private void perform(String uri) throws Exception {
+        int status = mockMvc.perform(get(uri).accept(SIREN_JSON)).andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(200);
+    }
+
+    private static void assertNoErrors(List<Report> reports) {
+        assertThat(reports).allSatisfy(r -> assertThat(r.getFailures()).isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.IanaLinkRelations.ITEM;
+import static org.springframework.hateoas.mediatype.MessageResolver.DEFAULTS_ONLY;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.afford;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ingogriebsch.spring.hateoas.siren.support.Person;
+import de.ingogriebsch.spring.hateoas.siren.support.StaticMessageResolver;
+import de.ingogriebsch.spring.hateoas.siren.support.WebMvcPersonController;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+
+class SirenWriterTest {
+
+    @Nested
+    class Write {
+
+        @Test
+        void should_produce_the_same_output_as_the_serializers() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+            CollectionModel<EntityModel<Person>> model = model(10);
+
+            assertThat(write(objectMapper, model)).isEqualTo(objectMapper.writeValueAsString(model));
+        }
+
+        @Test
+        void should_produce_the_same_output_as_the_serializers_if_titles_are_resolved() throws Exception {
+            ObjectMapper objectMapper = objectMapper(StaticMessageResolver.of("title"));
+            CollectionModel<EntityModel<Person>> model = model(3);
+
+            assertThat(write(objectMapper, model)).isEqualTo(objectMapper.writeValueAsString(model));
+        }
+
+        @Test
+        void should_omit_entities_if_no_entity_is_written() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+            CollectionModel<EntityModel<Person>> model = CollectionModel.empty(Link.of("/persons"));
+
+            assertThat(write(objectMapper, model)).isEqualTo(objectMapper.writeValueAsString(model));
+        }
+
+        @Test
+        void should_iterate_the_links_only_once() throws Exception {
+            ObjectMapper objectMapper = objectMapper(DEFAULTS_ONLY);
+            EntityModel<Person> model = model(1).getContent().iterator().next();
+            Iterator<Link> links = model.getLinks().iterator();
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (SirenWriter writer = SirenWriter.of(objectMapper, outputStream)) {
+                writer.startEntity().classes("entity").properties(model.getContent()).linksAndActions(() -> links).endEntity();
+            }
+
+            assertThat(outputStream.toString(UTF_8)).isEqualTo(objectMapper.writeValueAsString(model));
+        }
+
+        private String write(ObjectMapper objectMapper, CollectionModel<EntityModel<Person>> model) throws Exception {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (SirenWriter writer = SirenWriter.of(objectMapper, outputStream)) {
+                writer.startEntity().classes("collection").startEntities();
+                for (EntityModel<Person> entity : model.getContent()) {
+                    writer.startEntity() //
+                        .classes("entity") //
+                        .rels(ITEM) //
+                        .properties(entity.getContent()) //
+                        .linksAndActions(entity.getLinks()) //
+                        .title(EntityModel.class) //
+                        .endEntity();
+                }
+                writer.endEntities().linksAndActions(model.getLinks()).title(CollectionModel.class).endEntity();
+            }
+            return outputStream.toString(UTF_8);
+        }
+    }
+
+    @Nested
+    class Order {
+
+        @Test
+        void should_throw_exception_if_part_is_written_after_a_later_part() throws Exception {
+            SirenWriter writer = SirenWriter.of(objectMapper(DEFAULTS_ONLY), new ByteArrayOutputStream());
+            writer.startEntity().link(Link.of("/persons"));
+
+            assertThatThrownBy(() -> writer.classes("collection")).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        void should_throw_exception_if_entity_is_started_outside_of_entities() throws Exception {
+            SirenWriter writer = SirenWriter.of(objectMapper(DEFAULTS_ONLY), new ByteArrayOutputStream());
+            writer.startEntity();
+
+            assertThatThrownBy(writer::startEntity).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        void should_throw_exception_if_entity_is_ended_before_its_entities() throws Exception {
+            SirenWriter writer = SirenWriter.of(objectMapper(DEFAULTS_ONLY), new ByteArrayOutputStream());
+            writer.startEntity().startEntities();
+
+            assertThatThrownBy(writer::endEntity).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        void should_throw_exception_if_object_mapper_is_not_configured_for_siren() {
+            assertThatThrownBy(() -> SirenWriter.of(new ObjectMapper(), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static CollectionModel<EntityModel<Person>> model(int size) {
+        WebMvcPersonController controller = methodOn(WebMvcPersonController.class);
+        List<EntityModel<Person>> content = range(0, size) //
+            .mapToObj(i -> EntityModel.of(new Person("Person " + i, i),
+                linkTo(controller.findOne(i)).withSelfRel().andAffordance(afford(controller.update(i, null))))) //
+            .collect(toList());
+        return CollectionModel.of(content, linkTo(controller.findAll()).withSelfRel());
+    }
+
+    private static ObjectMapper objectMapper(MessageResolver messageResolver) {
+        SirenMediaTypeConfiguration sirenMediaTypeConfiguration = SirenMediaTypeConfiguration.of( //
+            messageResolver, //
+            new SirenConfiguration(), //
+            SirenEntityClassProvider.DEFAULT_INSTANCE, //
+            SirenEntityRelProvider.DEFAULT_INSTANCE, //
+            new TypeBasedSirenActionFieldTypeConverter(), //
+            RepresentationModelFactories.DEFAULT_INSTANCE //
+        );
+        return sirenMediaTypeConfiguration.configureObjectMapper(new ObjectMapper());
+    }
+}
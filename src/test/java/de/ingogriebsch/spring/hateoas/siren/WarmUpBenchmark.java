@@ -0,0 +1,112 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static de.ingogriebsch.spring.hateoas.siren.MediaTypes.SIREN_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import de.ingogriebsch.spring.hateoas.siren.support.WebMvcPersonController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmark measuring the time of the first requests after the start of an application context, with and without the warm-up
+ * of the Siren support. Each fork starts a fresh JVM and measures the given amount of requests exactly once.
+ * Run it through its {@link #main(String[]) main} method (after compiling the test sources).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(10)
+@Measurement(iterations = 1)
+@OutputTimeUnit(MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 0)
+public class WarmUpBenchmark {
+
+    @Param({ "0", "100" })
+    private int warmUpIterations;
+
+    @Param({ "false", "true" })
+    private boolean warmUpEnabled;
+
+    @Param({ "1", "10", "100" })
+    private int requests;
+
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setup() {
+        WarmUpConfig.configuration =
+            new SirenConfiguration().withWarmUpEnabled(warmUpEnabled).withWarmUpIterations(warmUpIterations);
+
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(SirenWebMvcIntegrationTest.TestConfig.class, WarmUpConfig.class);
+        context.refresh();
+
+        mockMvc = webAppContextSetup(context).build();
+        WebMvcPersonController.reset();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int firstRequests() throws Exception {
+        int status = 0;
+        for (int i = 0; i < requests; i++) {
+            status += mockMvc.perform(get("/persons").accept(SIREN_JSON)).andReturn().getResponse().getStatus();
+        }
+        return status;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(WarmUpBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Configuration
+    static class WarmUpConfig {
+
+        static SirenConfiguration configuration;
+
+        @Bean
+        SirenConfiguration sirenConfiguration() {
+            return configuration;
+        }
+    }
+}
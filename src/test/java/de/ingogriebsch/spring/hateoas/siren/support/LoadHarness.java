@@ -0,0 +1,227 @@
+/*-
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ingogriebsch.spring.hateoas.siren.support;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Drives a request with a number of concurrent clients for a given duration and reports the throughput, the latency
+ * percentiles and the contention (the time the client threads were blocked on monitors or waiting) of the run.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class LoadHarness {
+
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public static LoadHarness of(int clients, @NonNull Duration warmup, @NonNull Duration duration) {
+        return new LoadHarness(clients, warmup, duration);
+    }
+
+    /**
+     * Creates a harness for each amount of clients configured through the system property {@literal siren.load.clients} (a comma
+     * separated list, defaults to one client and one client per available core). The durations of the warm-up and of the
+     * measurement are configured through {@literal siren.load.warmup} and {@literal siren.load.duration} (in seconds).
+     */
+    public static List<LoadHarness> configured() {
+        String clients = System.getProperty("siren.load.clients", "1," + Runtime.getRuntime().availableProcessors());
+        Duration warmup = Duration.ofSeconds(Long.getLong("siren.load.warmup", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("siren.load.duration", 10));
+
+        return Arrays.stream(clients.split(",")) //
+            .map(String::trim) //
+            .mapToInt(Integer::parseInt) //
+            .distinct() //
+            .mapToObj(c -> of(c, warmup, duration)) //
+            .collect(toList());
+    }
+
+    /**
+     * Runs the given request with each of the given harnesses and prints the reports, including the throughput relative to
+     * the first run (which allows to verify how the throughput scales across cores).
+     */
+    public static List<Report> runAll(@NonNull List<LoadHarness> harnesses, @NonNull String name, @NonNull Request request)
+        throws Exception {
+        List<Report> reports = newArrayList();
+        for (LoadHarness harness : harnesses) {
+            Report report = harness.run(name, request);
+            double scaling = report.getThroughput() / reports.stream().findFirst().orElse(report).getThroughput();
+            System.out.println(String.format("%s scaling=%.2f", report, scaling));
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    public Report run(@NonNull String name, @NonNull Request request) throws Exception {
+        ThreadMXBean threadMXBean = getThreadMXBean();
+        if (threadMXBean.isThreadContentionMonitoringSupported()) {
+            threadMXBean.setThreadContentionMonitoringEnabled(true);
+        }
+
+        ExecutorService executor = newFixedThreadPool(clients);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Client>> futures = newArrayList();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return new Client(threadMXBean).run(request, warmup, duration);
+                }));
+            }
+            start.countDown();
+
+            List<Client> results = newArrayList();
+            for (Future<Client> future : futures) {
+                results.add(future.get());
+            }
+            return report(name, results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Report report(String name, List<Client> clients) {
+        long[] latencies = clients.stream().flatMapToLong(c -> Arrays.stream(c.latencies, 0, c.requests)).sorted().toArray();
+        long errors = clients.stream().mapToLong(c -> c.errors).sum();
+        long blockedCount = clients.stream().mapToLong(c -> c.blockedCount).sum();
+        long blockedTime = clients.stream().mapToLong(c -> c.blockedTime).sum();
+        long waitedCount = clients.stream().mapToLong(c -> c.waitedCount).sum();
+        long waitedTime = clients.stream().mapToLong(c -> c.waitedTime).sum();
+        double throughput = latencies.length * (double) SECONDS.toNanos(1) / duration.toNanos();
+
+        return new Report(name, this.clients, latencies.length, errors, throughput, percentile(latencies, 0.5),
+            percentile(latencies, 0.99), percentile(latencies, 0.999), blockedCount, blockedTime, waitedCount, waitedTime,
+            clients.stream().map(c -> c.error).filter(e -> e != null).collect(toList()));
+    }
+
+    private static Duration percentile(long[] latencies, double percentile) {
+        if (latencies.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile * latencies.length) - 1;
+        return Duration.ofNanos(latencies[Math.max(0, index)]);
+    }
+
+    @FunctionalInterface
+    public interface Request {
+
+        void perform() throws Exception;
+    }
+
+    @Value
+    public static class Report {
+
+        String name;
+        int clients;
+        long requests;
+        long errors;
+        double throughput;
+        Duration p50;
+        Duration p99;
+        Duration p999;
+        long blockedCount;
+        long blockedTime;
+        long waitedCount;
+        long waitedTime;
+        List<Throwable> failures;
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s [clients=%d] requests=%d errors=%d throughput=%.1f/s p50=%.3fms p99=%.3fms p999=%.3fms "
+                        + "blocked=%d (%dms) waited=%d (%dms)",
+                name, clients, requests, errors, throughput, millis(p50), millis(p99), millis(p999), blockedCount, blockedTime,
+                waitedCount, waitedTime);
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / (double) MILLISECONDS.toNanos(1);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Client {
+
+        private final ThreadMXBean threadMXBean;
+        private long[] latencies = new long[1024];
+        private int requests;
+        private long errors;
+        private Throwable error;
+        private long blockedCount;
+        private long blockedTime;
+        private long waitedCount;
+        private long waitedTime;
+
+        Client run(Request request, Duration warmup, Duration duration) {
+            long warmupEnd = System.nanoTime() + warmup.toNanos();
+            while (System.nanoTime() < warmupEnd) {
+                perform(request, false);
+            }
+
+            ThreadInfo before = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+            long end = System.nanoTime() + duration.toNanos();
+            while (System.nanoTime() < end) {
+                perform(request, true);
+            }
+            ThreadInfo after = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+
+            blockedCount = after.getBlockedCount() - before.getBlockedCount();
+            blockedTime = after.getBlockedTime() - before.getBlockedTime();
+            waitedCount = after.getWaitedCount() - before.getWaitedCount();
+            waitedTime = after.getWaitedTime() - before.getWaitedTime();
+            return this;
+        }
+
+        private void perform(Request request, boolean record) {
+            long start = System.nanoTime();
+            try {
+                request.perform();
+            } catch (Exception | AssertionError e) {
+                errors += record ? 1 : 0;
+                error = error == null ? e : error;
+                return;
+            }
+
+            if (record) {
+                if (requests == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, latencies.length * 2);
+                }
+                latencies[requests++] = System.nanoTime() - start;
+            }
+        }
+    }
+}